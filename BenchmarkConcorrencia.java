@@ -0,0 +1,111 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+/**
+ * Mede a contenção da entrada concorrente de chamadas com 1 a 32 threads produtoras
+ * e uma thread consumidora que drena para as filas de prioridade, como o laço da simulação.
+ * Para cada número de produtores imprime a vazão total e a pior duração de uma drenagem
+ * (limitada a LIMITE_DRENAGEM pessoas, como um ciclo da simulação faria).
+ *
+ * Uso: java BenchmarkConcorrencia [operacoes] [andares]
+ */
+public class BenchmarkConcorrencia {
+    private static final int[] PRODUTORES = {1, 2, 4, 8, 16, 32};
+    private static final int OPERACOES_PADRAO = 4_000_000;
+    private static final int ANDARES_PADRAO = 80;
+    private static final int PESSOAS_POR_PRODUTOR = 1024;
+    private static final int LIMITE_DRENAGEM = 4096;
+
+    public static void main(String[] args) throws InterruptedException {
+        int operacoes = args.length > 0 ? Integer.parseInt(args[0]) : OPERACOES_PADRAO;
+        int andares = args.length > 1 ? Integer.parseInt(args[1]) : ANDARES_PADRAO;
+
+        System.out.println("=== BENCHMARK DE CONCORRÊNCIA (" + operacoes + " chamadas, " + andares + " andares) ===");
+        System.out.printf("%10s %14s %16s %14s%n", "Produtores", "Mchamadas/s", "Drenagens", "Pior dren. us");
+
+        // Aquecimento para o JIT, descartado
+        medir(4, operacoes / 4, andares);
+
+        for (int produtores : PRODUTORES) {
+            Resultado r = medir(produtores, operacoes, andares);
+            System.out.printf("%10d %14.2f %16d %14.1f%n",
+                              produtores, operacoes / (r.nanos / 1e3), r.drenagens, r.piorDrenagemNanos / 1e3);
+        }
+    }
+
+    private static Resultado medir(int produtores, int operacoes, int andares) throws InterruptedException {
+        FilaChamadasConcorrente entrada = new FilaChamadasConcorrente(andares);
+        FilaPrioridadeDupla[] filas = new FilaPrioridadeDupla[andares];
+        for (int i = 0; i < andares; i++) {
+            filas[i] = new FilaPrioridadeDupla(64);
+        }
+
+        // O consumidor insere na fila do andar e já retira, para manter a memória estável
+        Consumer<Pessoa> consumidor = p -> {
+            FilaPrioridadeDupla fila = filas[p.getAndarOrigem()];
+            fila.inserir(p);
+            if (fila.removerPessoaSubir() == null) fila.removerPessoaDescer();
+        };
+
+        int porProdutor = operacoes / produtores;
+        int total = porProdutor * produtores;
+        CountDownLatch largada = new CountDownLatch(1);
+        Thread[] threads = new Thread[produtores];
+        for (int t = 0; t < produtores; t++) {
+            Pessoa[] pessoas = criarPessoas(andares, t);
+            threads[t] = new Thread(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < porProdutor; i++) {
+                    entrada.registrar(pessoas[i & (PESSOAS_POR_PRODUTOR - 1)]);
+                }
+            }, "produtor-" + t);
+            threads[t].start();
+        }
+
+        Resultado r = new Resultado();
+        long inicio = System.nanoTime();
+        largada.countDown();
+        int consumidas = 0;
+        while (consumidas < total) {
+            long inicioDrenagem = System.nanoTime();
+            int drenadas = entrada.drenar(consumidor, LIMITE_DRENAGEM);
+            long duracao = System.nanoTime() - inicioDrenagem;
+            if (drenadas > 0) {
+                consumidas += drenadas;
+                r.drenagens++;
+                r.piorDrenagemNanos = Math.max(r.piorDrenagemNanos, duracao);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        r.nanos = System.nanoTime() - inicio;
+
+        for (Thread t : threads) {
+            t.join();
+        }
+        return r;
+    }
+
+    private static Pessoa[] criarPessoas(int andares, int semente) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        Pessoa[] pessoas = new Pessoa[PESSOAS_POR_PRODUTOR];
+        for (int i = 0; i < pessoas.length; i++) {
+            int origem = aleatorio.nextInt(andares);
+            int destino = (origem + 1 + aleatorio.nextInt(andares - 1)) % andares;
+            pessoas[i] = new Pessoa("B" + i, 10 + aleatorio.nextInt(70), aleatorio.nextDouble() < 0.1,
+                                    40 + aleatorio.nextInt(60), origem, destino);
+        }
+        return pessoas;
+    }
+
+    private static class Resultado {
+        long nanos;
+        long drenagens;
+        long piorDrenagemNanos;
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Mede o tempo médio de um ciclo da simulação para prédios de tamanhos variados.
+ * Roda sem interface (OuvinteNulo) e imprime uma tabela de andares x elevadores.
+ *
+ * Uso: java BenchmarkEscala [ciclos] [despacho]
+ */
+public class BenchmarkEscala {
+    private static final int[] ANDARES = {10, 80, 200, 500, 1000};
+    private static final int[] ELEVADORES = {2, 8, 24, 64};
+    private static final int CICLOS_PADRAO = 1440;
+
+    public static void main(String[] args) {
+        int ciclos = args.length > 0 ? Integer.parseInt(args[0]) : CICLOS_PADRAO;
+        String despacho = args.length > 1 ? args[1] : Configuracao.DESPACHO_MAIS_PROXIMO;
+
+        System.out.println("=== BENCHMARK DE ESCALA (" + ciclos + " ciclos por medição, despacho "
+                           + despacho + ") ===");
+        System.out.printf("%8s %10s %12s %14s %18s%n",
+                          "Andares", "Elevadores", "us/ciclo", "ns/ciclo/elev", "ns/ciclo/(and*el)");
+
+        for (int andares : ANDARES) {
+            for (int elevadores : ELEVADORES) {
+                Configuracao config = Configuracao.construtor()
+                    .numeroAndares(andares)
+                    .numeroElevadores(elevadores)
+                    .despacho(despacho)
+                    .construir();
+
+                // Aquecimento para o JIT, descartado
+                medir(config, ciclos);
+                long nanos = medir(config, ciclos);
+
+                double porCiclo = (double) nanos / ciclos;
+                System.out.printf("%8d %10d %12.2f %14.1f %18.3f%n",
+                                  andares, elevadores, porCiclo / 1000.0,
+                                  porCiclo / elevadores, porCiclo / ((double) andares * elevadores));
+            }
+        }
+    }
+
+    private static long medir(Configuracao config, int ciclos) {
+        ControladorElevadores controlador = new ControladorElevadores(config);
+        controlador.setOuvinte(OuvinteNulo.INSTANCIA);
+
+        try {
+            long inicio = System.nanoTime();
+            for (int minuto = 0; minuto < ciclos; minuto++) {
+                controlador.gerarPessoas();
+                controlador.simularCiclo();
+            }
+            return System.nanoTime() - inicio;
+        } finally {
+            controlador.encerrar();
+        }
+    }
+}
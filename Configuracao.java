@@ -1,3 +1,13 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
 /**
  * Mantém as configurações do sistema de elevadores.
  * Define parâmetros como número de andares, capacidade dos elevadores e tempos de operação.
@@ -13,6 +23,59 @@ public class Configuracao {
     private static final int CONSUMO_ENERGIA_DESLOCAMENTO_PADRAO = 2;
     private static final int CONSUMO_ENERGIA_PARADA_PADRAO = 1;
     private static final int PESO_MAXIMO_ELEVADOR_PADRAO = 1000;
+    private static final int DURACAO_MINUTOS_PADRAO = 1440;
+    private static final int CAPACIDADE_INICIAL_FILA_PADRAO = 100;
+    private static final int THREADS_ELEVADORES_PADRAO = 1;
+    private static final int SEGUNDOS_POR_ENERGIA_PADRAO = 2;
+    private static final int TAXA_PICO_PADRAO = 20;
+    private static final String IDADES_PADRAO = "10-79:100";
+    private static final int PERCENTUAL_CADEIRANTES_PADRAO = 10;
+    private static final int PESO_MEDIO_PADRAO = 70;
+    private static final int DESVIO_PESO_PADRAO = 17;
+
+    // Estratégias de despacho aceitas na chave CHAVE_DESPACHO
+    public static final String DESPACHO_MAIS_PROXIMO = "proximo";
+    public static final String DESPACHO_COLETIVO = "coletivo";
+    public static final String DESPACHO_GRUPO = "grupo";
+    public static final String DESPACHO_DESTINO = "destino";
+
+    // Políticas de estacionamento aceitas na chave CHAVE_ESTACIONAMENTO
+    public static final String ESTACIONAMENTO_NENHUM = "nenhum";
+    public static final String ESTACIONAMENTO_DEMANDA = "demanda";
+
+    // Modelos de tráfego aceitos na chave CHAVE_TRAFEGO
+    public static final String TRAFEGO_UNIFORME = "uniforme";
+    public static final String TRAFEGO_ESCRITORIO = "escritorio";
+
+    // Chaves aceitas em arquivos .properties e na linha de comando (--chave=valor)
+    public static final String CHAVE_ANDARES = "andares";
+    public static final String CHAVE_ELEVADORES = "elevadores";
+    public static final String CHAVE_CAPACIDADE = "capacidade";
+    public static final String CHAVE_PESO_MAXIMO = "peso.maximo";
+    public static final String CHAVE_TEMPO_MINIMO_VIAGEM = "tempo.viagem.minimo";
+    public static final String CHAVE_TEMPO_MAXIMO_VIAGEM = "tempo.viagem.maximo";
+    public static final String CHAVE_TEMPO_MAXIMO_ESPERA = "tempo.espera.maximo";
+    public static final String CHAVE_CONSUMO_ANDAR = "consumo.andar";
+    public static final String CHAVE_CONSUMO_PARADA = "consumo.parada";
+    public static final String CHAVE_DURACAO = "duracao";
+    public static final String CHAVE_CAPACIDADE_FILA = "fila.capacidade";
+    public static final String CHAVE_SEMENTE = "semente";
+    public static final String CHAVE_THREADS_ELEVADORES = "threads.elevadores";
+    public static final String CHAVE_DESPACHO = "despacho";
+    public static final String CHAVE_ZONAS = "zonas";
+    public static final String CHAVE_ESTACIONAMENTO = "estacionamento";
+    public static final String CHAVE_ESTACIONAMENTO_ENERGIA = "estacionamento.energia";
+    public static final String CHAVE_TRAFEGO = "trafego";
+    public static final String CHAVE_TRAFEGO_TAXA = "trafego.taxa";
+    public static final String CHAVE_IDADES = "pessoas.idades";
+    public static final String CHAVE_CADEIRANTES = "pessoas.cadeirantes";
+    public static final String CHAVE_PESO_MEDIO = "pessoas.peso.medio";
+    public static final String CHAVE_PESO_DESVIO = "pessoas.peso.desvio";
+
+    private static final String OPCAO_ARQUIVO = "--config=";
+    // Opções --chave=valor tratadas pelo Main, e não pela configuração
+    private static final List<String> OPCOES_EXECUCAO = Arrays.asList(
+        "config", "replicacoes", "tempo-real", "ao-vivo", "metricas", "previsao", "reproduzir", "registro");
 
     // Configurações do sistema
     private final int numeroAndares;
@@ -24,20 +87,115 @@ public class Configuracao {
     private final int consumoEnergiaDeslocamento;
     private final int consumoEnergiaParada;
     private final int pesoMaximoElevador;
+    private final int duracaoMinutos;
+    private final int capacidadeInicialFila;
+    private final long semente;
+    private final int threadsElevadores;
+    private final String despacho;
+    private final String zonas;
+    private final String estacionamento;
+    private final int segundosPorEnergia;
+    private final String trafego;
+    private final int taxaPico;
+    private final String idades;
+    private final int percentualCadeirantes;
+    private final int pesoMedio;
+    private final int desvioPeso;
 
     /**
      * Construtor com valores padrão.
      */
     public Configuracao() {
-        this.numeroAndares = NUMERO_ANDARES_PADRAO;
-        this.numeroElevadores = NUMERO_ELEVADORES_PADRAO;
-        this.capacidadeElevador = CAPACIDADE_ELEVADOR_PADRAO;
-        this.tempoMinimoViagem = TEMPO_MINIMO_VIAGEM_PADRAO;
-        this.tempoMaximoViagem = TEMPO_MAXIMO_VIAGEM_PADRAO;
-        this.tempoMaximoEspera = TEMPO_MAXIMO_ESPERA_PADRAO;
-        this.consumoEnergiaDeslocamento = CONSUMO_ENERGIA_DESLOCAMENTO_PADRAO;
-        this.consumoEnergiaParada = CONSUMO_ENERGIA_PARADA_PADRAO;
-        this.pesoMaximoElevador = PESO_MAXIMO_ELEVADOR_PADRAO;
+        this(new Construtor());
+    }
+
+    private Configuracao(Construtor construtor) {
+        this.numeroAndares = construtor.numeroAndares;
+        this.numeroElevadores = construtor.numeroElevadores;
+        this.capacidadeElevador = construtor.capacidadeElevador;
+        this.tempoMinimoViagem = construtor.tempoMinimoViagem;
+        this.tempoMaximoViagem = construtor.tempoMaximoViagem;
+        this.tempoMaximoEspera = construtor.tempoMaximoEspera;
+        this.consumoEnergiaDeslocamento = construtor.consumoEnergiaDeslocamento;
+        this.consumoEnergiaParada = construtor.consumoEnergiaParada;
+        this.pesoMaximoElevador = construtor.pesoMaximoElevador;
+        this.duracaoMinutos = construtor.duracaoMinutos;
+        this.capacidadeInicialFila = construtor.capacidadeInicialFila;
+        this.semente = construtor.semente;
+        this.threadsElevadores = construtor.threadsElevadores;
+        this.despacho = construtor.despacho;
+        this.zonas = construtor.zonas;
+        this.estacionamento = construtor.estacionamento;
+        this.segundosPorEnergia = construtor.segundosPorEnergia;
+        this.trafego = construtor.trafego;
+        this.taxaPico = construtor.taxaPico;
+        this.idades = construtor.idades;
+        this.percentualCadeirantes = construtor.percentualCadeirantes;
+        this.pesoMedio = construtor.pesoMedio;
+        this.desvioPeso = construtor.desvioPeso;
+    }
+
+    /**
+     * Cria um construtor de configuração com os valores padrão.
+     * @return Construtor de configuração
+     */
+    public static Construtor construtor() {
+        return new Construtor();
+    }
+
+    /**
+     * Cria uma cópia desta configuração com outra semente aleatória.
+     * Usado para gerar réplicas independentes da mesma simulação.
+     * @param novaSemente Semente da cópia
+     * @return Configuração com a nova semente
+     */
+    public Configuracao comSemente(long novaSemente) {
+        return new Construtor(this).semente(novaSemente).construir();
+    }
+
+    /**
+     * Carrega a configuração de um conjunto de propriedades.
+     * Chaves ausentes mantêm o valor padrão.
+     * @param propriedades Propriedades com as chaves CHAVE_*
+     * @return Configuração validada
+     * @throws IllegalArgumentException se algum valor for inválido
+     */
+    public static Configuracao carregar(Properties propriedades) {
+        return new Construtor().aplicar(propriedades).construir();
+    }
+
+    /**
+     * Carrega a configuração dos argumentos de linha de comando.
+     * Aceita --config=arquivo.properties e opções --chave=valor com as mesmas chaves
+     * do arquivo, que têm precedência sobre ele. Uma opção --chave=valor que não é da
+     * configuração nem do Main é recusada; opções sem '=' ficam para o Main.
+     * @param args Argumentos de linha de comando
+     * @return Configuração validada
+     * @throws IOException se o arquivo de configuração não puder ser lido
+     * @throws IllegalArgumentException se alguma opção for desconhecida ou algum valor for inválido
+     */
+    public static Configuracao deArgumentos(String[] args) throws IOException {
+        Properties propriedades = new Properties();
+        for (String arg : args) {
+            if (arg.startsWith(OPCAO_ARQUIVO)) {
+                try (Reader leitor = Files.newBufferedReader(Paths.get(arg.substring(OPCAO_ARQUIVO.length())),
+                                                             StandardCharsets.UTF_8)) {
+                    propriedades.load(leitor);
+                }
+            }
+        }
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) continue;
+
+            String chave = arg.substring(2, igual);
+            if (Construtor.CHAVES.contains(chave)) {
+                propriedades.setProperty(chave, arg.substring(igual + 1));
+            } else if (!OPCOES_EXECUCAO.contains(chave)) {
+                throw new IllegalArgumentException("Opção desconhecida: --" + chave);
+            }
+        }
+        return carregar(propriedades);
     }
 
     /**
@@ -127,4 +285,341 @@ public class Configuracao {
     public int getAndarMaximo() {
         return numeroAndares - 1;
     }
+
+    /**
+     * Retorna a duração da simulação.
+     * @return Duração em minutos
+     */
+    public int getDuracaoMinutos() {
+        return duracaoMinutos;
+    }
+
+    /**
+     * Retorna a capacidade inicial das filas de cada andar.
+     * As filas crescem sob demanda; o valor só evita realocações no início.
+     * @return Capacidade inicial em número de pessoas
+     */
+    public int getCapacidadeInicialFila() {
+        return capacidadeInicialFila;
+    }
+
+    /**
+     * Retorna a semente do gerador aleatório da simulação.
+     * A mesma configuração com a mesma semente produz a mesma simulação.
+     * @return Semente aleatória
+     */
+    public long getSemente() {
+        return semente;
+    }
+
+    /**
+     * Retorna o número de threads usadas para mover os elevadores dentro de um ciclo.
+     * Com 1, os elevadores andam em sequência; o resultado é o mesmo em ambos os casos.
+     * @return Número de threads
+     */
+    public int getThreadsElevadores() {
+        return threadsElevadores;
+    }
+
+    /**
+     * Retorna a estratégia de despacho dos elevadores.
+     * @return DESPACHO_MAIS_PROXIMO (o elevador vazio vai direto à chamada mais próxima)
+     *         DESPACHO_COLETIVO (controle coletivo, atendendo chamadas pelo caminho)
+     *         DESPACHO_GRUPO (cada chamada atribuída a um único elevador)
+     *         ou DESPACHO_DESTINO (cada pessoa designada a um elevador pelo seu destino)
+     */
+    public String getDespacho() {
+        return despacho;
+    }
+
+    /**
+     * Retorna a especificação das zonas de elevadores, no formato de Zoneamento:
+     * uma entrada elevadores:andares por zona, separadas por ';' (por exemplo
+     * "3:0-20;2:0,40;3:40-59"). Vazia quando todos os elevadores atendem todos os andares.
+     * @return Especificação das zonas, ou "" sem zoneamento
+     */
+    public String getZonas() {
+        return zonas;
+    }
+
+    /**
+     * Retorna a política para os elevadores vazios e sem chamada.
+     * @return ESTACIONAMENTO_NENHUM (o elevador fica onde parou)
+     *         ou ESTACIONAMENTO_DEMANDA (vai para perto de onde as próximas chamadas devem surgir)
+     */
+    public String getEstacionamento() {
+        return estacionamento;
+    }
+
+    /**
+     * Retorna quantos segundos de espera evitada compensam gastar uma unidade de energia
+     * para estacionar um elevador. Com 0, o elevador estacionaria sempre que a espera
+     * prevista diminuísse.
+     * @return Segundos de espera por unidade de energia
+     */
+    public int getSegundosPorEnergia() {
+        return segundosPorEnergia;
+    }
+
+    /**
+     * Retorna o modelo de tráfego que gera as chegadas.
+     * @return TRAFEGO_UNIFORME (1 pessoa por minuto, 2 no horário de pico, entre andares sorteados)
+     *         ou TRAFEGO_ESCRITORIO (chegadas de Poisson com os picos de um prédio de escritórios,
+     *         veja GeradorTrafego)
+     */
+    public String getTrafego() {
+        return trafego;
+    }
+
+    /**
+     * Retorna a taxa de chegadas no minuto mais movimentado do dia, no tráfego de escritório.
+     * @return Pessoas por minuto no pico
+     */
+    public int getTaxaPico() {
+        return taxaPico;
+    }
+
+    /**
+     * Retorna a distribuição de idades das pessoas geradas no tráfego de escritório:
+     * faixas minima-maxima:peso separadas por vírgula (por exemplo "18-59:85,60-79:15"),
+     * com a idade uniforme dentro da faixa sorteada.
+     * @return Especificação das faixas de idade
+     */
+    public String getIdades() {
+        return idades;
+    }
+
+    /**
+     * Retorna a porcentagem de cadeirantes entre as pessoas geradas no tráfego de escritório.
+     * @return Porcentagem de 0 a 100
+     */
+    public int getPercentualCadeirantes() {
+        return percentualCadeirantes;
+    }
+
+    /**
+     * Retorna o peso médio das pessoas geradas no tráfego de escritório.
+     * @return Peso médio em kg
+     */
+    public int getPesoMedio() {
+        return pesoMedio;
+    }
+
+    /**
+     * Retorna o desvio padrão do peso, distribuído normalmente, no tráfego de escritório.
+     * @return Desvio padrão em kg
+     */
+    public int getDesvioPeso() {
+        return desvioPeso;
+    }
+
+    /**
+     * Construtor passo a passo de uma configuração, com validação ao final.
+     */
+    public static class Construtor {
+        private static final List<String> CHAVES = Arrays.asList(
+            CHAVE_ANDARES, CHAVE_ELEVADORES, CHAVE_CAPACIDADE, CHAVE_PESO_MAXIMO,
+            CHAVE_TEMPO_MINIMO_VIAGEM, CHAVE_TEMPO_MAXIMO_VIAGEM, CHAVE_TEMPO_MAXIMO_ESPERA,
+            CHAVE_CONSUMO_ANDAR, CHAVE_CONSUMO_PARADA, CHAVE_DURACAO, CHAVE_CAPACIDADE_FILA, CHAVE_SEMENTE,
+            CHAVE_THREADS_ELEVADORES, CHAVE_DESPACHO, CHAVE_ZONAS, CHAVE_ESTACIONAMENTO,
+            CHAVE_ESTACIONAMENTO_ENERGIA, CHAVE_TRAFEGO, CHAVE_TRAFEGO_TAXA, CHAVE_IDADES, CHAVE_CADEIRANTES,
+            CHAVE_PESO_MEDIO, CHAVE_PESO_DESVIO);
+
+        private int numeroAndares = NUMERO_ANDARES_PADRAO;
+        private int numeroElevadores = NUMERO_ELEVADORES_PADRAO;
+        private int capacidadeElevador = CAPACIDADE_ELEVADOR_PADRAO;
+        private int tempoMinimoViagem = TEMPO_MINIMO_VIAGEM_PADRAO;
+        private int tempoMaximoViagem = TEMPO_MAXIMO_VIAGEM_PADRAO;
+        private int tempoMaximoEspera = TEMPO_MAXIMO_ESPERA_PADRAO;
+        private int consumoEnergiaDeslocamento = CONSUMO_ENERGIA_DESLOCAMENTO_PADRAO;
+        private int consumoEnergiaParada = CONSUMO_ENERGIA_PARADA_PADRAO;
+        private int pesoMaximoElevador = PESO_MAXIMO_ELEVADOR_PADRAO;
+        private int duracaoMinutos = DURACAO_MINUTOS_PADRAO;
+        private int capacidadeInicialFila = CAPACIDADE_INICIAL_FILA_PADRAO;
+        private long semente;
+        private boolean sementeDefinida;
+        private int threadsElevadores = THREADS_ELEVADORES_PADRAO;
+        private String despacho = DESPACHO_MAIS_PROXIMO;
+        private String zonas = "";
+        private String estacionamento = ESTACIONAMENTO_NENHUM;
+        private int segundosPorEnergia = SEGUNDOS_POR_ENERGIA_PADRAO;
+        private String trafego = TRAFEGO_UNIFORME;
+        private int taxaPico = TAXA_PICO_PADRAO;
+        private String idades = IDADES_PADRAO;
+        private int percentualCadeirantes = PERCENTUAL_CADEIRANTES_PADRAO;
+        private int pesoMedio = PESO_MEDIO_PADRAO;
+        private int desvioPeso = DESVIO_PESO_PADRAO;
+
+        /**
+         * Construtor com os valores padrão.
+         */
+        public Construtor() {
+        }
+
+        /**
+         * Construtor que parte dos valores de uma configuração existente.
+         * @param base Configuração de origem
+         */
+        public Construtor(Configuracao base) {
+            numeroAndares = base.numeroAndares;
+            numeroElevadores = base.numeroElevadores;
+            capacidadeElevador = base.capacidadeElevador;
+            tempoMinimoViagem = base.tempoMinimoViagem;
+            tempoMaximoViagem = base.tempoMaximoViagem;
+            tempoMaximoEspera = base.tempoMaximoEspera;
+            consumoEnergiaDeslocamento = base.consumoEnergiaDeslocamento;
+            consumoEnergiaParada = base.consumoEnergiaParada;
+            pesoMaximoElevador = base.pesoMaximoElevador;
+            duracaoMinutos = base.duracaoMinutos;
+            capacidadeInicialFila = base.capacidadeInicialFila;
+            threadsElevadores = base.threadsElevadores;
+            despacho = base.despacho;
+            zonas = base.zonas;
+            estacionamento = base.estacionamento;
+            segundosPorEnergia = base.segundosPorEnergia;
+            trafego = base.trafego;
+            taxaPico = base.taxaPico;
+            idades = base.idades;
+            percentualCadeirantes = base.percentualCadeirantes;
+            pesoMedio = base.pesoMedio;
+            desvioPeso = base.desvioPeso;
+            semente(base.semente);
+        }
+
+        public Construtor numeroAndares(int valor) { numeroAndares = valor; return this; }
+        public Construtor numeroElevadores(int valor) { numeroElevadores = valor; return this; }
+        public Construtor capacidadeElevador(int valor) { capacidadeElevador = valor; return this; }
+        public Construtor pesoMaximoElevador(int valor) { pesoMaximoElevador = valor; return this; }
+        public Construtor tempoMinimoViagem(int valor) { tempoMinimoViagem = valor; return this; }
+        public Construtor tempoMaximoViagem(int valor) { tempoMaximoViagem = valor; return this; }
+        public Construtor tempoMaximoEspera(int valor) { tempoMaximoEspera = valor; return this; }
+        public Construtor consumoPorAndar(int valor) { consumoEnergiaDeslocamento = valor; return this; }
+        public Construtor consumoPorParada(int valor) { consumoEnergiaParada = valor; return this; }
+        public Construtor duracaoMinutos(int valor) { duracaoMinutos = valor; return this; }
+        public Construtor capacidadeInicialFila(int valor) { capacidadeInicialFila = valor; return this; }
+        public Construtor semente(long valor) { semente = valor; sementeDefinida = true; return this; }
+        public Construtor threadsElevadores(int valor) { threadsElevadores = valor; return this; }
+        public Construtor despacho(String valor) { despacho = valor; return this; }
+        public Construtor zonas(String valor) { zonas = valor; return this; }
+        public Construtor estacionamento(String valor) { estacionamento = valor; return this; }
+        public Construtor segundosPorEnergia(int valor) { segundosPorEnergia = valor; return this; }
+        public Construtor trafego(String valor) { trafego = valor; return this; }
+        public Construtor taxaPico(int valor) { taxaPico = valor; return this; }
+        public Construtor idades(String valor) { idades = valor; return this; }
+        public Construtor percentualCadeirantes(int valor) { percentualCadeirantes = valor; return this; }
+        public Construtor pesoMedio(int valor) { pesoMedio = valor; return this; }
+        public Construtor desvioPeso(int valor) { desvioPeso = valor; return this; }
+
+        /**
+         * Aplica os valores presentes em um conjunto de propriedades.
+         * @param propriedades Propriedades com as chaves CHAVE_*
+         * @return Este construtor
+         * @throws IllegalArgumentException se alguma chave for desconhecida ou algum valor
+         *         não for um número inteiro
+         */
+        public Construtor aplicar(Properties propriedades) {
+            for (String chave : propriedades.stringPropertyNames()) {
+                if (!CHAVES.contains(chave)) {
+                    throw new IllegalArgumentException("Chave de configuração desconhecida: '" + chave + "'");
+                }
+            }
+            numeroAndares = lerInteiro(propriedades, CHAVE_ANDARES, numeroAndares);
+            numeroElevadores = lerInteiro(propriedades, CHAVE_ELEVADORES, numeroElevadores);
+            capacidadeElevador = lerInteiro(propriedades, CHAVE_CAPACIDADE, capacidadeElevador);
+            pesoMaximoElevador = lerInteiro(propriedades, CHAVE_PESO_MAXIMO, pesoMaximoElevador);
+            tempoMinimoViagem = lerInteiro(propriedades, CHAVE_TEMPO_MINIMO_VIAGEM, tempoMinimoViagem);
+            tempoMaximoViagem = lerInteiro(propriedades, CHAVE_TEMPO_MAXIMO_VIAGEM, tempoMaximoViagem);
+            tempoMaximoEspera = lerInteiro(propriedades, CHAVE_TEMPO_MAXIMO_ESPERA, tempoMaximoEspera);
+            consumoEnergiaDeslocamento = lerInteiro(propriedades, CHAVE_CONSUMO_ANDAR, consumoEnergiaDeslocamento);
+            consumoEnergiaParada = lerInteiro(propriedades, CHAVE_CONSUMO_PARADA, consumoEnergiaParada);
+            duracaoMinutos = lerInteiro(propriedades, CHAVE_DURACAO, duracaoMinutos);
+            capacidadeInicialFila = lerInteiro(propriedades, CHAVE_CAPACIDADE_FILA, capacidadeInicialFila);
+            threadsElevadores = lerInteiro(propriedades, CHAVE_THREADS_ELEVADORES, threadsElevadores);
+            despacho = propriedades.getProperty(CHAVE_DESPACHO, despacho).trim();
+            zonas = propriedades.getProperty(CHAVE_ZONAS, zonas).trim();
+            estacionamento = propriedades.getProperty(CHAVE_ESTACIONAMENTO, estacionamento).trim();
+            segundosPorEnergia = lerInteiro(propriedades, CHAVE_ESTACIONAMENTO_ENERGIA, segundosPorEnergia);
+            trafego = propriedades.getProperty(CHAVE_TRAFEGO, trafego).trim();
+            taxaPico = lerInteiro(propriedades, CHAVE_TRAFEGO_TAXA, taxaPico);
+            idades = propriedades.getProperty(CHAVE_IDADES, idades).trim();
+            percentualCadeirantes = lerInteiro(propriedades, CHAVE_CADEIRANTES, percentualCadeirantes);
+            pesoMedio = lerInteiro(propriedades, CHAVE_PESO_MEDIO, pesoMedio);
+            desvioPeso = lerInteiro(propriedades, CHAVE_PESO_DESVIO, desvioPeso);
+            String valorSemente = propriedades.getProperty(CHAVE_SEMENTE);
+            if (valorSemente != null) {
+                try {
+                    semente(Long.parseLong(valorSemente.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Valor inválido para '" + CHAVE_SEMENTE + "': " + valorSemente);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Valida os valores e cria a configuração.
+         * @return Configuração validada
+         * @throws IllegalArgumentException se algum valor for inválido
+         */
+        public Configuracao construir() {
+            exigir(numeroAndares >= 2, "O prédio deve ter pelo menos 2 andares");
+            exigir(numeroElevadores >= 1, "O prédio deve ter pelo menos 1 elevador");
+            exigir(capacidadeElevador >= 1, "A capacidade do elevador deve ser maior que zero");
+            exigir(pesoMaximoElevador >= 1, "O peso máximo do elevador deve ser maior que zero");
+            exigir(tempoMinimoViagem >= 0, "O tempo mínimo de viagem não pode ser negativo");
+            exigir(tempoMaximoViagem >= tempoMinimoViagem,
+                   "O tempo máximo de viagem não pode ser menor que o mínimo");
+            exigir(tempoMaximoEspera >= 0, "O tempo máximo de espera não pode ser negativo");
+            exigir(consumoEnergiaDeslocamento >= 0 && consumoEnergiaParada >= 0,
+                   "O consumo de energia não pode ser negativo");
+            exigir(duracaoMinutos >= 1, "A duração da simulação deve ser maior que zero");
+            exigir(capacidadeInicialFila >= 1, "A capacidade inicial da fila deve ser maior que zero");
+            exigir(threadsElevadores >= 1, "O número de threads dos elevadores deve ser maior que zero");
+            exigir(DESPACHO_MAIS_PROXIMO.equals(despacho) || DESPACHO_COLETIVO.equals(despacho)
+                   || DESPACHO_GRUPO.equals(despacho) || DESPACHO_DESTINO.equals(despacho),
+                   "Estratégia de despacho inválida: " + despacho + " (use '" + DESPACHO_MAIS_PROXIMO
+                   + "', '" + DESPACHO_COLETIVO + "', '" + DESPACHO_GRUPO + "' ou '" + DESPACHO_DESTINO + "')");
+            exigir(zonas != null, "A especificação das zonas não pode ser nula");
+            if (!zonas.isEmpty()) {
+                // Valida as zonas contra o número de andares e de elevadores
+                new Zoneamento(zonas, numeroAndares, numeroElevadores);
+            }
+            exigir(ESTACIONAMENTO_NENHUM.equals(estacionamento) || ESTACIONAMENTO_DEMANDA.equals(estacionamento),
+                   "Política de estacionamento inválida: " + estacionamento + " (use '" + ESTACIONAMENTO_NENHUM
+                   + "' ou '" + ESTACIONAMENTO_DEMANDA + "')");
+            exigir(segundosPorEnergia >= 0, "O custo de energia do estacionamento não pode ser negativo");
+            exigir(TRAFEGO_UNIFORME.equals(trafego) || TRAFEGO_ESCRITORIO.equals(trafego),
+                   "Modelo de tráfego inválido: " + trafego + " (use '" + TRAFEGO_UNIFORME + "' ou '"
+                   + TRAFEGO_ESCRITORIO + "')");
+            exigir(taxaPico >= 0, "A taxa de chegadas no pico não pode ser negativa");
+            exigir(idades != null, "A distribuição de idades não pode ser nula");
+            // Valida as faixas de idade
+            GeradorTrafego.lerFaixasIdade(idades);
+            exigir(percentualCadeirantes >= 0 && percentualCadeirantes <= 100,
+                   "A porcentagem de cadeirantes deve estar entre 0 e 100");
+            exigir(pesoMedio >= 1, "O peso médio deve ser maior que zero");
+            exigir(desvioPeso >= 0, "O desvio padrão do peso não pode ser negativo");
+            if (!sementeDefinida) {
+                // Sem semente informada, sorteia uma; ela fica registrada para reproduzir a execução
+                semente(new SplittableRandom().nextLong());
+            }
+            return new Configuracao(this);
+        }
+
+        private static int lerInteiro(Properties propriedades, String chave, int valorAtual) {
+            String valor = propriedades.getProperty(chave);
+            if (valor == null) return valorAtual;
+            try {
+                return Integer.parseInt(valor.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido para '" + chave + "': " + valor);
+            }
+        }
+
+        private static void exigir(boolean condicao, String mensagem) {
+            if (!condicao) {
+                throw new IllegalArgumentException(mensagem);
+            }
+        }
+    }
 }
@@ -0,0 +1,162 @@
+/**
+ * Conjunto de andares representado por um bitset de palavras long.
+ * Permite encontrar o andar marcado mais próximo de uma posição
+ * sem percorrer andar por andar.
+ */
+public class ConjuntoAndares {
+    private static final int BITS_POR_PALAVRA = 64;
+
+    private final long[] palavras;
+    private final int numeroAndares;
+
+    /**
+     * Construtor do conjunto de andares.
+     * @param numeroAndares Número de andares do prédio
+     */
+    public ConjuntoAndares(int numeroAndares) {
+        this.numeroAndares = numeroAndares;
+        this.palavras = new long[(numeroAndares + BITS_POR_PALAVRA - 1) / BITS_POR_PALAVRA];
+    }
+
+    /**
+     * Marca ou desmarca um andar.
+     * @param andar Andar a ser atualizado
+     * @param marcado true para marcar o andar, false para desmarcar
+     */
+    public void definir(int andar, boolean marcado) {
+        if (andar < 0 || andar >= numeroAndares) return;
+        if (marcado) {
+            palavras[andar >>> 6] |= 1L << andar;
+        } else {
+            palavras[andar >>> 6] &= ~(1L << andar);
+        }
+    }
+
+    /**
+     * Verifica se um andar está marcado.
+     * @param andar Andar a ser verificado
+     * @return true se o andar estiver marcado, false caso contrário
+     */
+    public boolean contem(int andar) {
+        return andar >= 0 && andar < numeroAndares && (palavras[andar >>> 6] & (1L << andar)) != 0;
+    }
+
+    /**
+     * Verifica se nenhum andar está marcado.
+     * @return true se o conjunto estiver vazio, false caso contrário
+     */
+    public boolean estaVazio() {
+        for (long palavra : palavras) {
+            if (palavra != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se algum andar de um intervalo está marcado.
+     * @param inicio Primeiro andar do intervalo, inclusive
+     * @param fim Último andar do intervalo, inclusive
+     * @return true se houver andar marcado no intervalo, false caso contrário
+     */
+    public boolean contemAlgumEntre(int inicio, int fim) {
+        if (inicio < 0) inicio = 0;
+        if (fim >= numeroAndares) fim = numeroAndares - 1;
+        if (inicio > fim) return false;
+
+        int primeira = inicio >>> 6;
+        int ultima = fim >>> 6;
+        long mascaraInicio = -1L << inicio;
+        long mascaraFim = -1L >>> (BITS_POR_PALAVRA - 1 - (fim & 63));
+        if (primeira == ultima) {
+            return (palavras[primeira] & mascaraInicio & mascaraFim) != 0;
+        }
+        if ((palavras[primeira] & mascaraInicio) != 0) return true;
+        for (int i = primeira + 1; i < ultima; i++) {
+            if (palavras[i] != 0) return true;
+        }
+        return (palavras[ultima] & mascaraFim) != 0;
+    }
+
+    /**
+     * Retorna quantos andares estão marcados.
+     * @return Número de andares marcados
+     */
+    public int getQuantidade() {
+        int quantidade = 0;
+        for (long palavra : palavras) {
+            quantidade += Long.bitCount(palavra);
+        }
+        return quantidade;
+    }
+
+    /**
+     * Desmarca todos os andares.
+     */
+    public void limpar() {
+        for (int i = 0; i < palavras.length; i++) {
+            palavras[i] = 0;
+        }
+    }
+
+    /**
+     * Retorna o primeiro andar marcado a partir de um andar, inclusive.
+     * @param andar Andar inicial da busca
+     * @return Andar encontrado ou -1 se não houver andar marcado acima
+     */
+    public int proximoAcima(int andar) {
+        if (andar < 0) andar = 0;
+        if (andar >= numeroAndares) return -1;
+
+        int indice = andar >>> 6;
+        long palavra = palavras[indice] & (-1L << andar);
+        while (true) {
+            if (palavra != 0) {
+                return indice * BITS_POR_PALAVRA + Long.numberOfTrailingZeros(palavra);
+            }
+            if (++indice == palavras.length) return -1;
+            palavra = palavras[indice];
+        }
+    }
+
+    /**
+     * Retorna o primeiro andar marcado a partir de um andar, descendo, inclusive.
+     * @param andar Andar inicial da busca
+     * @return Andar encontrado ou -1 se não houver andar marcado abaixo
+     */
+    public int proximoAbaixo(int andar) {
+        if (andar < 0) return -1;
+        if (andar >= numeroAndares) andar = numeroAndares - 1;
+
+        int indice = andar >>> 6;
+        long palavra = palavras[indice] & (-1L >>> (BITS_POR_PALAVRA - 1 - (andar & 63)));
+        while (true) {
+            if (palavra != 0) {
+                return indice * BITS_POR_PALAVRA + BITS_POR_PALAVRA - 1 - Long.numberOfLeadingZeros(palavra);
+            }
+            if (--indice < 0) return -1;
+            palavra = palavras[indice];
+        }
+    }
+
+    /**
+     * Retorna o andar marcado mais próximo de um andar.
+     * Em caso de empate, o andar de baixo é escolhido.
+     * @param andar Andar de referência
+     * @return Andar mais próximo ou -1 se o conjunto estiver vazio
+     */
+    public int maisProximo(int andar) {
+        int abaixo = proximoAbaixo(andar);
+        int acima = proximoAcima(andar);
+        if (abaixo == -1) return acima;
+        if (acima == -1) return abaixo;
+        return andar - abaixo <= acima - andar ? abaixo : acima;
+    }
+
+    /**
+     * Retorna o número de andares do conjunto.
+     * @return Número de andares
+     */
+    public int getNumeroAndares() {
+        return numeroAndares;
+    }
+}
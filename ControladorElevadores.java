@@ -1,107 +1,437 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
 public class ControladorElevadores {
     private Configuracao config;
     private Elevador[] elevadores;
     private FilaPrioridadeDupla[] filas;
+    private IndiceChamadas indiceChamadas;
     private PainelControle painelControle;
     private ResumoSimulacao resumo;
+    private OuvinteSimulacao ouvinte;
     private int tempoAtual;
     private int contadorPessoas;
+    private final SplittableRandom aleatorio;
+    private final ForkJoinPool pool;    // null quando os elevadores andam em sequência
+    private final FilaChamadasConcorrente entradaConcorrente;
+    private final Consumer<Pessoa> receberChegada = this::receberPessoa;
+    private final Consumer<Pessoa> receberBaldeacao = this::receberBaldeacao;
+    private GravadorMetricas metricas;    // null quando as séries por minuto não são gravadas
+    private Zoneamento zoneamento;        // null quando todos os elevadores atendem todos os andares
+    private EstrategiaDespacho[] estrategias;    // uma por zona, ou uma só sem zoneamento
+    private Elevador[][] grupos;                 // elevadores de cada zona, ou todos em um grupo
+    private PoliticaEstacionamento estacionamento;    // null quando o elevador vazio fica onde parou
+    private PrevisorChegadas previsor;                // null quando nenhuma política usa previsões
+    private GeradorTrafego trafego;                   // null no tráfego uniforme
+    private LeitorChamadas leitorChamadas;            // null quando as pessoas são geradas
+    // Chegadas do minuto, na ordem em que foram geradas e agrupadas por andar de origem
+    private Pessoa[] lote = new Pessoa[16];
+    private Pessoa[] loteOrdenado = new Pessoa[16];
+    private int numLote;
+    private int[] fimAndarLote;
+    // Quem desceu em um andar de baldeação no ciclo; volta à fila ao fim do ciclo
+    private Pessoa[] baldeacoesPendentes = new Pessoa[16];
+    private int numBaldeacoesPendentes;
 
     public ControladorElevadores(Configuracao config) {
         this.config = config;
         this.tempoAtual = 0;
         this.contadorPessoas = 1;
-        this.resumo = new ResumoSimulacao();
+        this.resumo = new ResumoSimulacao(config.getNumeroAndares());
+        this.aleatorio = new SplittableRandom(config.getSemente());
 
+        // Cada elevador recebe seu próprio gerador, derivado do gerador da simulação
         this.elevadores = new Elevador[config.getNumeroElevadores()];
         for (int i = 0; i < elevadores.length; i++) {
-            elevadores[i] = new Elevador(i + 1, config, resumo);
+            elevadores[i] = new Elevador(i + 1, config, resumo, aleatorio.split());
         }
 
+        this.indiceChamadas = new IndiceChamadas(config.getNumeroAndares());
         this.filas = new FilaPrioridadeDupla[config.getNumeroAndares()];
         for (int i = 0; i < config.getNumeroAndares(); i++) {
-            filas[i] = new FilaPrioridadeDupla(100);
+            filas[i] = new FilaPrioridadeDupla(config.getCapacidadeInicialFila(), i, indiceChamadas);
         }
 
+        // O painel acompanha as filas: cada fila avisa quando fica ocupada ou vazia
         this.painelControle = new PainelControle(config);
+        for (FilaPrioridadeDupla fila : filas) {
+            fila.setOuvinteTransicao(painelControle);
+        }
+
+        // Sem zonas, uma única estratégia decide por todos os elevadores. Com zonas, cada
+        // zona tem a sua, que só vê os elevadores da zona e as chamadas do painel da zona
+        if (config.getZonas().isEmpty()) {
+            estrategias = new EstrategiaDespacho[] {criarEstrategia(painelControle, elevadores)};
+            grupos = new Elevador[][] {elevadores};
+            for (Elevador elevador : elevadores) {
+                elevador.setEstrategia(estrategias[0]);
+            }
+        } else {
+            zoneamento = new Zoneamento(config.getZonas(), config.getNumeroAndares(), elevadores.length);
+            estrategias = new EstrategiaDespacho[zoneamento.getNumeroZonas()];
+            grupos = new Elevador[estrategias.length][];
+            for (int z = 0; z < estrategias.length; z++) {
+                Elevador[] daZona = Arrays.copyOfRange(elevadores, zoneamento.getPrimeiroElevador(z),
+                                                       zoneamento.getPrimeiroElevador(z + 1));
+                grupos[z] = daZona;
+                estrategias[z] = criarEstrategia(zoneamento.getPainel(z), daZona);
+                for (Elevador elevador : daZona) {
+                    elevador.setEstrategia(estrategias[z]);
+                    elevador.setZona(zoneamento, z, receberBaldeacao);
+                }
+            }
+        }
+
+        if (Configuracao.ESTACIONAMENTO_DEMANDA.equals(config.getEstacionamento())) {
+            previsor = new PrevisorChegadas(config.getNumeroAndares());
+            estacionamento = new PoliticaEstacionamento(config, previsor);
+        }
+        if (Configuracao.TRAFEGO_ESCRITORIO.equals(config.getTrafego())) {
+            trafego = new GeradorTrafego(config, aleatorio.split());
+        }
+        this.fimAndarLote = new int[config.getNumeroAndares()];
+
+        this.entradaConcorrente = new FilaChamadasConcorrente(config.getNumeroAndares());
+        this.pool = config.getThreadsElevadores() > 1 ? new ForkJoinPool(config.getThreadsElevadores()) : null;
+        setOuvinte(new OuvinteConsole());
+    }
+
+    // No despacho em grupo a estratégia acompanha as chamadas do painel e atribui cada uma
+    // a um elevador, e no despacho por destino recebe cada pessoa que chama
+    private EstrategiaDespacho criarEstrategia(PainelControle painel, Elevador[] grupo) {
+        if (Configuracao.DESPACHO_DESTINO.equals(config.getDespacho())) {
+            return new DespachoDestino(painel, grupo, config);
+        } else if (Configuracao.DESPACHO_GRUPO.equals(config.getDespacho())) {
+            DespachoGrupo despacho = new DespachoGrupo(painel, grupo, config);
+            painel.setOuvinteChamadas(despacho);
+            return despacho;
+        } else if (Configuracao.DESPACHO_COLETIVO.equals(config.getDespacho())) {
+            return new DespachoColetivo(painel);
+        }
+        return zoneamento != null ? new DespachoMaisProximo(painel) : new DespachoMaisProximo();
+    }
+
+    /**
+     * Define o ouvinte que recebe os eventos do controlador, dos elevadores e do painel.
+     * @param ouvinte Ouvinte dos eventos da simulação
+     */
+    public void setOuvinte(OuvinteSimulacao ouvinte) {
+        this.ouvinte = ouvinte;
+        for (Elevador elevador : elevadores) {
+            elevador.setOuvinte(ouvinte);
+        }
+        painelControle.setOuvinte(ouvinte);
+    }
+
+    /**
+     * Define o gravador das séries de métricas por minuto.
+     * @param metricas Gravador de métricas, ou null para não gravar
+     */
+    public void setGravadorMetricas(GravadorMetricas metricas) {
+        this.metricas = metricas;
     }
 
     public void simularCiclo() {
-        // 1. Incrementa tempo de espera de todas as pessoas nas filas
-        for (FilaPrioridadeDupla fila : filas) {
-            fila.incrementarTempoEspera();
+        // 1. Informa o ciclo atual; a espera é calculada no embarque
+        iniciarCiclo(tempoAtual);
+
+        // Traz para as filas as chamadas registradas por outras threads
+        drenarEntradaConcorrente();
+        planejarEstacionamento(tempoAtual);
+
+        // 2. Reserva: em ordem, cada elevador retira da fila quem vai embarcar
+        //    e escolhe o destino; nenhum passageiro é reservado por dois elevadores
+        for (Elevador elevador : elevadores) {
+            elevador.reservar(filas, indiceChamadas);
+        }
+
+        // 3. Desembarque, embarque e movimento: só usam o estado de cada elevador
+        if (pool != null) {
+            pool.invoke(new PassoElevadores(0, elevadores.length));
+        } else {
+            for (Elevador elevador : elevadores) {
+                elevador.executarParada();
+                elevador.executarMovimento();
+            }
         }
 
-        // 2. Movimenta os elevadores
+        // 4. Consolida resumo e eventos na ordem dos elevadores
         double energiaGastaCiclo = 0;
         for (Elevador elevador : elevadores) {
-            elevador.atenderProximo(filas);
+            elevador.consolidar();
             energiaGastaCiclo += elevador.getEnergiaGastaCiclo();
         }
 
         // Mostra o gasto de energia do ciclo
-        System.out.printf("\n[ENERGIA] Gasto no ciclo atual: %.2f unidades\n", energiaGastaCiclo);
-
-        // 3. Atualiza o painel de controle
-        atualizarPainelControle();
+        ouvinte.energiaCiclo(energiaGastaCiclo);
+        registrarMetricas(tempoAtual, null);
+        concluirBaldeacoes(tempoAtual + 1);
 
         tempoAtual++;
     }
 
+    /**
+     * Registra nas séries de métricas, se houver, o estado do prédio no fim de um minuto.
+     * Usado pelos simuladores que não passam por simularCiclo, uma vez por minuto.
+     * @param minuto Minuto que terminou
+     * @param comPasso Indica, por elevador, se ele deu um passo no minuto; null para todos
+     */
+    public void registrarMetricas(int minuto, boolean[] comPasso) {
+        if (metricas != null) {
+            metricas.registrar(minuto, filas, elevadores, comPasso);
+        }
+    }
+
+    /**
+     * Posiciona o controlador em um ciclo (minuto) da simulação.
+     * Usado pelo simulador de eventos, que salta direto para o próximo evento.
+     */
+    public void iniciarCiclo(int minuto) {
+        tempoAtual = minuto;
+        resumo.iniciarCiclo(minuto);
+        entradaConcorrente.setCicloAtual(minuto);
+    }
+
+    /**
+     * Coloca nas filas as pessoas registradas na entrada concorrente desde a última drenagem.
+     * Deve ser chamado pela thread que conduz a simulação.
+     * @return Número de pessoas que entraram nas filas
+     */
+    public int drenarEntradaConcorrente() {
+        return entradaConcorrente.drenar(receberChegada);
+    }
+
+    /**
+     * No início de cada período da política de estacionamento, escolhe para onde vão
+     * os elevadores vazios e sem chamada de cada zona. Deve ser chamado antes da fase
+     * de reserva, depois de as chegadas do minuto estarem nas filas; nos outros
+     * minutos, ou sem política de estacionamento, não faz nada.
+     * @param minuto Minuto atual
+     * @return Número de elevadores enviados a um andar de estacionamento
+     */
+    public int planejarEstacionamento(int minuto) {
+        if (estacionamento == null || !PoliticaEstacionamento.isInicioPeriodo(minuto)) return 0;
+        estacionamento.atualizarPrevisao(minuto);
+        int enviados = 0;
+        for (int z = 0; z < grupos.length; z++) {
+            ConjuntoAndares atendidos = zoneamento != null ? zoneamento.getAndaresAtendidos(z) : null;
+            enviados += estacionamento.planejar(grupos[z], atendidos);
+        }
+        return enviados;
+    }
+
+    /**
+     * Substitui a geração de pessoas pela reprodução de chamadas gravadas: a cada minuto
+     * entram nas filas as pessoas dos registros daquele minuto.
+     * @param leitor Leitor das chamadas, ou null para voltar a gerar pessoas
+     */
+    public void setLeitorChamadas(LeitorChamadas leitor) {
+        this.leitorChamadas = leitor;
+    }
+
+    /**
+     * Retorna o próximo minuto, depois de um minuto dado, em que chegam pessoas.
+     * O tráfego uniforme cria pessoas em todos os minutos; o de escritório sorteia
+     * o número de chegadas dos minutos seguintes até encontrar um que tenha alguma.
+     * Na reprodução de chamadas, é o minuto do próximo registro, ou Integer.MAX_VALUE
+     * depois do último.
+     */
+    public int proximoMinutoComChegadas(int minuto) {
+        if (leitorChamadas != null) {
+            int proximo = leitorChamadas.getProximoMinuto();
+            return proximo == -1 ? Integer.MAX_VALUE : Math.max(minuto + 1, proximo);
+        }
+        return trafego != null ? trafego.proximoMinutoComChegadas(minuto) : minuto + 1;
+    }
+
     public void gerarPessoas() {
-        // Verifica se é horário de pico (7-9h ou 17-19h)
-        int hora = (tempoAtual / 60) % 24;
-        boolean horarioPico = (hora >= 7 && hora <= 9) || (hora >= 17 && hora <= 19);
-        
+        if (leitorChamadas != null) {
+            while (leitorChamadas.temChamadaAte(tempoAtual)) {
+                adicionarAoLote(leitorChamadas.lerPessoa("P" + contadorPessoas++));
+            }
+            inserirLote();
+        } else if (trafego != null) {
+            int quantidade = trafego.getChegadas(tempoAtual);
+            for (int i = 0; i < quantidade; i++) {
+                adicionarAoLote(trafego.gerarPessoa("P" + contadorPessoas++, tempoAtual));
+            }
+            inserirLote();
+        } else {
+            gerarPessoas(receberChegada);
+        }
+    }
+
+    /**
+     * Gera as pessoas do minuto atual e entrega cada uma a um destino qualquer,
+     * por exemplo a entrada concorrente quando a geração roda em outra thread.
+     * @param destino Recebe cada pessoa gerada
+     */
+    public void gerarPessoas(Consumer<Pessoa> destino) {
+        if (leitorChamadas != null) {
+            while (leitorChamadas.temChamadaAte(tempoAtual)) {
+                destino.accept(leitorChamadas.lerPessoa("P" + contadorPessoas++));
+            }
+            return;
+        }
+        if (trafego != null) {
+            int quantidade = trafego.getChegadas(tempoAtual);
+            for (int i = 0; i < quantidade; i++) {
+                destino.accept(trafego.gerarPessoa("P" + contadorPessoas++, tempoAtual));
+            }
+            return;
+        }
+
         // Gera 1 pessoa em horário normal e 2 em horário de pico
-        int quantidade = horarioPico ? 2 : 1;
+        int hora = (tempoAtual / 60) % 24;
+        int quantidade = Horario.isHorarioPico(hora) ? 2 : 1;
         
         for (int i = 0; i < quantidade; i++) {
-            int andarOrigem = (int)(Math.random() * config.getNumeroAndares());
-            int andarDestino = (int)(Math.random() * config.getNumeroAndares());
+            int andarOrigem = aleatorio.nextInt(config.getNumeroAndares());
+            int andarDestino = aleatorio.nextInt(config.getNumeroAndares());
             while (andarDestino == andarOrigem) {
-                andarDestino = (int)(Math.random() * config.getNumeroAndares());
+                andarDestino = aleatorio.nextInt(config.getNumeroAndares());
             }
 
-            int idade = 10 + (int)(Math.random() * 70); // 10 a 80 anos
-            boolean cadeirante = Math.random() < 0.1;   // 10% cadeirantes
-            int peso = 40 + (int)(Math.random() * 60);  // 40 a 100 kg
+            int idade = 10 + aleatorio.nextInt(70);         // 10 a 80 anos
+            boolean cadeirante = aleatorio.nextDouble() < 0.1; // 10% cadeirantes
+            int peso = 40 + aleatorio.nextInt(60);          // 40 a 100 kg
             String nome = "P" + contadorPessoas++;
 
-            Pessoa nova = new Pessoa(nome, idade, cadeirante, peso, andarOrigem, andarDestino);
-            resumo.registrarPassageiroGerado();
+            Pessoa nova = new Pessoa(nome, idade, cadeirante, peso, andarOrigem, andarDestino, tempoAtual);
+            destino.accept(nova);
+        }
+    }
+
+    // Coloca uma pessoa recém-chegada na fila do seu andar; o botão é aceso pela própria fila
+    private void receberPessoa(Pessoa nova) {
+        resumo.registrarPassageiroGerado();
+        ouvinte.novaPessoa(nova);
+        if (zoneamento != null) {
+            zoneamento.rotear(nova);
+        }
+        entrarNaFila(nova);
+    }
+
+    // Guarda uma chegada do minuto para inserirLote, contando-a no seu andar de origem
+    private void adicionarAoLote(Pessoa nova) {
+        resumo.registrarPassageiroGerado();
+        ouvinte.novaPessoa(nova);
+        if (zoneamento != null) {
+            zoneamento.rotear(nova);
+        }
+        if (numLote == lote.length) {
+            lote = Arrays.copyOf(lote, lote.length * 2);
+            loteOrdenado = new Pessoa[lote.length];
+        }
+        lote[numLote++] = nova;
+        fimAndarLote[nova.getAndarOrigem()]++;
+    }
 
-            // Mostra informações detalhadas da pessoa gerada em uma única linha
-            String tipo = cadeirante ? "Cadeirante" : (idade >= 60 ? "Idoso" : "Normal");
-            System.out.printf("[NOVA PESSOA] %s | %d anos | %s | Origem: %d | Destino: %d | Peso: %d kg\n", 
-                            nome, idade, tipo, andarOrigem, andarDestino, peso);
+    // Coloca nas filas as chegadas do minuto de uma vez, agrupadas por andar de origem com
+    // uma ordenação por contagem: cada fila recebe um único lote por minuto
+    private void inserirLote() {
+        int quantidade = numLote;
+        numLote = 0;
+        if (quantidade == 0) return;
+        // Depois da soma prefixada, fimAndarLote[a] é o início do andar a + 1; ao final da
+        // distribuição, passa a ser o fim do andar a
+        int soma = 0;
+        for (int a = 0; a < fimAndarLote.length; a++) {
+            int contagem = fimAndarLote[a];
+            fimAndarLote[a] = soma;
+            soma += contagem;
+        }
+        for (int i = 0; i < quantidade; i++) {
+            loteOrdenado[fimAndarLote[lote[i].getAndarOrigem()]++] = lote[i];
+            lote[i] = null;
+        }
 
-            if (filas[andarOrigem].inserir(nova)) {
-                if (andarDestino > andarOrigem) {
-                    painelControle.ativarBotaoSubir(andarOrigem);
+        int inicio = 0;
+        for (int a = 0; a < fimAndarLote.length; a++) {
+            int fim = fimAndarLote[a];
+            if (fim == inicio) continue;
+            int inseridas = filas[a].inserirLote(loteOrdenado, inicio, fim);
+            for (int i = inicio; i < fim; i++) {
+                if (i < inicio + inseridas) {
+                    registrarNaFila(loteOrdenado[i]);
                 } else {
-                    painelControle.ativarBotaoDescer(andarOrigem);
+                    ouvinte.falhaInsercao(loteOrdenado[i]);
                 }
-            } else {
-                System.out.println("[AVISO] Não foi possível adicionar " + nome + " à fila do andar " + andarOrigem);
+                loteOrdenado[i] = null;
             }
+            inicio = fim;
         }
+        Arrays.fill(fimAndarLote, 0);
     }
 
-    private void atualizarPainelControle() {
-        for (int andar = 0; andar < config.getNumeroAndares(); andar++) {
-            // Se existem pessoas querendo subir neste andar
-            if (!filas[andar].estaVaziaSubir()) {
-                painelControle.ativarBotaoSubir(andar);
-            } else {
-                painelControle.resetarBotaoSubir(andar);
-            }
-            // Se existem pessoas querendo descer neste andar
-            if (!filas[andar].estaVaziaDescer()) {
-                painelControle.ativarBotaoDescer(andar);
-            } else {
-                painelControle.resetarBotaoDescer(andar);
-            }
+    /**
+     * Coloca nas filas, para o próximo trecho, quem desceu em um andar de baldeação
+     * desde a última chamada. Feito depois que todos os elevadores consolidaram o ciclo,
+     * para que as decisões de despacho não dependam da ordem em que eles se moveram.
+     * @param ciclo Ciclo a partir do qual as pessoas voltam a esperar
+     * @return Número de pessoas que voltaram às filas
+     */
+    public int concluirBaldeacoes(int ciclo) {
+        int quantidade = numBaldeacoesPendentes;
+        for (int i = 0; i < quantidade; i++) {
+            Pessoa pessoa = baldeacoesPendentes[i];
+            baldeacoesPendentes[i] = null;
+            pessoa.iniciarBaldeacao(ciclo);
+            zoneamento.rotear(pessoa);
+            entrarNaFila(pessoa);
+        }
+        numBaldeacoesPendentes = 0;
+        return quantidade;
+    }
+
+    /**
+     * Verifica se há pessoas esperando para voltar às filas depois de uma baldeação.
+     * @return true se concluirBaldeacoes tem trabalho a fazer, false caso contrário
+     */
+    public boolean temBaldeacoesPendentes() {
+        return numBaldeacoesPendentes > 0;
+    }
+
+    // Chamado pelo elevador na consolidação, para quem desceu antes do destino final
+    private void receberBaldeacao(Pessoa pessoa) {
+        resumo.registrarBaldeacao();
+        if (numBaldeacoesPendentes == baldeacoesPendentes.length) {
+            baldeacoesPendentes = Arrays.copyOf(baldeacoesPendentes, baldeacoesPendentes.length * 2);
+        }
+        baldeacoesPendentes[numBaldeacoesPendentes++] = pessoa;
+    }
+
+    private void entrarNaFila(Pessoa pessoa) {
+        if (!filas[pessoa.getAndarOrigem()].inserir(pessoa)) {
+            ouvinte.falhaInsercao(pessoa);
+            return;
+        }
+        registrarNaFila(pessoa);
+    }
+
+    // Avisa o previsor, o zoneamento e a estratégia de despacho de quem entrou na fila
+    private void registrarNaFila(Pessoa pessoa) {
+        if (previsor != null) {
+            previsor.registrarChamada(pessoa.getAndarOrigem(), pessoa.getAndarDestino() > pessoa.getAndarOrigem(),
+                                      tempoAtual);
+        }
+        if (zoneamento != null) {
+            zoneamento.entrouNaFila(pessoa);
+            estrategias[pessoa.getZona()].chamadaRegistrada(pessoa);
+        } else {
+            estrategias[0].chamadaRegistrada(pessoa);
+        }
+    }
+
+    /**
+     * Encerra as threads usadas para mover os elevadores em paralelo, se houver.
+     */
+    public void encerrar() {
+        if (pool != null) {
+            pool.shutdown();
         }
     }
 
@@ -113,10 +443,71 @@ public class ControladorElevadores {
         return filas;
     }
 
+    /**
+     * Retorna a entrada de chamadas para outras threads (leitores de registros,
+     * conexões de rede, geradores de carga). As pessoas registradas entram nas
+     * filas no início do próximo ciclo.
+     */
+    public FilaChamadasConcorrente getEntradaConcorrente() {
+        return entradaConcorrente;
+    }
+
+    public IndiceChamadas getIndiceChamadas() {
+        return indiceChamadas;
+    }
+
     public PainelControle getPainelControle() {
         return painelControle;
     }
 
+    /**
+     * Retorna a estratégia de despacho dos elevadores; com zoneamento, a da primeira zona.
+     */
+    public EstrategiaDespacho getEstrategia() {
+        return estrategias[0];
+    }
+
+    /**
+     * Retorna a estratégia de despacho dos elevadores de uma zona.
+     * @param zona Zona, ou 0 sem zoneamento
+     */
+    public EstrategiaDespacho getEstrategia(int zona) {
+        return estrategias[zona];
+    }
+
+    /**
+     * Retorna o zoneamento do prédio.
+     * @return Zoneamento, ou null se todos os elevadores atendem todos os andares
+     */
+    public Zoneamento getZoneamento() {
+        return zoneamento;
+    }
+
+    /**
+     * Retorna a política de estacionamento dos elevadores ociosos.
+     * @return Política de estacionamento, ou null se os elevadores ficam onde param
+     */
+    public PoliticaEstacionamento getPoliticaEstacionamento() {
+        return estacionamento;
+    }
+
+    /**
+     * Retorna o previsor de chegadas, alimentado com cada pessoa que entra em uma fila,
+     * para consulta pelo despacho e pelo estacionamento.
+     * @return Previsor de chegadas, ou null se nenhuma política usa previsões
+     */
+    public PrevisorChegadas getPrevisor() {
+        return previsor;
+    }
+
+    /**
+     * Retorna o gerador do tráfego de escritório, com a tabela de taxas do dia.
+     * @return Gerador de tráfego, ou null no tráfego uniforme
+     */
+    public GeradorTrafego getGeradorTrafego() {
+        return trafego;
+    }
+
     public ResumoSimulacao getResumo() {
         return resumo;
     }
@@ -124,4 +515,33 @@ public class ControladorElevadores {
     public void imprimirResumoFinal() {
         resumo.imprimirResumo();
     }
+
+    /**
+     * Executa as fases de parada e movimento de um intervalo de elevadores,
+     * dividindo o intervalo entre as threads do pool.
+     */
+    private class PassoElevadores extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int ELEVADORES_POR_TAREFA = 4;
+        private final int inicio;
+        private final int fim;
+
+        private PassoElevadores(int inicio, int fim) {
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio <= ELEVADORES_POR_TAREFA) {
+                for (int i = inicio; i < fim; i++) {
+                    elevadores[i].executarParada();
+                    elevadores[i].executarMovimento();
+                }
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            invokeAll(new PassoElevadores(inicio, meio), new PassoElevadores(meio, fim));
+        }
+    }
 }
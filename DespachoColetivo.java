@@ -0,0 +1,197 @@
+/**
+ * Controle coletivo (LOOK): o elevador anda um andar por ciclo e mantém o sentido
+ * enquanto houver algo à frente, seja destino de passageiro a bordo, seja botão
+ * pressionado em um andar adiante. Em cada andar embarca só quem vai no mesmo
+ * sentido, de modo que atende as chamadas pelo caminho em vez de cruzar o prédio
+ * sem parar, e só inverte quando não resta nada à frente.
+ *
+ * Os botões são lidos do painel, que acompanha as filas; as consultas usam os
+ * bitsets do painel e da cabine e não percorrem os andares.
+ */
+public class DespachoColetivo implements EstrategiaDespacho {
+    private final PainelControle painel;
+
+    /**
+     * Construtor da estratégia coletiva.
+     * @param painel Painel com os botões de chamada do prédio, ou da zona dos elevadores
+     */
+    public DespachoColetivo(PainelControle painel) {
+        this.painel = painel;
+    }
+
+    @Override
+    public int escolherSentidoEmbarque(Elevador elevador, FilaPrioridadeDupla filaAndar) {
+        // Os botões do painel acompanham a fila; com zonas, só quem espera a zona do elevador
+        int andar = elevador.getAndarAtual();
+        return escolherSentidoEmbarque(elevador, painel.getChamadas(true).contem(andar),
+                                       painel.getChamadas(false).contem(andar));
+    }
+
+    @Override
+    public int escolherChamada(Elevador elevador, FilaPrioridadeDupla[] filas, IndiceChamadas indice) {
+        int andar = elevador.getAndarAtual();
+        int direcao = elevador.getDirecao();
+        if (direcao == Elevador.DIRECAO_PARADO) {
+            return chamadaMaisProxima(elevador, andar);
+        }
+
+        boolean subindo = direcao == Elevador.DIRECAO_SUBINDO;
+        int alvo = chamadaAFrente(elevador, andar, subindo);
+        return alvo != -1 ? alvo : chamadaAFrente(elevador, andar, !subindo);
+    }
+
+    @Override
+    public int escolherSentido(Elevador elevador) {
+        int andar = elevador.getAndarAtual();
+        boolean acima = temAlvo(elevador, andar, true);
+        boolean abaixo = temAlvo(elevador, andar, false);
+
+        int direcao = elevador.getDirecao();
+        if (direcao == Elevador.DIRECAO_SUBINDO && acima) return Elevador.DIRECAO_SUBINDO;
+        if (direcao == Elevador.DIRECAO_DESCENDO && abaixo) return Elevador.DIRECAO_DESCENDO;
+        if (direcao == Elevador.DIRECAO_DESCENDO) {
+            return acima ? Elevador.DIRECAO_SUBINDO : Elevador.DIRECAO_PARADO;
+        }
+        return abaixo ? Elevador.DIRECAO_DESCENDO : (acima ? Elevador.DIRECAO_SUBINDO : Elevador.DIRECAO_PARADO);
+    }
+
+    @Override
+    public boolean isViagemDireta() {
+        return false;
+    }
+
+    /**
+     * Retorna o painel com os botões de chamada do prédio.
+     * @return Painel de controle
+     */
+    protected PainelControle getPainel() {
+        return painel;
+    }
+
+    /**
+     * Retorna as chamadas de um sentido que o elevador deve atender.
+     * No controle coletivo são todos os botões do painel.
+     * @param elevador Elevador que consulta as chamadas
+     * @param subir true para as chamadas de subida, false para as de descida
+     * @return Conjunto de andares chamados, que não deve ser alterado
+     */
+    protected ConjuntoAndares getChamadas(Elevador elevador, boolean subir) {
+        return painel.getChamadas(subir);
+    }
+
+    /**
+     * Escolhe o sentido do embarque a partir de quem o elevador pode levar no andar:
+     * segue no sentido atual enquanto houver algo à frente e inverte no último andar.
+     * @param elevador Elevador parado no andar
+     * @param querSubir Se há quem suba e possa embarcar neste elevador
+     * @param querDescer Se há quem desça e possa embarcar neste elevador
+     * @return Elevador.DIRECAO_SUBINDO ou DIRECAO_DESCENDO
+     */
+    protected int escolherSentidoEmbarque(Elevador elevador, boolean querSubir, boolean querDescer) {
+        int andar = elevador.getAndarAtual();
+        switch (elevador.getDirecao()) {
+            case Elevador.DIRECAO_SUBINDO:
+                if (querSubir || temAlvo(elevador, andar, true)) return Elevador.DIRECAO_SUBINDO;
+                return querDescer ? Elevador.DIRECAO_DESCENDO : Elevador.DIRECAO_SUBINDO;
+            case Elevador.DIRECAO_DESCENDO:
+                if (querDescer || temAlvo(elevador, andar, false)) return Elevador.DIRECAO_DESCENDO;
+                return querSubir ? Elevador.DIRECAO_SUBINDO : Elevador.DIRECAO_DESCENDO;
+            default:
+                return querSubir || !querDescer ? Elevador.DIRECAO_SUBINDO : Elevador.DIRECAO_DESCENDO;
+        }
+    }
+
+    /**
+     * Estima quantos andares o elevador percorre até uma chamada seguindo o percurso
+     * do controle coletivo: direto, se ela estiver à frente no mesmo sentido, ou até o
+     * último compromisso no sentido atual (destino a bordo ou chamada a atender) e de
+     * volta, passando se preciso pelo último compromisso do outro sentido.
+     * @param elevador Elevador avaliado
+     * @param andar Andar da chamada
+     * @param subir true para a chamada de subida, false para a de descida
+     * @return Número de andares do percurso
+     */
+    protected int estimarDistancia(Elevador elevador, int andar, boolean subir) {
+        int atual = elevador.getAndarAtual();
+        int direcao = elevador.getDirecao();
+        if (direcao == Elevador.DIRECAO_PARADO) {
+            return Math.abs(andar - atual);
+        }
+
+        if (direcao == Elevador.DIRECAO_SUBINDO) {
+            if (subir && andar >= atual) return andar - atual;
+            int topo = Math.max(Math.max(atual, andar), maisAlto(elevador));
+            if (!subir) return (topo - atual) + (topo - andar);
+            int base = Math.min(andar, maisBaixo(elevador));
+            return (topo - atual) + (topo - base) + (andar - base);
+        }
+
+        if (!subir && andar <= atual) return atual - andar;
+        int base = Math.min(Math.min(atual, andar), maisBaixo(elevador));
+        if (subir) return (atual - base) + (andar - base);
+        int topo = Math.max(andar, maisAlto(elevador));
+        return (atual - base) + (topo - base) + (topo - andar);
+    }
+
+    // Há algo à frente: destino de passageiro ou, se ainda cabe alguém, chamada a atender
+    private boolean temAlvo(Elevador elevador, int andar, boolean subindo) {
+        ConjuntoAndares destinos = elevador.getChamadasCabine();
+        int destino = subindo ? destinos.proximoAcima(andar + 1) : destinos.proximoAbaixo(andar - 1);
+        if (destino != -1) return true;
+        return elevador.getNumPassageiros() < elevador.getCapacidade()
+               && proximaChamada(elevador, andar, subindo) != -1;
+    }
+
+    // Próxima parada à frente de um elevador vazio: a chamada do mesmo sentido mais
+    // próxima ou, se não houver, a chamada do sentido oposto mais distante, onde ele inverte
+    private int chamadaAFrente(Elevador elevador, int andar, boolean subindo) {
+        if (subindo) {
+            int mesmoSentido = getChamadas(elevador, true).proximoAcima(andar + 1);
+            if (mesmoSentido != -1) return mesmoSentido;
+            int maisAlto = getChamadas(elevador, false).proximoAbaixo(Integer.MAX_VALUE);
+            return maisAlto > andar ? maisAlto : -1;
+        }
+        int mesmoSentido = getChamadas(elevador, false).proximoAbaixo(andar - 1);
+        if (mesmoSentido != -1) return mesmoSentido;
+        int maisBaixo = getChamadas(elevador, true).proximoAcima(0);
+        return maisBaixo != -1 && maisBaixo < andar ? maisBaixo : -1;
+    }
+
+    // Chamada mais próxima em um sentido, de qualquer botão, sem contar o andar atual
+    private int proximaChamada(Elevador elevador, int andar, boolean subindo) {
+        ConjuntoAndares subir = getChamadas(elevador, true);
+        ConjuntoAndares descer = getChamadas(elevador, false);
+        if (subindo) {
+            int a = subir.proximoAcima(andar + 1);
+            int b = descer.proximoAcima(andar + 1);
+            return a == -1 ? b : (b == -1 ? a : Math.min(a, b));
+        }
+        return Math.max(subir.proximoAbaixo(andar - 1), descer.proximoAbaixo(andar - 1));
+    }
+
+    // Andar mais alto entre os destinos a bordo e as chamadas a atender, ou -1
+    private int maisAlto(Elevador elevador) {
+        return Math.max(elevador.getChamadasCabine().proximoAbaixo(Integer.MAX_VALUE),
+                        Math.max(getChamadas(elevador, true).proximoAbaixo(Integer.MAX_VALUE),
+                                 getChamadas(elevador, false).proximoAbaixo(Integer.MAX_VALUE)));
+    }
+
+    // Andar mais baixo entre os destinos a bordo e as chamadas a atender, ou MAX_VALUE
+    private int maisBaixo(Elevador elevador) {
+        return Math.min(semChamada(elevador.getChamadasCabine().proximoAcima(0)),
+                        Math.min(semChamada(getChamadas(elevador, true).proximoAcima(0)),
+                                 semChamada(getChamadas(elevador, false).proximoAcima(0))));
+    }
+
+    private static int semChamada(int andar) {
+        return andar == -1 ? Integer.MAX_VALUE : andar;
+    }
+
+    private int chamadaMaisProxima(Elevador elevador, int andar) {
+        int acima = proximaChamada(elevador, andar, true);
+        int abaixo = proximaChamada(elevador, andar, false);
+        if (acima == -1) return abaixo;
+        if (abaixo == -1) return acima;
+        return acima - andar <= andar - abaixo ? acima : abaixo;
+    }
+}
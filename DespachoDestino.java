@@ -0,0 +1,206 @@
+/**
+ * Despacho por destino: a pessoa informa o andar de destino ao chamar e recebe na
+ * hora o elevador que deve tomar. O elevador escolhido é o de menor custo estimado,
+ * que soma o tempo até o andar de origem, as paradas já assumidas e o atraso que
+ * cada parada nova causa a quem já está a bordo ou designado. Como uma parada que
+ * o elevador já vai fazer não custa nada, pessoas com o mesmo destino (ou destinos
+ * já atendidos pelo elevador) tendem a ir juntas, e cada viagem para em menos andares.
+ *
+ * Cada elevador anda como no controle coletivo, mas só para nos andares onde há
+ * pessoas designadas a ele e nos destinos de quem está a bordo, e só embarca as
+ * pessoas designadas a ele. A designação de cada chamada custa uma estimativa por
+ * elevador, feita com contadores e bitsets (algumas palavras long por elevador).
+ */
+public class DespachoDestino extends DespachoColetivo {
+    // Tempo estimado para cada passageiro a bordo embarcar ou desembarcar, em segundos
+    private static final int SEGUNDOS_POR_PASSAGEIRO = 2;
+
+    private final Elevador[] elevadores;
+    private final int numeroAndares;
+    private final int tempoAndar;
+    private final long penalidadeCheio;
+
+    // Pessoas designadas esperando, por elevador, andar de origem e sentido
+    private final int[] esperando;
+    private final ConjuntoAndares[] embarquesSubir;
+    private final ConjuntoAndares[] embarquesDescer;
+    // Destinos das pessoas designadas que ainda não embarcaram, por elevador
+    private final int[] destinosPrevistos;
+    private final ConjuntoAndares[] paradasPrevistas;
+    private final int[] designadas;
+
+    private long designacoes;
+    private long redesignacoes;
+
+    /**
+     * Construtor do despacho por destino.
+     * @param painel Painel com os botões de chamada do prédio, ou da zona dos elevadores
+     * @param elevadores Elevadores do grupo (todos, ou os de uma zona), com identificadores consecutivos
+     * @param config Configuração, usada para o número de andares e o tempo de viagem
+     */
+    public DespachoDestino(PainelControle painel, Elevador[] elevadores, Configuracao config) {
+        super(painel);
+        this.elevadores = elevadores;
+        this.numeroAndares = config.getNumeroAndares();
+        this.tempoAndar = (config.getTempoMinimoViagem() + config.getTempoMaximoViagem()) / 2;
+        // Um elevador lotado só recebe a pessoa se todos estiverem lotados
+        this.penalidadeCheio = 2L * numeroAndares * Math.max(1, tempoAndar) + Elevador.TEMPO_PARADA_SEGUNDOS;
+        this.esperando = new int[elevadores.length * numeroAndares * 2];
+        this.destinosPrevistos = new int[elevadores.length * numeroAndares];
+        this.embarquesSubir = new ConjuntoAndares[elevadores.length];
+        this.embarquesDescer = new ConjuntoAndares[elevadores.length];
+        this.paradasPrevistas = new ConjuntoAndares[elevadores.length];
+        this.designadas = new int[elevadores.length];
+        for (int i = 0; i < elevadores.length; i++) {
+            embarquesSubir[i] = new ConjuntoAndares(numeroAndares);
+            embarquesDescer[i] = new ConjuntoAndares(numeroAndares);
+            paradasPrevistas[i] = new ConjuntoAndares(numeroAndares);
+        }
+    }
+
+    @Override
+    public boolean isEmbarqueDesignado() {
+        return true;
+    }
+
+    @Override
+    public void chamadaRegistrada(Pessoa pessoa) {
+        designar(pessoa, melhorElevador(pessoa));
+        designacoes++;
+    }
+
+    @Override
+    public int escolherSentidoEmbarque(Elevador elevador, FilaPrioridadeDupla filaAndar) {
+        int k = indice(elevador);
+        int andar = elevador.getAndarAtual();
+        boolean podeSubir = esperando[posicao(k, andar, true)] > 0;
+        boolean podeDescer = esperando[posicao(k, andar, false)] > 0;
+        if (!podeSubir && !podeDescer) return SEM_EMBARQUE;
+
+        int sentido = escolherSentidoEmbarque(elevador, podeSubir, podeDescer);
+        boolean permitido = sentido == Elevador.DIRECAO_SUBINDO ? podeSubir : podeDescer;
+        return permitido ? sentido : SEM_EMBARQUE;
+    }
+
+    @Override
+    public void embarqueConcluido(Elevador elevador, FilaPrioridadeDupla filaAndar, int sentidoEmbarque) {
+        int k = indice(elevador);
+        Pessoa[] reservados = elevador.getReservados();
+        for (int i = 0; i < elevador.getNumReservados(); i++) {
+            contar(k, reservados[i], -1);
+        }
+
+        // Não coube todo mundo: quem ficou passa a outro elevador, se algum for melhor
+        // que este, já lotado
+        if (sentidoEmbarque != Elevador.DIRECAO_SUBINDO && sentidoEmbarque != Elevador.DIRECAO_DESCENDO) return;
+        boolean subir = sentidoEmbarque == Elevador.DIRECAO_SUBINDO;
+        if (esperando[posicao(k, elevador.getAndarAtual(), subir)] == 0) return;
+
+        for (Pessoa pessoa : subir ? filaAndar.getArraySubir() : filaAndar.getArrayDescer()) {
+            if (pessoa.getElevadorDesignado() == elevador.getId()) {
+                int novo = melhorElevador(pessoa);
+                if (novo != k) {
+                    contar(k, pessoa, -1);
+                    designar(pessoa, novo);
+                    redesignacoes++;
+                }
+            }
+        }
+    }
+
+    @Override
+    protected ConjuntoAndares getChamadas(Elevador elevador, boolean subir) {
+        int k = indice(elevador);
+        return subir ? embarquesSubir[k] : embarquesDescer[k];
+    }
+
+    /**
+     * Retorna quantas pessoas receberam um elevador ao chamar.
+     * @return Número de designações
+     */
+    public long getDesignacoes() {
+        return designacoes;
+    }
+
+    /**
+     * Retorna quantas pessoas trocaram de elevador por não caberem no designado.
+     * @return Número de redesignações
+     */
+    public long getRedesignacoes() {
+        return redesignacoes;
+    }
+
+    /**
+     * Estima o custo, em segundos, de designar uma pessoa a um elevador: o percurso do
+     * controle coletivo até a origem, as paradas já assumidas, e cada parada nova (na
+     * origem ou no destino) multiplicada pelo número de pessoas que ela atrasa.
+     * @param k Índice do elevador
+     * @param pessoa Pessoa que chamou
+     * @return Custo estimado em segundos
+     */
+    public long estimarCusto(int k, Pessoa pessoa) {
+        Elevador elevador = elevadores[k];
+        int origem = pessoa.getAndarOrigem();
+        int destino = pessoa.getAndarDestino();
+        boolean subir = destino > origem;
+        ConjuntoAndares cabine = elevador.getChamadasCabine();
+
+        int paradas = cabine.getQuantidade() + embarquesSubir[k].getQuantidade() + embarquesDescer[k].getQuantidade();
+        int paradasNovas = (esperando[posicao(k, origem, subir)] > 0 ? 0 : 1)
+                           + (cabine.contem(destino) || paradasPrevistas[k].contem(destino) ? 0 : 1);
+        int carga = elevador.getNumPassageiros() + designadas[k];
+
+        long custo = (long) estimarDistancia(elevador, origem, subir) * tempoAndar
+                     + (long) paradas * Elevador.TEMPO_PARADA_SEGUNDOS
+                     + (long) paradasNovas * Elevador.TEMPO_PARADA_SEGUNDOS * (1 + carga)
+                     + (long) carga * SEGUNDOS_POR_PASSAGEIRO;
+        if (carga >= elevador.getCapacidade()) {
+            custo += penalidadeCheio;
+        }
+        return custo;
+    }
+
+    // Elevador de menor custo; em empate, o de menor índice
+    private int melhorElevador(Pessoa pessoa) {
+        int melhor = -1;
+        long menorCusto = Long.MAX_VALUE;
+        for (int k = 0; k < elevadores.length; k++) {
+            long custo = estimarCusto(k, pessoa);
+            if (custo < menorCusto) {
+                menorCusto = custo;
+                melhor = k;
+            }
+        }
+        return melhor;
+    }
+
+    private void designar(Pessoa pessoa, int k) {
+        pessoa.setElevadorDesignado(elevadores[k].getId());
+        contar(k, pessoa, 1);
+    }
+
+    // Soma (ou subtrai) uma pessoa designada nos contadores e bitsets do elevador
+    private void contar(int k, Pessoa pessoa, int delta) {
+        int origem = pessoa.getAndarOrigem();
+        int destino = pessoa.getAndarDestino();
+        boolean subir = destino > origem;
+
+        int p = posicao(k, origem, subir);
+        esperando[p] += delta;
+        (subir ? embarquesSubir : embarquesDescer)[k].definir(origem, esperando[p] > 0);
+
+        int d = k * numeroAndares + destino;
+        destinosPrevistos[d] += delta;
+        paradasPrevistas[k].definir(destino, destinosPrevistos[d] > 0);
+        designadas[k] += delta;
+    }
+
+    private int posicao(int k, int andar, boolean subir) {
+        return ((k * numeroAndares + andar) << 1) + (subir ? 0 : 1);
+    }
+
+    // Posição do elevador no grupo, cujos identificadores são consecutivos
+    private int indice(Elevador elevador) {
+        return elevador.getId() - elevadores[0].getId();
+    }
+}
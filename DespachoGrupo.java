@@ -0,0 +1,236 @@
+/**
+ * Despacho em grupo: um controlador central atribui cada chamada de andar
+ * (andar e sentido) a exatamente um elevador, o de menor tempo estimado de
+ * atendimento. Cada elevador anda como no controle coletivo, mas só persegue e
+ * só para nas chamadas atribuídas a ele e nos destinos de seus passageiros, de
+ * modo que dois elevadores vazios não correm para o mesmo andar.
+ *
+ * A atribuição é incremental: uma chamada é avaliada quando o botão acende e só
+ * volta a ser avaliada quando o elevador dono sai do andar deixando gente na fila
+ * ou quando um elevador ocioso pode atendê-la mais cedo que o dono. Cada avaliação
+ * custa uma estimativa por elevador, feita com consultas aos bitsets de chamadas
+ * (algumas palavras long por elevador), sem percorrer andares nem filas.
+ */
+public class DespachoGrupo extends DespachoColetivo implements OuvinteTransicaoFila {
+    // Tempo estimado para cada passageiro a bordo embarcar ou desembarcar, em segundos
+    private static final int SEGUNDOS_POR_PASSAGEIRO = 2;
+    private static final int SEM_DONO = -1;
+
+    private final Elevador[] elevadores;
+    private final int tempoAndar;
+    private final long penalidadeCheio;
+
+    // Elevador responsável por cada chamada, por andar e sentido
+    private final int[] donoSubir;
+    private final int[] donoDescer;
+    // Chamadas atribuídas a cada elevador e quantas são
+    private final ConjuntoAndares[] atribuidasSubir;
+    private final ConjuntoAndares[] atribuidasDescer;
+    private final int[] numAtribuidas;
+
+    private long atribuicoes;
+    private long reatribuicoes;
+
+    /**
+     * Construtor do despacho em grupo.
+     * @param painel Painel com os botões de chamada do prédio, ou da zona dos elevadores
+     * @param elevadores Elevadores do grupo (todos, ou os de uma zona), com identificadores consecutivos
+     * @param config Configuração, usada para o número de andares e o tempo de viagem
+     */
+    public DespachoGrupo(PainelControle painel, Elevador[] elevadores, Configuracao config) {
+        super(painel);
+        int numeroAndares = config.getNumeroAndares();
+        this.elevadores = elevadores;
+        this.tempoAndar = (config.getTempoMinimoViagem() + config.getTempoMaximoViagem()) / 2;
+        // Um elevador lotado só recebe a chamada se todos estiverem lotados
+        this.penalidadeCheio = 2L * numeroAndares * Math.max(1, tempoAndar) + Elevador.TEMPO_PARADA_SEGUNDOS;
+        this.donoSubir = new int[numeroAndares];
+        this.donoDescer = new int[numeroAndares];
+        this.atribuidasSubir = new ConjuntoAndares[elevadores.length];
+        this.atribuidasDescer = new ConjuntoAndares[elevadores.length];
+        this.numAtribuidas = new int[elevadores.length];
+        for (int i = 0; i < numeroAndares; i++) {
+            donoSubir[i] = SEM_DONO;
+            donoDescer[i] = SEM_DONO;
+        }
+        for (int i = 0; i < elevadores.length; i++) {
+            atribuidasSubir[i] = new ConjuntoAndares(numeroAndares);
+            atribuidasDescer[i] = new ConjuntoAndares(numeroAndares);
+        }
+    }
+
+    @Override
+    public void filaOcupada(int andar, boolean subir) {
+        atribuir(andar, subir, melhorElevador(andar, subir, SEM_DONO));
+        atribuicoes++;
+    }
+
+    @Override
+    public void filaEsvaziada(int andar, boolean subir) {
+        atribuir(andar, subir, SEM_DONO);
+    }
+
+    @Override
+    public int escolherSentidoEmbarque(Elevador elevador, FilaPrioridadeDupla filaAndar) {
+        int andar = elevador.getAndarAtual();
+        int k = indice(elevador);
+        // Com a porta aberta para um passageiro descer, embarca quem estiver esperando
+        boolean paradaCabine = elevador.getChamadasCabine().contem(andar);
+        boolean podeSubir = donoSubir[andar] == k || (paradaCabine && temChamada(andar, true));
+        boolean podeDescer = donoDescer[andar] == k || (paradaCabine && temChamada(andar, false));
+        if (!podeSubir && !podeDescer) return SEM_EMBARQUE;
+
+        int sentido = escolherSentidoEmbarque(elevador, podeSubir, podeDescer);
+        boolean permitido = sentido == Elevador.DIRECAO_SUBINDO ? podeSubir : podeDescer;
+        return permitido ? sentido : SEM_EMBARQUE;
+    }
+
+    @Override
+    public void embarqueConcluido(Elevador elevador, FilaPrioridadeDupla filaAndar, int sentidoEmbarque) {
+        int andar = elevador.getAndarAtual();
+        int k = indice(elevador);
+        // O dono embarcou o que coube e ainda ficou gente: a chamada passa a outro elevador
+        if (sentidoEmbarque == Elevador.DIRECAO_SUBINDO && donoSubir[andar] == k && temChamada(andar, true)) {
+            reatribuir(andar, true, k);
+        } else if (sentidoEmbarque == Elevador.DIRECAO_DESCENDO && donoDescer[andar] == k
+                   && temChamada(andar, false)) {
+            reatribuir(andar, false, k);
+        }
+    }
+
+    @Override
+    public int escolherChamada(Elevador elevador, FilaPrioridadeDupla[] filas, IndiceChamadas indice) {
+        int k = indice(elevador);
+        if (numAtribuidas[k] == 0) {
+            assumirChamadasProximas(k);
+        }
+        return super.escolherChamada(elevador, filas, indice);
+    }
+
+    @Override
+    protected ConjuntoAndares getChamadas(Elevador elevador, boolean subir) {
+        int k = indice(elevador);
+        return subir ? atribuidasSubir[k] : atribuidasDescer[k];
+    }
+
+    /**
+     * Retorna o elevador responsável por uma chamada.
+     * @param andar Andar da chamada
+     * @param subir true para a chamada de subida, false para a de descida
+     * @return Posição do elevador no grupo, ou -1 se não houver chamada
+     */
+    public int getDono(int andar, boolean subir) {
+        return subir ? donoSubir[andar] : donoDescer[andar];
+    }
+
+    /**
+     * Retorna quantas chamadas foram atribuídas ao acender o botão.
+     * @return Número de atribuições
+     */
+    public long getAtribuicoes() {
+        return atribuicoes;
+    }
+
+    /**
+     * Retorna quantas chamadas mudaram de elevador depois de atribuídas.
+     * @return Número de reatribuições
+     */
+    public long getReatribuicoes() {
+        return reatribuicoes;
+    }
+
+    /**
+     * Estima em segundos quanto um elevador levaria para atender uma chamada: o
+     * percurso do controle coletivo até ela, o tempo das paradas já assumidas
+     * (destinos a bordo e chamadas atribuídas) e do embarque e desembarque dos
+     * passageiros, com uma penalidade para o elevador lotado.
+     * @param k Índice do elevador
+     * @param andar Andar da chamada
+     * @param subir true para a chamada de subida, false para a de descida
+     * @return Tempo estimado em segundos
+     */
+    public long estimarTempo(int k, int andar, boolean subir) {
+        Elevador elevador = elevadores[k];
+        int paradas = elevador.getChamadasCabine().getQuantidade() + numAtribuidas[k];
+
+        int distancia = estimarDistancia(elevador, andar, subir);
+        long tempo = (long) distancia * tempoAndar + (long) paradas * Elevador.TEMPO_PARADA_SEGUNDOS
+                     + (long) elevador.getNumPassageiros() * SEGUNDOS_POR_PASSAGEIRO;
+        if (elevador.getNumPassageiros() >= elevador.getCapacidade()) {
+            tempo += penalidadeCheio;
+        }
+        return tempo;
+    }
+
+    // Elevador de menor tempo estimado; em empate, o de menor índice
+    private int melhorElevador(int andar, boolean subir, int excluido) {
+        int melhor = SEM_DONO;
+        long menorTempo = Long.MAX_VALUE;
+        for (int k = 0; k < elevadores.length; k++) {
+            if (k == excluido) continue;
+            long tempo = estimarTempo(k, andar, subir);
+            if (tempo < menorTempo) {
+                menorTempo = tempo;
+                melhor = k;
+            }
+        }
+        return melhor;
+    }
+
+    // O botão do painel acompanha a fila: aceso enquanto houver quem espere, no sentido,
+    // por estes elevadores
+    private boolean temChamada(int andar, boolean subir) {
+        return getPainel().getChamadas(subir).contem(andar);
+    }
+
+    private void reatribuir(int andar, boolean subir, int excluido) {
+        int novo = melhorElevador(andar, subir, excluido);
+        if (novo != SEM_DONO) {
+            atribuir(andar, subir, novo);
+            reatribuicoes++;
+        }
+    }
+
+    // Um elevador ocioso assume as chamadas mais próximas que ele atende antes do dono atual
+    private void assumirChamadasProximas(int k) {
+        int atual = elevadores[k].getAndarAtual();
+        PainelControle painel = getPainel();
+        assumirSeMelhor(k, atual);
+        assumirSeMelhor(k, painel.getProximoAndarChamado(atual, true));
+        assumirSeMelhor(k, painel.getProximoAndarChamado(atual, false));
+    }
+
+    private void assumirSeMelhor(int k, int andar) {
+        if (andar == -1) return;
+        for (int s = 0; s < 2; s++) {
+            boolean subir = s == 0;
+            int dono = getDono(andar, subir);
+            if (dono != SEM_DONO && dono != k && estimarTempo(k, andar, subir) < estimarTempo(dono, andar, subir)) {
+                atribuir(andar, subir, k);
+                reatribuicoes++;
+            }
+        }
+    }
+
+    private void atribuir(int andar, boolean subir, int novo) {
+        int[] donos = subir ? donoSubir : donoDescer;
+        ConjuntoAndares[] atribuidas = subir ? atribuidasSubir : atribuidasDescer;
+        int anterior = donos[andar];
+        if (anterior == novo) return;
+
+        if (anterior != SEM_DONO) {
+            atribuidas[anterior].definir(andar, false);
+            numAtribuidas[anterior]--;
+        }
+        donos[andar] = novo;
+        if (novo != SEM_DONO) {
+            atribuidas[novo].definir(andar, true);
+            numAtribuidas[novo]++;
+        }
+    }
+
+    // Posição do elevador no grupo, cujos identificadores são consecutivos
+    private int indice(Elevador elevador) {
+        return elevador.getId() - elevadores[0].getId();
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Estratégia original do simulador: o elevador vazio vai direto até o andar com
+ * pessoas esperando mais próximo (dando preferência a andares com pessoas
+ * prioritárias), embarca quem estiver no andar, subindo ou descendo, e com
+ * passageiros segue o sentido dos destinos a bordo, invertendo quando não há
+ * mais destinos à frente.
+ *
+ * Com zoneamento, cada zona tem sua instância, que lê as chamadas do painel da zona
+ * em vez do índice do prédio; nesse caso não há preferência por prioritários, pois
+ * o painel só sabe que há alguém esperando.
+ */
+public class DespachoMaisProximo implements EstrategiaDespacho {
+    private final PainelControle painel;    // null quando as chamadas vêm do índice ou das filas
+
+    /**
+     * Construtor da estratégia para elevadores que atendem todos os andares.
+     */
+    public DespachoMaisProximo() {
+        this(null);
+    }
+
+    /**
+     * Construtor da estratégia para os elevadores de uma zona.
+     * @param painel Painel da zona, aceso só por quem espera a zona
+     */
+    public DespachoMaisProximo(PainelControle painel) {
+        this.painel = painel;
+    }
+
+    @Override
+    public int escolherSentidoEmbarque(Elevador elevador, FilaPrioridadeDupla filaAndar) {
+        return Elevador.DIRECAO_PARADO;
+    }
+
+    @Override
+    public int escolherChamada(Elevador elevador, FilaPrioridadeDupla[] filas, IndiceChamadas indice) {
+        int andarAtual = elevador.getAndarAtual();
+        if (painel != null) {
+            return chamadaMaisProxima(painel, andarAtual);
+        }
+        if (indice != null) {
+            int melhorAndar = indice.andarMaisProximoComPrioridade(andarAtual);
+            return melhorAndar != -1 ? melhorAndar : indice.andarMaisProximoComEspera(andarAtual);
+        }
+
+        int melhorAndar = encontrarAndarComPrioridade(filas, andarAtual);
+        if (melhorAndar == -1) {
+            melhorAndar = encontrarAndarMaisProximo(filas, andarAtual);
+        }
+        return melhorAndar;
+    }
+
+    @Override
+    public int escolherSentido(Elevador elevador) {
+        if (elevador.getNumPassageiros() == 0) {
+            return Elevador.DIRECAO_PARADO;
+        }
+
+        int andarAtual = elevador.getAndarAtual();
+        ConjuntoAndares destinos = elevador.getChamadasCabine();
+        boolean temParaCima = destinos.proximoAcima(andarAtual + 1) != -1;
+        boolean temParaBaixo = destinos.proximoAbaixo(andarAtual - 1) != -1;
+
+        int direcao = elevador.getDirecao();
+        if (direcao == Elevador.DIRECAO_PARADO) {
+            return temParaCima ? Elevador.DIRECAO_SUBINDO
+                               : (temParaBaixo ? Elevador.DIRECAO_DESCENDO : Elevador.DIRECAO_PARADO);
+        } else if (direcao == Elevador.DIRECAO_SUBINDO && !temParaCima) {
+            return temParaBaixo ? Elevador.DIRECAO_DESCENDO : Elevador.DIRECAO_PARADO;
+        } else if (direcao == Elevador.DIRECAO_DESCENDO && !temParaBaixo) {
+            return temParaCima ? Elevador.DIRECAO_SUBINDO : Elevador.DIRECAO_PARADO;
+        }
+        return direcao;
+    }
+
+    @Override
+    public boolean isViagemDireta() {
+        return true;
+    }
+
+    // Andar chamado mais próximo, contando o atual; em empate, o de baixo
+    private static int chamadaMaisProxima(PainelControle painel, int andarAtual) {
+        if (painel.isAndarChamado(andarAtual)) return andarAtual;
+        int acima = painel.getProximoAndarChamado(andarAtual, true);
+        int abaixo = painel.getProximoAndarChamado(andarAtual, false);
+        if (acima == -1) return abaixo;
+        if (abaixo == -1) return acima;
+        return andarAtual - abaixo <= acima - andarAtual ? abaixo : acima;
+    }
+
+    private static int encontrarAndarComPrioridade(FilaPrioridadeDupla[] filas, int andarAtual) {
+        int melhorAndar = -1;
+        int menorDistancia = Integer.MAX_VALUE;
+
+        for (int andar = 0; andar < filas.length; andar++) {
+            if (filas[andar].temPessoaPrioritaria()) {
+                int distancia = Math.abs(andar - andarAtual);
+                if (distancia < menorDistancia) {
+                    menorDistancia = distancia;
+                    melhorAndar = andar;
+                }
+            }
+        }
+        return melhorAndar;
+    }
+
+    private static int encontrarAndarMaisProximo(FilaPrioridadeDupla[] filas, int andarAtual) {
+        int melhorAndar = -1;
+        int menorDistancia = Integer.MAX_VALUE;
+
+        for (int andar = 0; andar < filas.length; andar++) {
+            if (filas[andar].temPessoasEsperando()) {
+                int distancia = Math.abs(andar - andarAtual);
+                if (distancia < menorDistancia) {
+                    menorDistancia = distancia;
+                    melhorAndar = andar;
+                }
+            }
+        }
+        return melhorAndar;
+    }
+}
@@ -1,17 +1,32 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
 /**
  * Representa um elevador no sistema de simulação.
  * Gerencia o movimento, embarque e desembarque de passageiros.
  */
 public class Elevador {
     // Constantes para direção do elevador
-    private static final int DIRECAO_DESCENDO = -1;
-    private static final int DIRECAO_PARADO = 0;
-    private static final int DIRECAO_SUBINDO = 1;
+    public static final int DIRECAO_DESCENDO = -1;
+    public static final int DIRECAO_PARADO = 0;
+    public static final int DIRECAO_SUBINDO = 1;
+
+    // Tempo de porta aberta em cada parada, em segundos
+    public static final int TEMPO_PARADA_SEGUNDOS = 10;
 
     // Atributos de identificação e configuração
     private final int id;
     private final Configuracao config;
     private final ResumoSimulacao resumo;
+    private final SplittableRandom aleatorio;
+    private OuvinteSimulacao ouvinte;
+    private EstrategiaDespacho estrategia;
+
+    // Zona do elevador; sem zoneamento, zoneamento é null e o elevador atende todos os andares
+    private Zoneamento zoneamento;
+    private int zona = -1;
+    private Consumer<Pessoa> baldeacao;
 
     // Atributos de estado
     private int andarAtual;
@@ -24,6 +39,29 @@ public class Elevador {
     private final int capacidade;
     private final int pesoMaximo;
     private int pesoAtual;
+    private final ConjuntoAndares chamadasCabine;    // destinos dos passageiros a bordo
+
+    // Estado do ciclo em andamento: preenchido na reserva e na execução,
+    // repassado ao resumo e ao ouvinte na consolidação
+    private final Pessoa[] reservados;
+    private int numReservados;
+    private final Pessoa[] desembarcados;
+    private int numDesembarcados;
+    private int destinoCiclo;
+    private int paradasCiclo;
+    private int andarInicioCiclo;
+    private int direcaoInicioCiclo;
+    private int passageirosInicioCiclo;
+    private int pesoInicioCiclo;
+    private int andarPartida;
+    private int direcaoMovimento;
+    private int[] temposPassos;
+    private int numPassos;
+    // Andares com embarque ou desembarque desde que o elevador deixou de estar vazio
+    private int paradasViagem;
+    // Andar para onde o elevador vai quando fica sem chamada, ou -1 para ficar onde está
+    private int andarEstacionamento = -1;
+    private boolean estacionando;
 
     /**
      * Construtor do elevador.
@@ -32,9 +70,21 @@ public class Elevador {
      * @param resumo Objeto para registro de estatísticas
      */
     public Elevador(int id, Configuracao config, ResumoSimulacao resumo) {
+        this(id, config, resumo, new SplittableRandom());
+    }
+
+    /**
+     * Construtor do elevador com gerador aleatório próprio.
+     * @param id Identificador único do elevador
+     * @param config Configurações do sistema
+     * @param resumo Objeto para registro de estatísticas
+     * @param aleatorio Gerador usado para sortear os tempos de viagem
+     */
+    public Elevador(int id, Configuracao config, ResumoSimulacao resumo, SplittableRandom aleatorio) {
         this.id = id;
         this.config = config;
         this.resumo = resumo;
+        this.aleatorio = aleatorio;
         this.andarAtual = 0;
         this.direcao = DIRECAO_PARADO;
         this.capacidade = config.getCapacidadeMaximaPassageiros();
@@ -42,256 +92,411 @@ public class Elevador {
         this.passageiros = new Pessoa[capacidade];
         this.numPassageiros = 0;
         this.pesoAtual = 0;
+        this.chamadasCabine = new ConjuntoAndares(config.getNumeroAndares());
         this.energiaGastaCiclo = 0;
+        this.reservados = new Pessoa[capacidade];
+        this.desembarcados = new Pessoa[capacidade];
+        this.temposPassos = new int[Math.min(config.getNumeroAndares(), 64)];
+        this.destinoCiclo = -1;
+        this.ouvinte = new OuvinteConsole();
+        this.estrategia = new DespachoMaisProximo();
     }
 
     /**
-     * Atende a próxima chamada do elevador, realizando embarque e desembarque.
-     * @param filas Array de filas de espera por andar
+     * Define o ouvinte que recebe os eventos do elevador.
+     * @param ouvinte Ouvinte dos eventos da simulação
      */
-    public void atenderProximo(FilaPrioridadeDupla[] filas) {
-        energiaGastaCiclo = 0;
-        exibirStatusAtual();
+    public void setOuvinte(OuvinteSimulacao ouvinte) {
+        this.ouvinte = ouvinte;
+    }
 
-        int desembarcados = desembarcarPassageiros();
-        if (desembarcados > 0) {
-            registrarParada();
-            System.out.println("Desembarcaram " + desembarcados + " passageiros no andar " + andarAtual);
-        }
+    /**
+     * Define a estratégia que decide quem embarca e para onde o elevador segue.
+     * @param estrategia Estratégia de despacho
+     */
+    public void setEstrategia(EstrategiaDespacho estrategia) {
+        this.estrategia = estrategia;
+    }
 
-        int embarcados = embarcarPassageiros(filas);
-        if (embarcados > 0) {
-            registrarParada();
-            System.out.println("Embarcaram " + embarcados + " passageiros no andar " + andarAtual);
+    /**
+     * Põe o elevador em uma zona: ele passa a embarcar só quem espera a zona e a
+     * entregar a baldeação quem desce antes do destino final. Se o andar atual não é
+     * atendido pela zona, o elevador começa no andar mais baixo que ela atende.
+     * Chamado na montagem do prédio, antes do primeiro ciclo.
+     * @param zoneamento Zoneamento do prédio
+     * @param zona Zona do elevador
+     * @param baldeacao Recebe, na consolidação, quem desceu em um andar de baldeação
+     */
+    public void setZona(Zoneamento zoneamento, int zona, Consumer<Pessoa> baldeacao) {
+        this.zoneamento = zoneamento;
+        this.zona = zona;
+        this.baldeacao = baldeacao;
+        ConjuntoAndares atendidos = zoneamento.getAndaresAtendidos(zona);
+        if (!atendidos.contem(andarAtual)) {
+            andarAtual = atendidos.proximoAcima(0);
         }
+    }
 
-        if (numPassageiros == 0) {
-            int proximoAndar = encontrarProximoAndar(filas);
-            if (proximoAndar != -1) {
-                moverParaAndar(proximoAndar);
-            } else {
-                System.out.println("Nenhuma chamada pendente");
-            }
-        } else {
-            atualizarDirecao();
-            if (direcao != DIRECAO_PARADO) {
-                mover();
-            }
-        }
+    /**
+     * Define o andar onde o elevador estaciona enquanto não tiver chamada. O elevador
+     * desiste do estacionamento assim que recebe passageiros ou uma chamada.
+     * Chamado pela política de estacionamento, antes da fase de reserva.
+     * @param andar Andar de estacionamento, ou -1 para ficar onde está
+     */
+    public void estacionar(int andar) {
+        andarEstacionamento = andar;
     }
 
-    private void exibirStatusAtual() {
-        System.out.println("\n=== Elevador " + id + " ===");
-        System.out.println("Andar atual: " + andarAtual + " | Direção: " + getDirecaoTexto());
-        System.out.println("Passageiros: " + numPassageiros + "/" + capacidade + " | Peso: " + pesoAtual + "/" + pesoMaximo);
+    /**
+     * Verifica se o elevador está vazio e sem chamada, parado ou a caminho do estacionamento.
+     * @return true se a política de estacionamento pode mover o elevador
+     */
+    public boolean isOcioso() {
+        return numPassageiros == 0 && (destinoCiclo == -1 || estacionando);
     }
 
-    private void registrarParada() {
-        resumo.registrarEnergiaGasta(config.getConsumoPorParada());
+    /**
+     * Verifica se o deslocamento do ciclo é para estacionar, sem chamada a atender.
+     * @return true se o destino do ciclo é o andar de estacionamento
+     */
+    public boolean isEstacionando() {
+        return estacionando;
     }
 
-    private int desembarcarPassageiros() {
-        int desembarcados = 0;
-        for (int i = 0; i < numPassageiros; i++) {
-            if (passageiros[i] != null && passageiros[i].getAndarDestino() == andarAtual) {
-                resumo.registrarDesembarque();
-                pesoAtual -= passageiros[i].getPeso();
-                passageiros[i] = null;
-                desembarcados++;
-            }
-        }
-        reorganizarPassageiros();
-        return desembarcados;
+    /**
+     * Atende a próxima chamada do elevador, realizando embarque e desembarque.
+     * @param filas Array de filas de espera por andar
+     */
+    public void atenderProximo(FilaPrioridadeDupla[] filas) {
+        atenderProximo(filas, null);
     }
 
-    private void reorganizarPassageiros() {
-        int posicaoAtual = 0;
+    /**
+     * Atende a próxima chamada do elevador usando o índice de chamadas do prédio.
+     * Executa as três fases do ciclo em sequência.
+     * @param filas Array de filas de espera por andar
+     * @param indice Índice de andares com pessoas esperando, ou null para percorrer as filas
+     */
+    public void atenderProximo(FilaPrioridadeDupla[] filas, IndiceChamadas indice) {
+        reservar(filas, indice);
+        executarParada();
+        executarMovimento();
+        consolidar();
+    }
+
+    /**
+     * Fase de reserva do ciclo (serial): retira da fila do andar atual as pessoas
+     * que vão embarcar e, se o elevador ficar vazio, escolhe o andar de destino.
+     * As duas escolhas são feitas pela estratégia de despacho.
+     * É a única fase que altera as filas, por isso deve ser executada elevador
+     * por elevador, sempre na mesma ordem.
+     * @param filas Array de filas de espera por andar
+     * @param indice Índice de andares com pessoas esperando, ou null para percorrer as filas
+     */
+    public void reservar(FilaPrioridadeDupla[] filas, IndiceChamadas indice) {
+        energiaGastaCiclo = 0;
+        paradasCiclo = 0;
+        numReservados = 0;
+        numDesembarcados = 0;
+        numPassos = 0;
+        destinoCiclo = -1;
+        estacionando = false;
+        andarInicioCiclo = andarAtual;
+        direcaoInicioCiclo = direcao;
+        passageirosInicioCiclo = numPassageiros;
+        pesoInicioCiclo = pesoAtual;
+
+        // Quem desce neste andar libera lugar e peso para quem vai embarcar
+        int permanecem = 0;
+        int pesoLivre = pesoMaximo - pesoAtual;
         for (int i = 0; i < numPassageiros; i++) {
-            if (passageiros[i] != null) {
-                passageiros[posicaoAtual] = passageiros[i];
-                posicaoAtual++;
+            if (passageiros[i].getAndarDestino() == andarAtual) {
+                pesoLivre += passageiros[i].getPeso();
+            } else {
+                permanecem++;
             }
         }
-        numPassageiros = posicaoAtual;
-    }
 
-    private int embarcarPassageiros(FilaPrioridadeDupla[] filas) {
         FilaPrioridadeDupla filaAndar = filas[andarAtual];
-        int embarcados = 0;
-        
-        while (podeEmbarcarMaisPassageiros(filaAndar)) {
-            Pessoa passageiro = obterProximoPassageiro(filaAndar);
+        int sentidoEmbarque = estrategia.escolherSentidoEmbarque(this, filaAndar);
+        boolean designado = estrategia.isEmbarqueDesignado();
+        while (permanecem + numReservados < capacidade) {
+            Pessoa passageiro = obterProximoPassageiro(filaAndar, sentidoEmbarque, designado);
             if (passageiro == null) break;
-            
-            if (podeAdicionarPassageiro(passageiro)) {
-                adicionarPassageiro(passageiro);
-                embarcados++;
-            } else {
+            if (passageiro.getPeso() > pesoLivre) {
                 filaAndar.inserir(passageiro);
                 break;
             }
+            reservados[numReservados++] = passageiro;
+            pesoLivre -= passageiro.getPeso();
         }
-        return embarcados;
-    }
-
-    private boolean podeEmbarcarMaisPassageiros(FilaPrioridadeDupla filaAndar) {
-        return numPassageiros < capacidade && 
-               (!filaAndar.estaVaziaSubir() || !filaAndar.estaVaziaDescer());
-    }
+        if (zoneamento != null) {
+            for (int i = 0; i < numReservados; i++) {
+                zoneamento.saiuDaFila(reservados[i]);
+            }
+        }
+        estrategia.embarqueConcluido(this, filaAndar, sentidoEmbarque);
 
-    private Pessoa obterProximoPassageiro(FilaPrioridadeDupla filaAndar) {
-        Pessoa passageiro = filaAndar.removerPessoaSubir();
-        return passageiro != null ? passageiro : filaAndar.removerPessoaDescer();
+        if (permanecem + numReservados == 0) {
+            destinoCiclo = estrategia.escolherChamada(this, filas, indice);
+        }
+        // Sem passageiros nem chamada, segue para o andar de estacionamento, se houver
+        if (destinoCiclo == -1 && permanecem + numReservados == 0
+            && andarEstacionamento != -1 && andarEstacionamento != andarAtual) {
+            destinoCiclo = andarEstacionamento;
+            estacionando = true;
+        } else {
+            andarEstacionamento = -1;
+        }
     }
 
-    private boolean podeAdicionarPassageiro(Pessoa passageiro) {
-        return pesoAtual + passageiro.getPeso() <= pesoMaximo;
+    /**
+     * Fase de parada (independente dos demais elevadores): desembarca quem chegou
+     * ao destino e embarca as pessoas reservadas.
+     */
+    public void executarParada() {
+        if (desembarcarPassageiros() > 0) {
+            chamadasCabine.definir(andarAtual, false);
+            paradasCiclo++;
+        }
+        if (numReservados > 0) {
+            for (int i = 0; i < numReservados; i++) {
+                passageiros[numPassageiros++] = reservados[i];
+                pesoAtual += reservados[i].getPeso();
+                chamadasCabine.definir(reservados[i].getAndarDestino(), true);
+            }
+            paradasCiclo++;
+        }
     }
 
-    private void adicionarPassageiro(Pessoa passageiro) {
-        passageiros[numPassageiros++] = passageiro;
-        pesoAtual += passageiro.getPeso();
-        resumo.registrarEmbarque(passageiro.getTempoEspera());
-    }
+    /**
+     * Fase de movimento (independente dos demais elevadores): leva o elevador vazio
+     * até o destino escolhido, ou um andar na direção dele se a estratégia não faz
+     * viagens diretas, ou avança um andar no sentido escolhido para os passageiros.
+     * Ao chegar a um andar de estacionamento o elevador não abre as portas.
+     * Altera apenas o estado e o gerador aleatório do próprio elevador.
+     */
+    public void executarMovimento() {
+        andarPartida = andarAtual;
+        if (numPassageiros == 0) {
+            if (destinoCiclo != -1) {
+                if (estrategia.isViagemDireta()) {
+                    moverParaAndar(destinoCiclo, !estacionando);
+                } else {
+                    moverUmAndarPara(destinoCiclo, !estacionando);
+                }
+            }
+            return;
+        }
 
-    private int encontrarProximoAndar(FilaPrioridadeDupla[] filas) {
-        int melhorAndar = encontrarAndarComPrioridade(filas);
-        if (melhorAndar == -1) {
-            melhorAndar = encontrarAndarMaisProximo(filas);
+        direcao = estrategia.escolherSentido(this);
+        if (direcao != DIRECAO_PARADO) {
+            mover();
         }
-        return melhorAndar;
     }
 
-    private int encontrarAndarComPrioridade(FilaPrioridadeDupla[] filas) {
-        int melhorAndar = -1;
-        int menorDistancia = Integer.MAX_VALUE;
-        
-        for (int andar = 0; andar < filas.length; andar++) {
-            if (filas[andar].temPessoasEsperando() && temPessoaPrioritaria(filas[andar])) {
-                int distancia = Math.abs(andar - andarAtual);
-                if (distancia < menorDistancia) {
-                    menorDistancia = distancia;
-                    melhorAndar = andar;
+    /**
+     * Fase de consolidação (serial): registra no resumo e no ouvinte tudo o que
+     * o elevador fez no ciclo. Executada na ordem dos elevadores, o resultado
+     * não depende de as fases anteriores terem rodado em paralelo.
+     */
+    public void consolidar() {
+        ouvinte.statusElevador(id, andarInicioCiclo, direcaoInicioCiclo, passageirosInicioCiclo,
+                               capacidade, pesoInicioCiclo, pesoMaximo);
+
+        if (numDesembarcados > 0) {
+            for (int i = 0; i < numDesembarcados; i++) {
+                if (desembarcados[i].isBaldeacao()) {
+                    baldeacao.accept(desembarcados[i]);
+                } else {
+                    resumo.registrarDesembarque(desembarcados[i]);
                 }
+                desembarcados[i] = null;
             }
+            ouvinte.desembarque(id, numDesembarcados, andarInicioCiclo);
+        }
+        if (numReservados > 0) {
+            for (int i = 0; i < numReservados; i++) {
+                resumo.registrarEmbarque(reservados[i]);
+                reservados[i] = null;
+            }
+            ouvinte.embarque(id, numReservados, andarInicioCiclo);
+        }
+        for (int i = 0; i < paradasCiclo; i++) {
+            registrarParada();
         }
-        return melhorAndar;
-    }
 
-    private boolean temPessoaPrioritaria(FilaPrioridadeDupla fila) {
-        for (Pessoa p : fila.getArraySubir()) {
-            if (p != null && p.isPrioridade()) return true;
+        int andar = andarPartida;
+        int tempoTotalViagem = 0;
+        for (int i = 0; i < numPassos; i++) {
+            ouvinte.movimento(id, andar, andar + direcaoMovimento, temposPassos[i]);
+            andar += direcaoMovimento;
+            tempoTotalViagem += temposPassos[i];
+            resumo.registrarEnergiaGasta(config.getConsumoPorAndar());
+            resumo.registrarViagem();
         }
-        for (Pessoa p : fila.getArrayDescer()) {
-            if (p != null && p.isPrioridade()) return true;
+        if (estacionando && numPassos > 0) {
+            resumo.registrarEstacionamento(numPassos, numPassos * config.getConsumoPorAndar());
         }
-        return false;
-    }
 
-    private int encontrarAndarMaisProximo(FilaPrioridadeDupla[] filas) {
-        int melhorAndar = -1;
-        int menorDistancia = Integer.MAX_VALUE;
-        
-        for (int andar = 0; andar < filas.length; andar++) {
-            if (filas[andar].temPessoasEsperando()) {
-                int distancia = Math.abs(andar - andarAtual);
-                if (distancia < menorDistancia) {
-                    menorDistancia = distancia;
-                    melhorAndar = andar;
+        if (numDesembarcados > 0 || numReservados > 0) {
+            paradasViagem++;
+        }
+        if (passageirosInicioCiclo - numDesembarcados + numReservados == 0) {
+            if (paradasViagem > 0) {
+                resumo.registrarViagemCompleta(paradasViagem);
+                paradasViagem = 0;
+            }
+            if (destinoCiclo != -1) {
+                if (andarAtual == destinoCiclo && estacionando) {
+                    ouvinte.estacionamento(id, destinoCiclo, tempoTotalViagem);
+                } else if (andarAtual == destinoCiclo) {
+                    ouvinte.chegadaDestino(id, destinoCiclo, tempoTotalViagem);
                 }
+            } else {
+                ouvinte.semChamadaPendente(id);
             }
         }
-        return melhorAndar;
     }
 
-    private void atualizarDirecao() {
-        if (numPassageiros == 0) {
-            direcao = DIRECAO_PARADO;
-            return;
-        }
+    /**
+     * Verifica se o elevador terminou o ciclo com trabalho pendente.
+     * @return true se há passageiros a bordo ou uma chamada foi atendida, false se ficou ocioso
+     */
+    public boolean isAtivo() {
+        return numPassageiros > 0 || destinoCiclo != -1;
+    }
 
-        boolean temParaCima = false;
-        boolean temParaBaixo = false;
+    private void registrarParada() {
+        resumo.registrarEnergiaGasta(config.getConsumoPorParada());
+    }
 
+    private int desembarcarPassageiros() {
         for (int i = 0; i < numPassageiros; i++) {
-            if (passageiros[i] != null) {
-                if (passageiros[i].getAndarDestino() > andarAtual) {
-                    temParaCima = true;
-                } else if (passageiros[i].getAndarDestino() < andarAtual) {
-                    temParaBaixo = true;
-                }
+            if (passageiros[i] != null && passageiros[i].getAndarDestino() == andarAtual) {
+                pesoAtual -= passageiros[i].getPeso();
+                desembarcados[numDesembarcados++] = passageiros[i];
+                passageiros[i] = null;
             }
         }
+        reorganizarPassageiros();
+        return numDesembarcados;
+    }
 
-        atualizarDirecaoBaseadoDestinos(temParaCima, temParaBaixo);
+    private void reorganizarPassageiros() {
+        int posicaoAtual = 0;
+        for (int i = 0; i < numPassageiros; i++) {
+            if (passageiros[i] != null) {
+                passageiros[posicaoAtual] = passageiros[i];
+                posicaoAtual++;
+            }
+        }
+        for (int i = posicaoAtual; i < numPassageiros; i++) {
+            passageiros[i] = null;
+        }
+        numPassageiros = posicaoAtual;
     }
 
-    private void atualizarDirecaoBaseadoDestinos(boolean temParaCima, boolean temParaBaixo) {
-        if (direcao == DIRECAO_PARADO) {
-            direcao = temParaCima ? DIRECAO_SUBINDO : (temParaBaixo ? DIRECAO_DESCENDO : DIRECAO_PARADO);
-        } else if (direcao == DIRECAO_SUBINDO && !temParaCima) {
-            direcao = temParaBaixo ? DIRECAO_DESCENDO : DIRECAO_PARADO;
-        } else if (direcao == DIRECAO_DESCENDO && !temParaBaixo) {
-            direcao = temParaCima ? DIRECAO_SUBINDO : DIRECAO_PARADO;
+    // Próxima pessoa a embarcar no sentido escolhido; no embarque designado, só quem
+    // foi designado a este elevador, e com zoneamento, só quem espera a zona dele
+    private Pessoa obterProximoPassageiro(FilaPrioridadeDupla filaAndar, int sentido, boolean designado) {
+        if (sentido == EstrategiaDespacho.SEM_EMBARQUE) return null;
+        if (designado || zoneamento != null) {
+            if (sentido != DIRECAO_DESCENDO) {
+                Pessoa passageiro = removerElegivel(filaAndar, true, designado);
+                if (passageiro != null || sentido == DIRECAO_SUBINDO) return passageiro;
+            }
+            return removerElegivel(filaAndar, false, designado);
         }
+        if (sentido == DIRECAO_SUBINDO) return filaAndar.removerPessoaSubir();
+        if (sentido == DIRECAO_DESCENDO) return filaAndar.removerPessoaDescer();
+        Pessoa passageiro = filaAndar.removerPessoaSubir();
+        return passageiro != null ? passageiro : filaAndar.removerPessoaDescer();
     }
 
-    private void mover() {
-        if (direcao == DIRECAO_PARADO) return;
+    private Pessoa removerElegivel(FilaPrioridadeDupla filaAndar, boolean subir, boolean designado) {
+        return designado ? filaAndar.removerPessoaDesignada(subir, id) : filaAndar.removerPessoaDaZona(subir, zona);
+    }
+
+    private int mover() {
+        if (direcao == DIRECAO_PARADO) return 0;
 
         int tempoViagem = calcularTempoViagem();
-        exibirMensagemMovimento(tempoViagem);
+        if (numPassos == temposPassos.length) {
+            temposPassos = Arrays.copyOf(temposPassos, temposPassos.length * 2);
+        }
+        temposPassos[numPassos++] = tempoViagem;
+        direcaoMovimento = direcao;
 
         andarAtual += direcao;
-        registrarConsumoEnergia();
+        energiaGastaCiclo += config.getConsumoPorAndar();
+        return tempoViagem;
     }
 
     private int calcularTempoViagem() {
-        return config.getTempoMinimoViagem() + 
-               (int)(Math.random() * (config.getTempoMaximoViagem() - config.getTempoMinimoViagem()));
-    }
-
-    private void exibirMensagemMovimento(int tempoViagem) {
-        System.out.printf("[ELEVADOR %d] Movendo do andar %d para o andar %d (tempo estimado: %d segundos)\n", 
-                         id, andarAtual, andarAtual + direcao, tempoViagem);
+        int variacao = config.getTempoMaximoViagem() - config.getTempoMinimoViagem();
+        return config.getTempoMinimoViagem() + (variacao > 0 ? aleatorio.nextInt(variacao) : 0);
     }
 
-    private void registrarConsumoEnergia() {
-        energiaGastaCiclo += config.getConsumoPorAndar();
-        resumo.registrarEnergiaGasta(config.getConsumoPorAndar());
-        resumo.registrarViagem();
+    private void moverParaAndar(int destino, boolean abrirPortas) {
+        while (andarAtual != destino) {
+            direcao = destino > andarAtual ? DIRECAO_SUBINDO : DIRECAO_DESCENDO;
+            mover();
+        }
+        if (abrirPortas) {
+            paradasCiclo++;
+        }
     }
 
-    private void moverParaAndar(int destino) {
-        int tempoTotalViagem = 0;
-        
-        while (andarAtual != destino) {
+    private void moverUmAndarPara(int destino, boolean abrirPortas) {
+        if (andarAtual != destino) {
             direcao = destino > andarAtual ? DIRECAO_SUBINDO : DIRECAO_DESCENDO;
-            int tempoViagem = calcularTempoViagem();
-            tempoTotalViagem += tempoViagem;
-            
-            exibirMensagemMovimento(tempoViagem);
             mover();
         }
-        
-        System.out.printf("[ELEVADOR %d] Chegou ao destino (andar %d) em %d segundos\n", 
-                         id, destino, tempoTotalViagem);
-        
-        registrarParada();
+        if (andarAtual == destino && abrirPortas) {
+            paradasCiclo++;
+        }
     }
 
     // Getters
     public int getId() { return id; }
     public int getAndarAtual() { return andarAtual; }
     public int getDirecao() { return direcao; }
-    public String getDirecaoTexto() { 
-        return direcao == DIRECAO_SUBINDO ? "Subindo" : 
-               (direcao == DIRECAO_DESCENDO ? "Descendo" : "Parado"); 
-    }
+    public String getDirecaoTexto() { return textoDirecao(direcao); }
     public int getNumPassageiros() { return numPassageiros; }
     public int getPesoAtual() { return pesoAtual; }
     public Pessoa[] getPassageiros() { return passageiros; }
+    public ConjuntoAndares getChamadasCabine() { return chamadasCabine; }
+    public EstrategiaDespacho getEstrategia() { return estrategia; }
     public int getCapacidade() { return capacidade; }
     public int getPesoMaximo() { return pesoMaximo; }
     public double getEnergiaGastaCiclo() { return energiaGastaCiclo; }
+    public int getDestinoCiclo() { return destinoCiclo; }
+    public Pessoa[] getReservados() { return reservados; }
+    public int getZona() { return zona; }
+    public int getNumReservados() { return numReservados; }
+    public int getNumDesembarcados() { return numDesembarcados; }
+    public int getParadasCiclo() { return paradasCiclo; }
+
+    /**
+     * Retorna o tempo de deslocamento do ciclo atual, somando os tempos de cada andar.
+     * @return Tempo de viagem em segundos
+     */
+    public int getTempoViagemCiclo() {
+        int total = 0;
+        for (int i = 0; i < numPassos; i++) {
+            total += temposPassos[i];
+        }
+        return total;
+    }
+
+    /**
+     * Retorna o texto de uma direção do elevador.
+     * @param direcao -1 (descendo), 0 (parado) ou 1 (subindo)
+     * @return "Subindo", "Descendo" ou "Parado"
+     */
+    public static String textoDirecao(int direcao) {
+        return direcao == DIRECAO_SUBINDO ? "Subindo" :
+               (direcao == DIRECAO_DESCENDO ? "Descendo" : "Parado");
+    }
 }
@@ -0,0 +1,198 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava o log da simulação em segundo plano.
+ * A simulação entrega os textos em uma fila limitada e uma thread escritora
+ * os agrupa em lotes gravados em um FileChannel, por tamanho ou por intervalo.
+ * Se a fila encher, a simulação espera (contrapressão) e a ocorrência é contada.
+ * A espera só dura enquanto a thread escritora estiver viva: se ela parar por falha
+ * ou interrupção, a entrega falha com o erro em vez de bloquear para sempre.
+ */
+public class EscritorLogAssincrono implements AutoCloseable {
+    public static final int CAPACIDADE_FILA_PADRAO = 256;
+    public static final int TAMANHO_LOTE_PADRAO = 256 * 1024;
+    public static final long INTERVALO_GRAVACAO_PADRAO_MS = 500;
+
+    // Marca o fim da fila para a thread escritora
+    private static final String FIM = new String("FIM");
+
+    private final BlockingQueue<String> fila;
+    private final FileChannel canal;
+    private final ByteBuffer lote;
+    private final long intervaloGravacaoNanos;
+    private final Thread escritora;
+
+    private volatile IOException erro;
+    private volatile long ocorrenciasContrapressao;
+    private volatile long bytesGravados;
+    private boolean fechado;
+
+    /**
+     * Construtor com os valores padrão de fila, lote e intervalo.
+     * @param caminho Caminho do arquivo de log
+     * @throws IOException se o arquivo não puder ser criado
+     */
+    public EscritorLogAssincrono(String caminho) throws IOException {
+        this(caminho, CAPACIDADE_FILA_PADRAO, TAMANHO_LOTE_PADRAO, INTERVALO_GRAVACAO_PADRAO_MS);
+    }
+
+    /**
+     * Construtor do escritor assíncrono.
+     * @param caminho Caminho do arquivo de log
+     * @param capacidadeFila Número máximo de textos aguardando gravação
+     * @param tamanhoLote Tamanho em bytes que dispara a gravação de um lote
+     * @param intervaloGravacaoMs Tempo máximo em milissegundos entre gravações
+     * @throws IOException se o arquivo não puder ser criado
+     * @throws IllegalArgumentException se algum parâmetro for menor ou igual a zero
+     */
+    public EscritorLogAssincrono(String caminho, int capacidadeFila, int tamanhoLote, long intervaloGravacaoMs)
+            throws IOException {
+        if (capacidadeFila <= 0 || tamanhoLote <= 0 || intervaloGravacaoMs <= 0) {
+            throw new IllegalArgumentException("Fila, lote e intervalo do log devem ser maiores que zero");
+        }
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.lote = ByteBuffer.allocateDirect(tamanhoLote);
+        this.intervaloGravacaoNanos = TimeUnit.MILLISECONDS.toNanos(intervaloGravacaoMs);
+        this.canal = FileChannel.open(Paths.get(caminho), StandardOpenOption.CREATE,
+                                      StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.escritora = new Thread(this::executar, "escritor-log");
+        this.escritora.setDaemon(true);
+        this.escritora.start();
+    }
+
+    /**
+     * Entrega um texto para gravação.
+     * Só bloqueia se a fila estiver cheia; nesse caso a contrapressão é registrada.
+     * @param texto Texto a ser gravado
+     * @throws IOException se a thread escritora tiver falhado ou parado
+     */
+    public void escrever(String texto) throws IOException {
+        if (erro != null) throw erro;
+        if (texto == null || texto.isEmpty()) return;
+
+        if (!fila.offer(texto)) {
+            ocorrenciasContrapressao++;
+            if (!colocarNaFila(texto)) {
+                throw erro != null ? erro : new IOException("A thread de gravação do log parou");
+            }
+        }
+    }
+
+    /**
+     * Retorna quantas vezes a simulação teve de esperar pela gravação.
+     * @return Número de ocorrências de contrapressão
+     */
+    public long getOcorrenciasContrapressao() {
+        return ocorrenciasContrapressao;
+    }
+
+    /**
+     * Retorna o total de bytes gravados no arquivo.
+     * @return Bytes gravados
+     */
+    public long getBytesGravados() {
+        return bytesGravados;
+    }
+
+    /**
+     * Grava tudo o que estiver pendente, na ordem de entrega, e fecha o arquivo.
+     * @throws IOException se houver erro na gravação
+     */
+    @Override
+    public void close() throws IOException {
+        if (fechado) return;
+        fechado = true;
+
+        colocarNaFila(FIM);
+        try {
+            escritora.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+        if (erro != null) throw erro;
+    }
+
+    // Espera por espaço na fila enquanto a thread escritora estiver viva; false se ela
+    // parou, pois ninguém mais esvaziaria a fila
+    private boolean colocarNaFila(String texto) throws IOException {
+        try {
+            while (!fila.offer(texto, intervaloGravacaoNanos, TimeUnit.NANOSECONDS)) {
+                if (!escritora.isAlive()) return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido ao aguardar a gravação do log", e);
+        }
+    }
+
+    private void executar() {
+        long ultimaGravacao = System.nanoTime();
+        try {
+            while (true) {
+                String texto = fila.poll(intervaloGravacaoNanos, TimeUnit.NANOSECONDS);
+                if (texto == FIM) break;
+                if (texto != null) {
+                    adicionarAoLote(texto.getBytes(StandardCharsets.UTF_8));
+                }
+                if (System.nanoTime() - ultimaGravacao >= intervaloGravacaoNanos) {
+                    gravarLote();
+                    ultimaGravacao = System.nanoTime();
+                }
+            }
+            gravarLote();
+            canal.force(false);
+        } catch (IOException e) {
+            erro = e;
+            descartarAteFim();
+        } catch (InterruptedException e) {
+            erro = new IOException("Thread de gravação do log interrompida", e);
+        }
+    }
+
+    // Depois de uma falha, continua esvaziando a fila para que a simulação não fique bloqueada
+    private void descartarAteFim() {
+        try {
+            while (fila.take() != FIM) {
+                // descarta
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void adicionarAoLote(byte[] bytes) throws IOException {
+        if (bytes.length > lote.remaining()) {
+            gravarLote();
+        }
+        if (bytes.length > lote.capacity()) {
+            gravarTudo(ByteBuffer.wrap(bytes));
+        } else {
+            lote.put(bytes);
+            if (!lote.hasRemaining()) {
+                gravarLote();
+            }
+        }
+    }
+
+    private void gravarLote() throws IOException {
+        lote.flip();
+        gravarTudo(lote);
+        lote.clear();
+    }
+
+    private void gravarTudo(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            bytesGravados += canal.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Consolida os resumos de várias réplicas independentes da simulação.
+ * Para cada métrica calcula média, desvio padrão e intervalo de confiança de 95%,
+ * e soma os histogramas de tempos de todas as réplicas em um resumo agregado.
+ */
+public class EstatisticaReplicacoes {
+    // Métricas consolidadas, na ordem em que são impressas
+    private static final int METRICA_ESPERA_MEDIA = 0;
+    private static final int METRICA_ENERGIA = 1;
+    private static final int METRICA_PASSAGEIROS = 2;
+    private static final int METRICA_EMBARQUES = 3;
+    private static final int METRICA_DESEMBARQUES = 4;
+    private static final int METRICA_VIAGENS = 5;
+    private static final String[] NOMES_METRICAS = {
+        "Tempo médio de espera (min)",
+        "Energia consumida (unidades)",
+        "Passageiros gerados",
+        "Embarques",
+        "Desembarques",
+        "Viagens"
+    };
+
+    // Quantis da distribuição t de Student (bicaudal, 95%) para 1 a 30 graus de liberdade
+    private static final double[] QUANTIS_T_95 = {
+        12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+        2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+        2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double QUANTIL_NORMAL_95 = 1.960;
+
+    private final double[][] valores;
+    private int replicacoes;
+    private ResumoSimulacao agregado;
+
+    /**
+     * Construtor da estatística de réplicas.
+     * @param capacidade Número de réplicas esperadas
+     */
+    public EstatisticaReplicacoes(int capacidade) {
+        this.valores = new double[NOMES_METRICAS.length][Math.max(1, capacidade)];
+        this.replicacoes = 0;
+    }
+
+    /**
+     * Adiciona o resumo de uma réplica.
+     * @param resumo Resumo da réplica
+     * @throws IllegalStateException se a capacidade for excedida
+     */
+    public void adicionar(ResumoSimulacao resumo) {
+        if (replicacoes == valores[0].length) {
+            throw new IllegalStateException("Capacidade de réplicas excedida");
+        }
+        valores[METRICA_ESPERA_MEDIA][replicacoes] = resumo.getTempoEsperaMedio();
+        valores[METRICA_ENERGIA][replicacoes] = resumo.getEnergiaGastaTotal();
+        valores[METRICA_PASSAGEIROS][replicacoes] = resumo.getTotalPassageirosGerados();
+        valores[METRICA_EMBARQUES][replicacoes] = resumo.getTotalEmbarques();
+        valores[METRICA_DESEMBARQUES][replicacoes] = resumo.getTotalDesembarques();
+        valores[METRICA_VIAGENS][replicacoes] = resumo.getTotalViagens();
+        replicacoes++;
+
+        if (agregado == null) {
+            agregado = new ResumoSimulacao(resumo.getNumeroAndares());
+        }
+        agregado.mesclar(resumo);
+    }
+
+    /**
+     * Retorna o número de réplicas consolidadas.
+     * @return Número de réplicas
+     */
+    public int getReplicacoes() {
+        return replicacoes;
+    }
+
+    /**
+     * Retorna a média do tempo médio de espera entre as réplicas.
+     * @return Média em minutos
+     */
+    public double getEsperaMedia() {
+        return media(METRICA_ESPERA_MEDIA);
+    }
+
+    /**
+     * Retorna a meia largura do intervalo de confiança de 95% do tempo médio de espera.
+     * @return Meia largura do intervalo em minutos
+     */
+    public double getMeiaLarguraEspera() {
+        return meiaLarguraIntervalo(METRICA_ESPERA_MEDIA);
+    }
+
+    /**
+     * Retorna a soma dos resumos de todas as réplicas, com os histogramas mesclados.
+     * @return Resumo agregado, ou null se nenhuma réplica foi adicionada
+     */
+    public ResumoSimulacao getAgregado() {
+        return agregado;
+    }
+
+    /**
+     * Imprime a tabela com média, desvio padrão e intervalo de confiança de cada métrica.
+     */
+    public void imprimir() {
+        System.out.println("\n=== RESUMO DAS RÉPLICAS (" + replicacoes + " réplicas, IC 95%) ===");
+        System.out.printf("%-30s %14s %12s %14s%n", "Métrica", "Média", "Desvio", "± IC 95%");
+        for (int m = 0; m < NOMES_METRICAS.length; m++) {
+            System.out.printf("%-30s %14.2f %12.2f %14.2f%n",
+                              NOMES_METRICAS[m], media(m), desvioPadrao(m), meiaLarguraIntervalo(m));
+        }
+        if (agregado != null) {
+            agregado.imprimirDistribuicoes();
+        }
+        System.out.println("===========================\n");
+    }
+
+    private double media(int metrica) {
+        if (replicacoes == 0) return 0.0;
+        double soma = 0;
+        for (int i = 0; i < replicacoes; i++) {
+            soma += valores[metrica][i];
+        }
+        return soma / replicacoes;
+    }
+
+    private double desvioPadrao(int metrica) {
+        if (replicacoes < 2) return 0.0;
+        double media = media(metrica);
+        double somaQuadrados = 0;
+        for (int i = 0; i < replicacoes; i++) {
+            double diferenca = valores[metrica][i] - media;
+            somaQuadrados += diferenca * diferenca;
+        }
+        return Math.sqrt(somaQuadrados / (replicacoes - 1));
+    }
+
+    private double meiaLarguraIntervalo(int metrica) {
+        if (replicacoes < 2) return 0.0;
+        int grausLiberdade = replicacoes - 1;
+        double quantil = grausLiberdade <= QUANTIS_T_95.length ? QUANTIS_T_95[grausLiberdade - 1] : QUANTIL_NORMAL_95;
+        return quantil * desvioPadrao(metrica) / Math.sqrt(replicacoes);
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Estratégia de despacho de um elevador: decide de qual fila do andar atual ele
+ * embarca pessoas, para qual chamada segue quando está vazio e em que sentido
+ * anda quando leva passageiros. O elevador só executa as decisões (embarque,
+ * desembarque e deslocamento), de modo que estratégias diferentes podem ser
+ * comparadas com o mesmo prédio e a mesma semente.
+ *
+ * Os métodos de embarque e de chamada são chamados na fase de reserva, que é serial;
+ * o de sentido é chamado na fase de movimento, que pode rodar em paralelo, e só deve
+ * ler estado que não muda nessa fase (o próprio elevador, o painel e as filas).
+ */
+public interface EstrategiaDespacho {
+    // Resposta de escolherSentidoEmbarque para não embarcar ninguém no andar
+    int SEM_EMBARQUE = 2;
+
+    /**
+     * Escolhe de qual fila do andar atual o elevador embarca pessoas.
+     * @param elevador Elevador parado no andar, antes do desembarque
+     * @param filaAndar Fila do andar atual
+     * @return Elevador.DIRECAO_SUBINDO ou DIRECAO_DESCENDO para embarcar só daquela fila,
+     *         DIRECAO_PARADO para embarcar das duas, a de subida primeiro,
+     *         ou SEM_EMBARQUE para passar pelo andar sem embarcar
+     */
+    int escolherSentidoEmbarque(Elevador elevador, FilaPrioridadeDupla filaAndar);
+
+    /**
+     * Avisa que o elevador terminou de reservar os passageiros do andar atual.
+     * Chamado na fase de reserva; permite, por exemplo, repassar a outro elevador
+     * uma chamada que ficou com gente esperando por falta de lugar.
+     * @param elevador Elevador parado no andar
+     * @param filaAndar Fila do andar atual, já sem quem embarcou
+     * @param sentidoEmbarque Sentido escolhido por escolherSentidoEmbarque
+     */
+    default void embarqueConcluido(Elevador elevador, FilaPrioridadeDupla filaAndar, int sentidoEmbarque) {
+    }
+
+    /**
+     * Indica se o elevador embarca só as pessoas designadas a ele (Pessoa.getElevadorDesignado)
+     * ou qualquer pessoa da fila escolhida.
+     * @return true para o embarque designado, false para embarcar por ordem de prioridade
+     */
+    default boolean isEmbarqueDesignado() {
+        return false;
+    }
+
+    /**
+     * Avisa que uma pessoa fez a chamada no seu andar de origem e entrou na fila.
+     * No despacho por destino é aqui que ela recebe o elevador designado.
+     * @param pessoa Pessoa que chegou, com origem e destino conhecidos
+     */
+    default void chamadaRegistrada(Pessoa pessoa) {
+    }
+
+    /**
+     * Escolhe a chamada atendida por um elevador que ficou vazio depois da reserva.
+     * @param elevador Elevador sem passageiros
+     * @param filas Filas de espera por andar
+     * @param indice Índice de andares com pessoas esperando, ou null para percorrer as filas
+     * @return Andar de destino, ou -1 se não houver chamada a atender
+     */
+    int escolherChamada(Elevador elevador, FilaPrioridadeDupla[] filas, IndiceChamadas indice);
+
+    /**
+     * Escolhe o sentido do próximo andar de um elevador com passageiros,
+     * depois do embarque e do desembarque no andar atual.
+     * @param elevador Elevador com passageiros
+     * @return Elevador.DIRECAO_SUBINDO, DIRECAO_DESCENDO ou DIRECAO_PARADO
+     */
+    int escolherSentido(Elevador elevador);
+
+    /**
+     * Indica se um elevador vazio vai até a chamada escolhida em um único ciclo
+     * ou anda um andar por ciclo, voltando a decidir em cada andar.
+     * @return true para ir direto até a chamada, false para andar um andar por ciclo
+     */
+    boolean isViagemDireta();
+}
@@ -0,0 +1,78 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Executa réplicas independentes da simulação em paralelo (Monte Carlo).
+ * Cada réplica tem sua própria configuração, com semente derivada da semente base,
+ * e seu próprio controlador; nada é compartilhado entre as threads.
+ * O resultado é o mesmo para a mesma semente base, qualquer que seja o paralelismo.
+ */
+public class ExecutorReplicacoes {
+    private final ForkJoinPool pool;
+
+    /**
+     * Construtor que usa todos os processadores disponíveis.
+     */
+    public ExecutorReplicacoes() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construtor com paralelismo definido.
+     * @param paralelismo Número de threads de trabalho
+     */
+    public ExecutorReplicacoes(int paralelismo) {
+        this.pool = new ForkJoinPool(Math.max(1, paralelismo));
+    }
+
+    /**
+     * Executa as réplicas e consolida os resumos.
+     * @param base Configuração base; sua semente gera as sementes das réplicas
+     * @param replicacoes Número de réplicas
+     * @return Estatísticas consolidadas
+     */
+    public EstatisticaReplicacoes executar(Configuracao base, int replicacoes) {
+        // As sementes são sorteadas antes, em sequência, para não dependerem da ordem de execução
+        SplittableRandom mestre = new SplittableRandom(base.getSemente());
+        List<ForkJoinTask<ResumoSimulacao>> tarefas = new ArrayList<>(replicacoes);
+        for (int i = 0; i < replicacoes; i++) {
+            Configuracao config = base.comSemente(mestre.nextLong());
+            tarefas.add(pool.submit(() -> simular(config)));
+        }
+
+        EstatisticaReplicacoes estatistica = new EstatisticaReplicacoes(replicacoes);
+        for (ForkJoinTask<ResumoSimulacao> tarefa : tarefas) {
+            estatistica.adicionar(tarefa.join());
+        }
+        return estatistica;
+    }
+
+    /**
+     * Encerra as threads do executor.
+     */
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    /**
+     * Executa uma simulação completa sem interface.
+     * @param config Configuração da simulação
+     * @return Resumo da simulação
+     */
+    public static ResumoSimulacao simular(Configuracao config) {
+        ControladorElevadores controlador = new ControladorElevadores(config);
+        controlador.setOuvinte(OuvinteNulo.INSTANCIA);
+        try {
+            for (int minuto = 0; minuto < config.getDuracaoMinutos(); minuto++) {
+                controlador.gerarPessoas();
+                controlador.simularCiclo();
+            }
+        } finally {
+            controlador.encerrar();
+        }
+        return controlador.getResumo();
+    }
+}
@@ -0,0 +1,135 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Entrada de chamadas para várias threads produtoras e um único consumidor.
+ * Cada andar tem uma fila sem bloqueio (ConcurrentLinkedQueue) onde os produtores
+ * depositam as pessoas, e um bitset atômico marca os andares com chegadas pendentes.
+ * O laço da simulação drena apenas os andares marcados para as filas de prioridade,
+ * que continuam sendo acessadas por uma única thread.
+ */
+public class FilaChamadasConcorrente {
+    private final ConcurrentLinkedQueue<Pessoa>[] entradas;
+    private final AtomicLongArray andaresPendentes;
+    private final int numeroAndares;
+    private volatile int cicloAtual;
+
+    /**
+     * Construtor da entrada concorrente.
+     * @param numeroAndares Número de andares do prédio
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public FilaChamadasConcorrente(int numeroAndares) {
+        this.numeroAndares = numeroAndares;
+        this.entradas = new ConcurrentLinkedQueue[numeroAndares];
+        for (int i = 0; i < numeroAndares; i++) {
+            entradas[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.andaresPendentes = new AtomicLongArray((numeroAndares + 63) / 64);
+    }
+
+    /**
+     * Registra a chegada de uma pessoa. Pode ser chamado de qualquer thread e nunca bloqueia.
+     * @param pessoa Pessoa que chegou ao seu andar de origem
+     * @return true se a pessoa foi registrada, false se o andar de origem for inválido
+     */
+    public boolean registrar(Pessoa pessoa) {
+        if (pessoa == null) return false;
+        int andar = pessoa.getAndarOrigem();
+        if (andar < 0 || andar >= numeroAndares) return false;
+
+        entradas[andar].offer(pessoa);
+        long bit = 1L << andar;
+        int palavra = andar >>> 6;
+        long atual = andaresPendentes.get(palavra);
+        while ((atual & bit) == 0 && !andaresPendentes.compareAndSet(palavra, atual, atual | bit)) {
+            atual = andaresPendentes.get(palavra);
+        }
+        return true;
+    }
+
+    /**
+     * Entrega ao consumidor todas as pessoas registradas até agora.
+     * Deve ser chamado sempre pela mesma thread (o laço da simulação).
+     * A ordem de chegada é preservada dentro de cada andar.
+     * @param consumidor Recebe cada pessoa drenada
+     * @return Número de pessoas drenadas
+     */
+    public int drenar(Consumer<Pessoa> consumidor) {
+        return drenar(consumidor, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Entrega ao consumidor no máximo um número de pessoas registradas.
+     * Com produtores sempre ativos, o limite mantém a duração da drenagem constante;
+     * o que sobrar continua marcado e sai na próxima drenagem.
+     * @param consumidor Recebe cada pessoa drenada
+     * @param limite Número máximo de pessoas drenadas
+     * @return Número de pessoas drenadas
+     */
+    public int drenar(Consumer<Pessoa> consumidor, int limite) {
+        int drenadas = 0;
+        for (int palavra = 0; palavra < andaresPendentes.length(); palavra++) {
+            if (andaresPendentes.get(palavra) == 0) continue;
+
+            // Limpa a marca antes de drenar: uma chegada concorrente volta a marcar o andar
+            long pendentes = andaresPendentes.getAndSet(palavra, 0);
+            while (pendentes != 0) {
+                int andar = palavra * 64 + Long.numberOfTrailingZeros(pendentes);
+                pendentes &= pendentes - 1;
+
+                Pessoa pessoa;
+                while (drenadas < limite && (pessoa = entradas[andar].poll()) != null) {
+                    consumidor.accept(pessoa);
+                    drenadas++;
+                }
+                if (drenadas == limite) {
+                    // Devolve a marca deste andar e dos que não foram visitados
+                    long restantes = pendentes | (entradas[andar].isEmpty() ? 0 : 1L << andar);
+                    if (restantes != 0) {
+                        andaresPendentes.getAndAccumulate(palavra, restantes, (a, b) -> a | b);
+                    }
+                    return drenadas;
+                }
+            }
+        }
+        return drenadas;
+    }
+
+    /**
+     * Verifica se há pessoas registradas esperando a próxima drenagem.
+     * Com produtores ativos, a resposta pode mudar logo depois da consulta.
+     * @return true se algum andar tem chegadas pendentes, false caso contrário
+     */
+    public boolean temPendentes() {
+        for (int palavra = 0; palavra < andaresPendentes.length(); palavra++) {
+            if (andaresPendentes.get(palavra) != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Informa o ciclo atual da simulação aos produtores.
+     * @param ciclo Ciclo (minuto) em andamento
+     */
+    public void setCicloAtual(int ciclo) {
+        this.cicloAtual = ciclo;
+    }
+
+    /**
+     * Retorna o ciclo atual, para que os produtores registrem a chegada das pessoas.
+     * @return Ciclo (minuto) em andamento
+     */
+    public int getCicloAtual() {
+        return cicloAtual;
+    }
+
+    /**
+     * Retorna o número de andares atendidos.
+     * @return Número de andares
+     */
+    public int getNumeroAndares() {
+        return numeroAndares;
+    }
+}
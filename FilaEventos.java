@@ -0,0 +1,137 @@
+/**
+ * Fila de eventos ordenada por tempo, implementada como heap binário
+ * sobre arrays primitivos.
+ * Cada evento tem um tempo, uma ordem de desempate dentro do mesmo tempo,
+ * um tipo e um alvo (por exemplo, o índice do elevador).
+ */
+public class FilaEventos {
+    private static final int CAPACIDADE_PADRAO = 16;
+
+    private long[] chaves;
+    private int[] tipos;
+    private int[] alvos;
+    private int tamanho;
+
+    /**
+     * Construtor da fila de eventos.
+     * @param capacidade Capacidade inicial da fila
+     */
+    public FilaEventos(int capacidade) {
+        int capacidadeFinal = capacidade > 0 ? capacidade : CAPACIDADE_PADRAO;
+        this.chaves = new long[capacidadeFinal];
+        this.tipos = new int[capacidadeFinal];
+        this.alvos = new int[capacidadeFinal];
+        this.tamanho = 0;
+    }
+
+    /**
+     * Agenda um evento.
+     * @param tempo Instante do evento
+     * @param ordem Desempate entre eventos do mesmo instante (menor primeiro)
+     * @param tipo Tipo do evento
+     * @param alvo Alvo do evento
+     */
+    public void agendar(int tempo, int ordem, int tipo, int alvo) {
+        if (tamanho == chaves.length) {
+            aumentarCapacidade();
+        }
+        int i = tamanho++;
+        long chave = ((long) tempo << 32) | (ordem & 0xFFFFFFFFL);
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (chaves[pai] <= chave) break;
+            mover(pai, i);
+            i = pai;
+        }
+        chaves[i] = chave;
+        tipos[i] = tipo;
+        alvos[i] = alvo;
+    }
+
+    /**
+     * Verifica se a fila está vazia.
+     * @return true se não houver eventos agendados, false caso contrário
+     */
+    public boolean estaVazia() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Retorna o tempo do próximo evento.
+     * @return Tempo do próximo evento
+     * @throws IllegalStateException se a fila estiver vazia
+     */
+    public int getProximoTempo() {
+        if (tamanho == 0) {
+            throw new IllegalStateException("Nenhum evento agendado");
+        }
+        return (int) (chaves[0] >>> 32);
+    }
+
+    /**
+     * Retorna o tipo do próximo evento.
+     * @return Tipo do próximo evento
+     */
+    public int getProximoTipo() {
+        return tipos[0];
+    }
+
+    /**
+     * Retorna o alvo do próximo evento.
+     * @return Alvo do próximo evento
+     */
+    public int getProximoAlvo() {
+        return alvos[0];
+    }
+
+    /**
+     * Remove o próximo evento da fila.
+     */
+    public void removerProximo() {
+        if (tamanho == 0) return;
+
+        tamanho--;
+        long chave = chaves[tamanho];
+        int tipo = tipos[tamanho];
+        int alvo = alvos[tamanho];
+        int i = 0;
+        while (true) {
+            int filho = 2 * i + 1;
+            if (filho >= tamanho) break;
+            if (filho + 1 < tamanho && chaves[filho + 1] < chaves[filho]) filho++;
+            if (chaves[filho] >= chave) break;
+            mover(filho, i);
+            i = filho;
+        }
+        chaves[i] = chave;
+        tipos[i] = tipo;
+        alvos[i] = alvo;
+    }
+
+    /**
+     * Retorna a quantidade de eventos agendados.
+     * @return Número de eventos
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    private void mover(int origem, int destino) {
+        chaves[destino] = chaves[origem];
+        tipos[destino] = tipos[origem];
+        alvos[destino] = alvos[origem];
+    }
+
+    private void aumentarCapacidade() {
+        int novaCapacidade = chaves.length * 2;
+        long[] novasChaves = new long[novaCapacidade];
+        int[] novosTipos = new int[novaCapacidade];
+        int[] novosAlvos = new int[novaCapacidade];
+        System.arraycopy(chaves, 0, novasChaves, 0, tamanho);
+        System.arraycopy(tipos, 0, novosTipos, 0, tamanho);
+        System.arraycopy(alvos, 0, novosAlvos, 0, tamanho);
+        chaves = novasChaves;
+        tipos = novosTipos;
+        alvos = novosAlvos;
+    }
+}
@@ -1,56 +1,97 @@
 /**
- * Implementação de uma fila de prioridade usando array.
- * Mantém os elementos ordenados por prioridade.
+ * Implementação de uma fila de prioridade por classes.
+ * Mantém um buffer circular FIFO para cada classe de prioridade
+ * (cadeirante, idoso e normal), de modo que inserção e remoção são O(1)
+ * e a ordem de chegada dentro de cada classe é preservada.
  */
 public class FilaPrioridade {
     private static final int CAPACIDADE_PADRAO = 10;
-    private Pessoa[] pessoas;
+
+    private final Anel[] classes;
     private int quantidade;
-    private int capacidade;
 
     /**
      * Construtor da fila de prioridade.
-     * @param capacidade Capacidade inicial da fila
+     * @param capacidade Capacidade inicial de cada classe da fila
      */
     public FilaPrioridade(int capacidade) {
-        this.capacidade = capacidade > 0 ? capacidade : CAPACIDADE_PADRAO;
-        this.pessoas = new Pessoa[this.capacidade];
+        int capacidadeFinal = capacidade > 0 ? capacidade : CAPACIDADE_PADRAO;
+        this.classes = new Anel[Pessoa.NUMERO_CLASSES];
+        for (int i = 0; i < Pessoa.NUMERO_CLASSES; i++) {
+            classes[i] = new Anel(capacidadeFinal);
+        }
         this.quantidade = 0;
     }
 
     /**
-     * Insere uma pessoa na fila mantendo a ordem de prioridade.
+     * Insere uma pessoa no final da fila da sua classe de prioridade.
      * @param pessoa Pessoa a ser inserida
      * @return true se a inserção foi bem sucedida, false caso contrário
      */
     public boolean inserir(Pessoa pessoa) {
         if (pessoa == null) return false;
-        
-        if (quantidade >= capacidade) {
-            if (!aumentarCapacidade()) {
-                System.out.println("[ERRO] Fila cheia. Pessoa não adicionada: " + pessoa.getNome());
-                return false;
-            }
-        }
 
-        int posicao = encontrarPosicaoInsercao(pessoa);
-        deslocarElementos(posicao);
-        pessoas[posicao] = pessoa;
+        if (!classes[pessoa.getClassePrioridade()].adicionar(pessoa)) {
+            System.out.println("[ERRO] Fila cheia. Pessoa não adicionada: " + pessoa.getNome());
+            return false;
+        }
         quantidade++;
         return true;
     }
 
     /**
      * Remove e retorna a pessoa com maior prioridade.
+     * Entre pessoas da mesma classe, a que chegou primeiro é removida.
      * @return Pessoa removida ou null se a fila estiver vazia
      */
     public Pessoa removerPessoa() {
         if (estaVazia()) return null;
-        
-        Pessoa pessoa = pessoas[0];
-        deslocarElementosParaEsquerda();
-        quantidade--;
-        return pessoa;
+
+        for (Anel classe : classes) {
+            if (!classe.estaVazio()) {
+                quantidade--;
+                return classe.remover();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove e retorna a pessoa de maior prioridade designada a um elevador,
+     * mantendo a ordem das demais. Percorre a fila, por isso custa O(n).
+     * @param elevador Identificador do elevador
+     * @return Pessoa removida ou null se nenhuma pessoa estiver designada ao elevador
+     */
+    public Pessoa removerPessoaDesignada(int elevador) {
+        if (estaVazia()) return null;
+
+        for (Anel classe : classes) {
+            int posicao = classe.procurarDesignada(elevador);
+            if (posicao != -1) {
+                quantidade--;
+                return classe.removerEm(posicao);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove e retorna a pessoa de maior prioridade que espera uma zona de elevadores,
+     * mantendo a ordem das demais. Percorre a fila, por isso custa O(n).
+     * @param zona Zona do trecho da pessoa (Pessoa.getZona)
+     * @return Pessoa removida ou null se ninguém na fila esperar a zona
+     */
+    public Pessoa removerPessoaDaZona(int zona) {
+        if (estaVazia()) return null;
+
+        for (Anel classe : classes) {
+            int posicao = classe.procurarZona(zona);
+            if (posicao != -1) {
+                quantidade--;
+                return classe.removerEm(posicao);
+            }
+        }
+        return null;
     }
 
     /**
@@ -70,24 +111,24 @@ public class FilaPrioridade {
     }
 
     /**
-     * Retorna uma cópia do array de pessoas.
-     * @return Array contendo as pessoas na fila
+     * Retorna a quantidade de pessoas prioritárias (cadeirantes e idosos) na fila.
+     * @return Número de pessoas prioritárias na fila
      */
-    public Pessoa[] toArray() {
-        Pessoa[] copia = new Pessoa[quantidade];
-        System.arraycopy(pessoas, 0, copia, 0, quantidade);
-        return copia;
+    public int getQuantidadePrioritaria() {
+        return classes[Pessoa.CLASSE_CADEIRANTE].tamanho + classes[Pessoa.CLASSE_IDOSO].tamanho;
     }
 
     /**
-     * Incrementa o tempo de espera de todas as pessoas na fila.
+     * Retorna uma cópia do array de pessoas, em ordem de prioridade.
+     * @return Array contendo as pessoas na fila
      */
-    public void incrementarTempoEspera() {
-        for (int i = 0; i < quantidade; i++) {
-            if (pessoas[i] != null) {
-                pessoas[i].incrementarTempoEspera();
-            }
+    public Pessoa[] toArray() {
+        Pessoa[] copia = new Pessoa[quantidade];
+        int posicao = 0;
+        for (Anel classe : classes) {
+            posicao = classe.copiarPara(copia, posicao);
         }
+        return copia;
     }
 
     /**
@@ -95,56 +136,101 @@ public class FilaPrioridade {
      */
     public void imprimirFila() {
         System.out.println("[LOG] Fila de espera (" + quantidade + " pessoas):");
-        for (int i = 0; i < quantidade; i++) {
-            if (pessoas[i] != null) {
-                System.out.println(" - " + pessoas[i]);
-            }
+        for (Pessoa p : toArray()) {
+            System.out.println(" - " + p);
         }
     }
 
-    private boolean aumentarCapacidade() {
-        try {
-            int novaCapacidade = capacidade * 2;
-            Pessoa[] novoArray = new Pessoa[novaCapacidade];
-            System.arraycopy(pessoas, 0, novoArray, 0, quantidade);
-            pessoas = novoArray;
-            capacidade = novaCapacidade;
+    /**
+     * Buffer circular FIFO que dobra de tamanho quando fica cheio.
+     * A capacidade é sempre uma potência de dois para que o índice
+     * circular seja calculado com uma máscara.
+     */
+    private static class Anel {
+        private Pessoa[] elementos;
+        private int inicio;
+        private int tamanho;
+
+        private Anel(int capacidade) {
+            this.elementos = new Pessoa[potenciaDeDois(capacidade)];
+            this.inicio = 0;
+            this.tamanho = 0;
+        }
+
+        private boolean adicionar(Pessoa pessoa) {
+            if (tamanho == elementos.length && !aumentarCapacidade()) {
+                return false;
+            }
+            elementos[(inicio + tamanho) & (elementos.length - 1)] = pessoa;
+            tamanho++;
             return true;
-        } catch (OutOfMemoryError e) {
-            System.out.println("[ERRO] Não foi possível aumentar a capacidade da fila");
-            return false;
         }
-    }
 
-    private int encontrarPosicaoInsercao(Pessoa novaPessoa) {
-        int i = quantidade - 1;
-        while (i >= 0 && comparaPrioridade(pessoas[i], novaPessoa) < 0) {
-            i--;
+        private Pessoa remover() {
+            Pessoa pessoa = elementos[inicio];
+            elementos[inicio] = null;
+            inicio = (inicio + 1) & (elementos.length - 1);
+            tamanho--;
+            return pessoa;
         }
-        return i + 1;
-    }
 
-    private void deslocarElementos(int posicao) {
-        for (int i = quantidade; i > posicao; i--) {
-            pessoas[i] = pessoas[i - 1];
+        // Posição, a partir do início, da primeira pessoa designada ao elevador, ou -1
+        private int procurarDesignada(int elevador) {
+            int mascara = elementos.length - 1;
+            for (int i = 0; i < tamanho; i++) {
+                if (elementos[(inicio + i) & mascara].getElevadorDesignado() == elevador) return i;
+            }
+            return -1;
         }
-    }
 
-    private void deslocarElementosParaEsquerda() {
-        for (int i = 0; i < quantidade - 1; i++) {
-            pessoas[i] = pessoas[i + 1];
+        // Posição, a partir do início, da primeira pessoa que espera a zona, ou -1
+        private int procurarZona(int zona) {
+            int mascara = elementos.length - 1;
+            for (int i = 0; i < tamanho; i++) {
+                if (elementos[(inicio + i) & mascara].getZona() == zona) return i;
+            }
+            return -1;
         }
-        pessoas[quantidade - 1] = null;
-    }
 
-    private int comparaPrioridade(Pessoa a, Pessoa b) {
-        return Integer.compare(prioridadePessoa(b), prioridadePessoa(a));
-    }
+        // Remove a pessoa de uma posição, deslocando as seguintes uma posição
+        private Pessoa removerEm(int posicao) {
+            int mascara = elementos.length - 1;
+            Pessoa pessoa = elementos[(inicio + posicao) & mascara];
+            for (int j = posicao; j < tamanho - 1; j++) {
+                elementos[(inicio + j) & mascara] = elementos[(inicio + j + 1) & mascara];
+            }
+            elementos[(inicio + tamanho - 1) & mascara] = null;
+            tamanho--;
+            return pessoa;
+        }
+
+        private boolean estaVazio() {
+            return tamanho == 0;
+        }
 
-    private int prioridadePessoa(Pessoa p) {
-        if (p == null) return 0;
-        if (p.isCadeirante()) return 3;
-        if (p.isIdoso()) return 2;
-        return 1;
+        private int copiarPara(Pessoa[] destino, int posicao) {
+            int primeiroTrecho = Math.min(tamanho, elementos.length - inicio);
+            System.arraycopy(elementos, inicio, destino, posicao, primeiroTrecho);
+            System.arraycopy(elementos, 0, destino, posicao + primeiroTrecho, tamanho - primeiroTrecho);
+            return posicao + tamanho;
+        }
+
+        private boolean aumentarCapacidade() {
+            try {
+                Pessoa[] novoArray = new Pessoa[elementos.length * 2];
+                copiarPara(novoArray, 0);
+                elementos = novoArray;
+                inicio = 0;
+                return true;
+            } catch (OutOfMemoryError e) {
+                System.out.println("[ERRO] Não foi possível aumentar a capacidade da fila");
+                return false;
+            }
+        }
+
+        private static int potenciaDeDois(int valor) {
+            int potencia = Integer.highestOneBit(valor);
+            return potencia == valor ? valor : potencia << 1;
+        }
     }
 }
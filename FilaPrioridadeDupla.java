@@ -6,15 +6,39 @@ public class FilaPrioridadeDupla {
     private static final int CAPACIDADE_PADRAO = 10;
     private final FilaPrioridade filaSubir;
     private final FilaPrioridade filaDescer;
+    private final int andar;
+    private final IndiceChamadas indice;
+    private OuvinteTransicaoFila ouvinteTransicao;
 
     /**
      * Construtor da fila dupla de prioridade.
      * @param capacidade Capacidade inicial de cada fila
      */
     public FilaPrioridadeDupla(int capacidade) {
+        this(capacidade, -1, null);
+    }
+
+    /**
+     * Construtor da fila dupla de prioridade ligada ao índice de chamadas do prédio.
+     * @param capacidade Capacidade inicial de cada fila
+     * @param andar Andar ao qual a fila pertence
+     * @param indice Índice atualizado a cada inserção e remoção, ou null
+     */
+    public FilaPrioridadeDupla(int capacidade, int andar, IndiceChamadas indice) {
         int capacidadeFinal = capacidade > 0 ? capacidade : CAPACIDADE_PADRAO;
         this.filaSubir = new FilaPrioridade(capacidadeFinal);
         this.filaDescer = new FilaPrioridade(capacidadeFinal);
+        this.andar = andar;
+        this.indice = indice;
+    }
+
+    /**
+     * Define quem é avisado quando a fila de subida ou de descida passa de vazia
+     * para ocupada ou de ocupada para vazia.
+     * @param ouvinteTransicao Ouvinte das transições, ou null
+     */
+    public void setOuvinteTransicao(OuvinteTransicaoFila ouvinteTransicao) {
+        this.ouvinteTransicao = ouvinteTransicao;
     }
 
     /**
@@ -25,11 +49,45 @@ public class FilaPrioridadeDupla {
     public boolean inserir(Pessoa pessoa) {
         if (pessoa == null) return false;
 
-        if (pessoa.getAndarDestino() > pessoa.getAndarOrigem()) {
-            return filaSubir.inserir(pessoa);
-        } else {
-            return filaDescer.inserir(pessoa);
+        boolean subir = pessoa.getAndarDestino() > pessoa.getAndarOrigem();
+        FilaPrioridade fila = subir ? filaSubir : filaDescer;
+        if (!fila.inserir(pessoa)) return false;
+
+        atualizarIndice();
+        if (ouvinteTransicao != null && fila.getQuantidade() == 1) {
+            ouvinteTransicao.filaOcupada(andar, subir);
+        }
+        return true;
+    }
+
+    /**
+     * Insere de uma vez um trecho de um array de pessoas que esperam neste andar,
+     * na ordem do array. O índice de chamadas é atualizado e as transições são
+     * avisadas uma vez por lote, e não uma vez por pessoa.
+     * @param pessoas Pessoas a serem inseridas
+     * @param inicio Posição da primeira pessoa do lote
+     * @param fim Posição seguinte à última pessoa do lote
+     * @return Número de pessoas inseridas; a inserção para na primeira que falhar
+     */
+    public int inserirLote(Pessoa[] pessoas, int inicio, int fim) {
+        boolean subirVazia = filaSubir.estaVazia();
+        boolean descerVazia = filaDescer.estaVazia();
+        int i = inicio;
+        while (i < fim) {
+            Pessoa pessoa = pessoas[i];
+            FilaPrioridade fila = pessoa.getAndarDestino() > pessoa.getAndarOrigem() ? filaSubir : filaDescer;
+            if (!fila.inserir(pessoa)) break;
+            i++;
+        }
+
+        if (i > inicio) {
+            atualizarIndice();
+            if (ouvinteTransicao != null) {
+                if (subirVazia && !filaSubir.estaVazia()) ouvinteTransicao.filaOcupada(andar, true);
+                if (descerVazia && !filaDescer.estaVazia()) ouvinteTransicao.filaOcupada(andar, false);
+            }
         }
+        return i - inicio;
     }
 
     /**
@@ -37,7 +95,9 @@ public class FilaPrioridadeDupla {
      * @return Pessoa removida ou null se a fila estiver vazia
      */
     public Pessoa removerPessoaSubir() {
-        return filaSubir.removerPessoa();
+        Pessoa pessoa = filaSubir.removerPessoa();
+        if (pessoa != null) aposRemocao(filaSubir, true);
+        return pessoa;
     }
 
     /**
@@ -45,7 +105,35 @@ public class FilaPrioridadeDupla {
      * @return Pessoa removida ou null se a fila estiver vazia
      */
     public Pessoa removerPessoaDescer() {
-        return filaDescer.removerPessoa();
+        Pessoa pessoa = filaDescer.removerPessoa();
+        if (pessoa != null) aposRemocao(filaDescer, false);
+        return pessoa;
+    }
+
+    /**
+     * Remove e retorna a próxima pessoa de um sentido designada a um elevador.
+     * @param subir true para a fila de subida, false para a de descida
+     * @param elevador Identificador do elevador
+     * @return Pessoa removida ou null se ninguém daquele sentido estiver designado ao elevador
+     */
+    public Pessoa removerPessoaDesignada(boolean subir, int elevador) {
+        FilaPrioridade fila = subir ? filaSubir : filaDescer;
+        Pessoa pessoa = fila.removerPessoaDesignada(elevador);
+        if (pessoa != null) aposRemocao(fila, subir);
+        return pessoa;
+    }
+
+    /**
+     * Remove e retorna a próxima pessoa de um sentido que espera uma zona de elevadores.
+     * @param subir true para a fila de subida, false para a de descida
+     * @param zona Zona do trecho da pessoa (Pessoa.getZona)
+     * @return Pessoa removida ou null se ninguém daquele sentido esperar a zona
+     */
+    public Pessoa removerPessoaDaZona(boolean subir, int zona) {
+        FilaPrioridade fila = subir ? filaSubir : filaDescer;
+        Pessoa pessoa = fila.removerPessoaDaZona(zona);
+        if (pessoa != null) aposRemocao(fila, subir);
+        return pessoa;
     }
 
     /**
@@ -72,6 +160,46 @@ public class FilaPrioridadeDupla {
         return !filaSubir.estaVazia() || !filaDescer.estaVazia();
     }
 
+    /**
+     * Verifica se há pessoas prioritárias esperando em qualquer uma das filas.
+     * @return true se houver cadeirantes ou idosos esperando, false caso contrário
+     */
+    public boolean temPessoaPrioritaria() {
+        return filaSubir.getQuantidadePrioritaria() > 0 || filaDescer.getQuantidadePrioritaria() > 0;
+    }
+
+    /**
+     * Retorna a quantidade de pessoas esperando para subir.
+     * @return Número de pessoas na fila de subida
+     */
+    public int getQuantidadeSubir() {
+        return filaSubir.getQuantidade();
+    }
+
+    /**
+     * Retorna a quantidade de pessoas esperando para descer.
+     * @return Número de pessoas na fila de descida
+     */
+    public int getQuantidadeDescer() {
+        return filaDescer.getQuantidade();
+    }
+
+    /**
+     * Retorna a quantidade de pessoas prioritárias esperando para subir.
+     * @return Número de cadeirantes e idosos na fila de subida
+     */
+    public int getQuantidadePrioritariaSubir() {
+        return filaSubir.getQuantidadePrioritaria();
+    }
+
+    /**
+     * Retorna a quantidade de pessoas prioritárias esperando para descer.
+     * @return Número de cadeirantes e idosos na fila de descida
+     */
+    public int getQuantidadePrioritariaDescer() {
+        return filaDescer.getQuantidadePrioritaria();
+    }
+
     /**
      * Retorna uma cópia do array de pessoas da fila de subida.
      * @return Array contendo as pessoas na fila de subida
@@ -88,14 +216,6 @@ public class FilaPrioridadeDupla {
         return filaDescer.toArray();
     }
 
-    /**
-     * Incrementa o tempo de espera de todas as pessoas em ambas as filas.
-     */
-    public void incrementarTempoEspera() {
-        filaSubir.incrementarTempoEspera();
-        filaDescer.incrementarTempoEspera();
-    }
-
     /**
      * Conta quantas pessoas estão esperando para subir em um andar específico.
      * @param andar Andar a ser verificado
@@ -124,6 +244,19 @@ public class FilaPrioridadeDupla {
         filaDescer.imprimirFila();
     }
 
+    private void aposRemocao(FilaPrioridade fila, boolean subir) {
+        atualizarIndice();
+        if (ouvinteTransicao != null && fila.estaVazia()) {
+            ouvinteTransicao.filaEsvaziada(andar, subir);
+        }
+    }
+
+    private void atualizarIndice() {
+        if (indice != null) {
+            indice.atualizar(andar, temPessoasEsperando(), temPessoaPrioritaria());
+        }
+    }
+
     private int contarPessoasNoAndar(Pessoa[] pessoas, int andar) {
         int count = 0;
         for (Pessoa p : pessoas) {
@@ -0,0 +1,389 @@
+import java.util.SplittableRandom;
+
+/**
+ * Gera as chegadas de um prédio de escritórios ao longo do dia. O número de pessoas
+ * de cada minuto segue uma distribuição de Poisson com a taxa do minuto, tirada de
+ * uma tabela de 1440 taxas calculada uma vez, na criação. A taxa de cada minuto é a
+ * soma de quatro padrões de tráfego, cada um com a sua matriz origem–destino:
+ *
+ * - subida (pico da manhã e volta do almoço): do térreo para os andares de cima;
+ * - descida (saída para o almoço e pico da tarde): dos andares de cima para o térreo;
+ * - almoço: metade das viagens começa ou termina no térreo, o resto entre andares;
+ * - entre andares: viagens entre os andares de cima, ao longo do expediente.
+ *
+ * Cada matriz é o produto de um peso de origem por um peso de destino, com a
+ * diagonal (origem igual ao destino) excluída por rejeição. Assim a matriz de um
+ * prédio de n andares ocupa O(n), em vez de O(n²), e cada sorteio de origem e de
+ * destino custa O(1) com o método de alias. Idade, cadeira de rodas e peso seguem a
+ * demografia da configuração.
+ *
+ * O número de chegadas e as pessoas são sorteados por geradores separados, e o número
+ * de chegadas de cada minuto é sorteado uma única vez, em ordem. Por isso procurar o
+ * próximo minuto com chegadas, como faz a simulação por eventos, não altera as pessoas
+ * geradas.
+ */
+public class GeradorTrafego {
+    public static final int PADRAO_SUBIDA = 0;
+    public static final int PADRAO_DESCIDA = 1;
+    public static final int PADRAO_ALMOCO = 2;
+    public static final int PADRAO_ENTRE_ANDARES = 3;
+    public static final int NUMERO_PADROES = 4;
+
+    private static final int MINUTOS_DIA = 1440;
+    private static final int TERREO = 0;
+
+    // Perfil de um dia útil: cada componente é uma curva normal com padrão, minuto do
+    // centro, desvio em minutos e intensidade relativa
+    private static final double[][] COMPONENTES_DIA = {
+        {PADRAO_SUBIDA, 510, 35, 1.0},           // chegada, 8h30
+        {PADRAO_SUBIDA, 810, 20, 0.35},          // volta do almoço, 13h30
+        {PADRAO_DESCIDA, 720, 20, 0.35},         // saída para o almoço, 12h
+        {PADRAO_DESCIDA, 1050, 40, 0.9},         // saída, 17h30
+        {PADRAO_ALMOCO, 750, 45, 0.4},           // almoço, 12h30
+        {PADRAO_ENTRE_ANDARES, 780, 200, 0.15},  // expediente
+    };
+    // Tráfego entre andares presente a qualquer hora, como fração do pico
+    private static final double INTENSIDADE_NOTURNA = 0.01;
+
+    // Abaixo desta média o número de chegadas é sorteado pelo produto de uniformes
+    private static final double MEDIA_MAXIMA_PRODUTO = 30;
+
+    private static final int PESO_MINIMO = 20;
+    private static final int PESO_MAXIMO = 250;
+
+    private final SplittableRandom aleatorioChegadas;
+    private final SplittableRandom aleatorioPessoas;
+
+    // Taxa de chegadas por minuto do dia, no total e por minuto e padrão
+    private final double[] taxa;
+    private final double[] taxaPadrao;
+
+    // Pesos de origem e de destino de cada padrão
+    private final TabelaAlias[] origens;
+    private final TabelaAlias[] destinos;
+
+    // Demografia: faixas de idade (mínima e máxima por faixa), cadeirantes e peso
+    private final int[] idadeMinima;
+    private final int[] idadeMaxima;
+    private final TabelaAlias faixasIdade;
+    private final int percentualCadeirantes;
+    private final int pesoMedio;
+    private final int desvioPeso;
+
+    // Último minuto cujo número de chegadas já foi sorteado e esse número
+    private int minutoSorteado = -1;
+    private int chegadasSorteadas;
+
+    /**
+     * Construtor do gerador de tráfego.
+     * @param config Configuração, usada para o número de andares, a taxa no pico e a demografia
+     * @param aleatorio Gerador do qual são derivados os geradores das chegadas e das pessoas
+     */
+    public GeradorTrafego(Configuracao config, SplittableRandom aleatorio) {
+        this.aleatorioChegadas = aleatorio.split();
+        this.aleatorioPessoas = aleatorio.split();
+
+        this.taxa = new double[MINUTOS_DIA];
+        this.taxaPadrao = new double[MINUTOS_DIA * NUMERO_PADROES];
+        calcularTaxas(config.getTaxaPico());
+
+        int n = config.getNumeroAndares();
+        double[] populacao = new double[n];
+        double[] terreo = new double[n];
+        for (int a = 0; a < n; a++) {
+            populacao[a] = a == TERREO ? 0 : 1;
+        }
+        terreo[TERREO] = 1;
+        double[] almoco = populacao.clone();
+        almoco[TERREO] = n - 1;
+        double[] entreAndares = populacao.clone();
+        if (n == 2) {
+            // Com um só andar acima do térreo não há viagem entre andares de cima
+            entreAndares[TERREO] = 1;
+        }
+        this.origens = new TabelaAlias[NUMERO_PADROES];
+        this.destinos = new TabelaAlias[NUMERO_PADROES];
+        origens[PADRAO_SUBIDA] = new TabelaAlias(terreo);
+        destinos[PADRAO_SUBIDA] = new TabelaAlias(populacao);
+        origens[PADRAO_DESCIDA] = destinos[PADRAO_SUBIDA];
+        destinos[PADRAO_DESCIDA] = origens[PADRAO_SUBIDA];
+        origens[PADRAO_ALMOCO] = new TabelaAlias(almoco);
+        destinos[PADRAO_ALMOCO] = origens[PADRAO_ALMOCO];
+        origens[PADRAO_ENTRE_ANDARES] = new TabelaAlias(entreAndares);
+        destinos[PADRAO_ENTRE_ANDARES] = origens[PADRAO_ENTRE_ANDARES];
+
+        int[] faixas = lerFaixasIdade(config.getIdades());
+        int numeroFaixas = faixas.length / 3;
+        this.idadeMinima = new int[numeroFaixas];
+        this.idadeMaxima = new int[numeroFaixas];
+        double[] pesosFaixas = new double[numeroFaixas];
+        for (int i = 0; i < numeroFaixas; i++) {
+            idadeMinima[i] = faixas[3 * i];
+            idadeMaxima[i] = faixas[3 * i + 1];
+            pesosFaixas[i] = faixas[3 * i + 2];
+        }
+        this.faixasIdade = new TabelaAlias(pesosFaixas);
+        this.percentualCadeirantes = config.getPercentualCadeirantes();
+        this.pesoMedio = config.getPesoMedio();
+        this.desvioPeso = config.getDesvioPeso();
+    }
+
+    /**
+     * Lê uma distribuição de idades no formato minima-maxima:peso, com as faixas
+     * separadas por ',' (por exemplo "18-29:25,30-59:60,60-79:15").
+     * @param especificacao Faixas de idade
+     * @return Idade mínima, idade máxima e peso de cada faixa, em sequência
+     * @throws IllegalArgumentException se a especificação for inválida
+     */
+    public static int[] lerFaixasIdade(String especificacao) {
+        String[] entradas = especificacao.split(",");
+        int[] faixas = new int[entradas.length * 3];
+        long pesoTotal = 0;
+        for (int i = 0; i < entradas.length; i++) {
+            String entrada = entradas[i].trim();
+            int hifen = entrada.indexOf('-');
+            int doisPontos = entrada.indexOf(':');
+            exigir(hifen > 0 && doisPontos > hifen,
+                   "Faixa de idade inválida: '" + entrada + "' (use minima-maxima:peso, por exemplo 18-59:85)");
+            faixas[3 * i] = lerInteiro(entrada.substring(0, hifen), entrada);
+            faixas[3 * i + 1] = lerInteiro(entrada.substring(hifen + 1, doisPontos), entrada);
+            faixas[3 * i + 2] = lerInteiro(entrada.substring(doisPontos + 1), entrada);
+            exigir(faixas[3 * i] >= 0 && faixas[3 * i] <= faixas[3 * i + 1],
+                   "Faixa de idade inválida: '" + entrada + "'");
+            exigir(faixas[3 * i + 2] >= 0, "Peso negativo na faixa de idade '" + entrada + "'");
+            pesoTotal += faixas[3 * i + 2];
+        }
+        exigir(pesoTotal > 0, "Pelo menos uma faixa de idade deve ter peso maior que zero");
+        return faixas;
+    }
+
+    /**
+     * Retorna quantas pessoas chegam em um minuto. O número de cada minuto é sorteado
+     * uma vez, na primeira consulta, e os minutos devem ser consultados em ordem;
+     * um minuto anterior ao último consultado não tem mais chegadas.
+     * @param minuto Minuto da simulação
+     * @return Número de pessoas que chegam no minuto
+     */
+    public int getChegadas(int minuto) {
+        while (minutoSorteado < minuto) {
+            minutoSorteado++;
+            chegadasSorteadas = sortearPoisson(taxa[minutoSorteado % MINUTOS_DIA]);
+        }
+        return minuto == minutoSorteado ? chegadasSorteadas : 0;
+    }
+
+    /**
+     * Retorna o próximo minuto, depois de um minuto dado, em que chegam pessoas.
+     * A busca vai até um dia à frente; se nenhum minuto tiver chegadas, retorna o
+     * minuto um dia depois, em que a busca recomeça.
+     * @param minuto Minuto da simulação
+     * @return Próximo minuto com chegadas
+     */
+    public int proximoMinutoComChegadas(int minuto) {
+        for (int t = minuto + 1; t < minuto + MINUTOS_DIA; t++) {
+            if (getChegadas(t) > 0) return t;
+        }
+        return minuto + MINUTOS_DIA;
+    }
+
+    /**
+     * Gera uma pessoa que chega em um minuto: sorteia o padrão de tráfego na proporção
+     * das taxas do minuto, a origem e o destino pela matriz do padrão e a demografia.
+     * @param nome Nome da pessoa
+     * @param minuto Minuto da chegada
+     * @return Pessoa gerada
+     */
+    public Pessoa gerarPessoa(String nome, int minuto) {
+        int m = minuto % MINUTOS_DIA;
+        int base = m * NUMERO_PADROES;
+        double u = aleatorioPessoas.nextDouble() * taxa[m];
+        int padrao = 0;
+        while (padrao < NUMERO_PADROES - 1 && u >= taxaPadrao[base + padrao]) {
+            u -= taxaPadrao[base + padrao];
+            padrao++;
+        }
+
+        int origem;
+        int destino;
+        do {
+            origem = origens[padrao].sortear(aleatorioPessoas);
+            destino = destinos[padrao].sortear(aleatorioPessoas);
+        } while (origem == destino);
+
+        int faixa = faixasIdade.sortear(aleatorioPessoas);
+        int idade = idadeMinima[faixa] + aleatorioPessoas.nextInt(idadeMaxima[faixa] - idadeMinima[faixa] + 1);
+        boolean cadeirante = aleatorioPessoas.nextInt(100) < percentualCadeirantes;
+        long peso = Math.round(pesoMedio + desvioPeso * aleatorioPessoas.nextGaussian());
+        peso = Math.max(PESO_MINIMO, Math.min(PESO_MAXIMO, peso));
+
+        return new Pessoa(nome, idade, cadeirante, (int) peso, origem, destino, minuto);
+    }
+
+    /**
+     * Retorna a taxa de chegadas (média de pessoas por minuto) de um minuto.
+     * @param minuto Minuto da simulação
+     * @return Taxa do minuto
+     */
+    public double getTaxa(int minuto) {
+        return taxa[minuto % MINUTOS_DIA];
+    }
+
+    /**
+     * Retorna a taxa de chegadas de um padrão de tráfego em um minuto.
+     * @param minuto Minuto da simulação
+     * @param padrao Padrão (PADRAO_*)
+     * @return Taxa do padrão no minuto
+     */
+    public double getTaxa(int minuto, int padrao) {
+        return taxaPadrao[(minuto % MINUTOS_DIA) * NUMERO_PADROES + padrao];
+    }
+
+    // Soma as componentes do perfil de cada padrão e escala a tabela para que o minuto
+    // mais movimentado tenha a taxa de pico
+    private void calcularTaxas(int taxaPico) {
+        double maior = 0;
+        for (int m = 0; m < MINUTOS_DIA; m++) {
+            int base = m * NUMERO_PADROES;
+            taxaPadrao[base + PADRAO_ENTRE_ANDARES] = INTENSIDADE_NOTURNA;
+            for (double[] componente : COMPONENTES_DIA) {
+                double z = (m - componente[1]) / componente[2];
+                taxaPadrao[base + (int) componente[0]] += componente[3] * Math.exp(-0.5 * z * z);
+            }
+            double total = 0;
+            for (int p = 0; p < NUMERO_PADROES; p++) {
+                total += taxaPadrao[base + p];
+            }
+            taxa[m] = total;
+            maior = Math.max(maior, total);
+        }
+        double escala = taxaPico / maior;
+        for (int m = 0; m < MINUTOS_DIA; m++) {
+            taxa[m] *= escala;
+            for (int p = 0; p < NUMERO_PADROES; p++) {
+                taxaPadrao[m * NUMERO_PADROES + p] *= escala;
+            }
+        }
+    }
+
+    // Número de Poisson com a média dada: produto de uniformes (Knuth) para médias
+    // pequenas e, para as grandes, rejeição transformada (PTRS, Hörmann 1993), com
+    // custo esperado constante
+    private int sortearPoisson(double media) {
+        if (media <= 0) return 0;
+        if (media < MEDIA_MAXIMA_PRODUTO) {
+            double limite = Math.exp(-media);
+            double produto = aleatorioChegadas.nextDouble();
+            int k = 0;
+            while (produto > limite) {
+                k++;
+                produto *= aleatorioChegadas.nextDouble();
+            }
+            return k;
+        }
+
+        double raiz = Math.sqrt(media);
+        double logMedia = Math.log(media);
+        double b = 0.931 + 2.53 * raiz;
+        double a = -0.059 + 0.02483 * b;
+        double inversoAlfa = 1.1239 + 1.1328 / (b - 3.4);
+        double vr = 0.9277 - 3.6224 / (b - 2);
+        while (true) {
+            double u = aleatorioChegadas.nextDouble() - 0.5;
+            double v = aleatorioChegadas.nextDouble();
+            double us = 0.5 - Math.abs(u);
+            int k = (int) Math.floor((2 * a / us + b) * u + media + 0.43);
+            if (us >= 0.07 && v <= vr) return k;
+            if (k < 0 || (us < 0.013 && v > us)) continue;
+            if (Math.log(v * inversoAlfa / (a / (us * us) + b)) <= -media + k * logMedia - logFatorial(k)) {
+                return k;
+            }
+        }
+    }
+
+    // log(k!) pela série de Stirling, exata em precisão dupla a partir de k = 10
+    private static double logFatorial(int k) {
+        if (k < 10) {
+            double fatorial = 1;
+            for (int i = 2; i <= k; i++) {
+                fatorial *= i;
+            }
+            return Math.log(fatorial);
+        }
+        double inverso = 1.0 / k;
+        return (k + 0.5) * Math.log(k) - k + 0.5 * Math.log(2 * Math.PI)
+               + inverso * (1.0 / 12 - inverso * inverso / 360);
+    }
+
+    private static int lerInteiro(String valor, String entrada) {
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número inválido '" + valor.trim() + "' na faixa de idade '"
+                                               + entrada + "'");
+        }
+    }
+
+    private static void exigir(boolean condicao, String mensagem) {
+        if (!condicao) {
+            throw new IllegalArgumentException(mensagem);
+        }
+    }
+
+    /**
+     * Tabela do método de alias (Vose): sorteia um índice com probabilidade proporcional
+     * ao seu peso usando um inteiro e um real uniformes, em O(1). A construção é O(n).
+     */
+    private static class TabelaAlias {
+        private final double[] probabilidade;
+        private final int[] alias;
+
+        private TabelaAlias(double[] pesos) {
+            int n = pesos.length;
+            this.probabilidade = new double[n];
+            this.alias = new int[n];
+            double total = 0;
+            for (double peso : pesos) {
+                total += peso;
+            }
+
+            // Índices abaixo e acima da média, em duas pilhas
+            int[] pequenos = new int[n];
+            int[] grandes = new int[n];
+            int numPequenos = 0;
+            int numGrandes = 0;
+            double[] escalado = new double[n];
+            for (int i = 0; i < n; i++) {
+                escalado[i] = pesos[i] * n / total;
+                if (escalado[i] < 1) {
+                    pequenos[numPequenos++] = i;
+                } else {
+                    grandes[numGrandes++] = i;
+                }
+            }
+            // Cada índice pequeno completa sua coluna com um grande, que perde o que cedeu
+            while (numPequenos > 0 && numGrandes > 0) {
+                int pequeno = pequenos[--numPequenos];
+                int grande = grandes[numGrandes - 1];
+                probabilidade[pequeno] = escalado[pequeno];
+                alias[pequeno] = grande;
+                escalado[grande] -= 1 - escalado[pequeno];
+                if (escalado[grande] < 1) {
+                    numGrandes--;
+                    pequenos[numPequenos++] = grande;
+                }
+            }
+            // O que sobra tem probabilidade 1, a menos de arredondamento
+            while (numGrandes > 0) {
+                probabilidade[grandes[--numGrandes]] = 1;
+            }
+            while (numPequenos > 0) {
+                probabilidade[pequenos[--numPequenos]] = 1;
+            }
+        }
+
+        private int sortear(SplittableRandom aleatorio) {
+            int i = aleatorio.nextInt(probabilidade.length);
+            return aleatorio.nextDouble() < probabilidade[i] ? i : alias[i];
+        }
+    }
+}
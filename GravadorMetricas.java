@@ -0,0 +1,253 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grava séries temporais por minuto da simulação em arrays primitivos pré-alocados.
+ * Para cada minuto guarda o tamanho das filas de subida e descida de cada andar e,
+ * para cada elevador, andar, passageiros, peso, energia gasta, embarques e desembarques.
+ *
+ * Os arrays formam um buffer circular com capacidade fixa de minutos: registrar um
+ * minuto só copia números, sem alocar memória, e em execuções mais longas que a
+ * capacidade os minutos mais antigos são sobrescritos, de modo que a memória fica constante.
+ * As séries podem ser exportadas em CSV ou em um arquivo binário por colunas.
+ */
+public class GravadorMetricas {
+    public static final int CAPACIDADE_PADRAO = 1440;
+
+    // Cabeçalho do arquivo binário: "ELVM", versão, andares, elevadores e número de linhas
+    private static final int ASSINATURA_BINARIO = 0x454C564D;
+    private static final int VERSAO_BINARIO = 1;
+    private static final int TAMANHO_BUFFER_EXPORTACAO = 64 * 1024;
+
+    private final int numeroAndares;
+    private final int numeroElevadores;
+    private final int capacidade;
+
+    // Uma linha por minuto; as colunas de andares e elevadores ficam lado a lado na linha
+    private final int[] minutos;
+    private final int[] filaSubir;
+    private final int[] filaDescer;
+    private final int[] andarElevador;
+    private final int[] passageiros;
+    private final int[] peso;
+    private final float[] energia;
+    private final int[] embarques;
+    private final int[] desembarques;
+
+    private int proximaLinha;
+    private long minutosRegistrados;
+
+    /**
+     * Construtor com a capacidade padrão de um dia.
+     * @param numeroAndares Número de andares do prédio
+     * @param numeroElevadores Número de elevadores
+     */
+    public GravadorMetricas(int numeroAndares, int numeroElevadores) {
+        this(numeroAndares, numeroElevadores, CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * Construtor do gravador de métricas.
+     * @param numeroAndares Número de andares do prédio
+     * @param numeroElevadores Número de elevadores
+     * @param capacidade Número máximo de minutos guardados
+     * @throws IllegalArgumentException se algum parâmetro for menor ou igual a zero
+     */
+    public GravadorMetricas(int numeroAndares, int numeroElevadores, int capacidade) {
+        if (numeroAndares <= 0 || numeroElevadores <= 0 || capacidade <= 0) {
+            throw new IllegalArgumentException("Andares, elevadores e capacidade das métricas devem ser maiores que zero");
+        }
+        this.numeroAndares = numeroAndares;
+        this.numeroElevadores = numeroElevadores;
+        this.capacidade = capacidade;
+        this.minutos = new int[capacidade];
+        this.filaSubir = new int[capacidade * numeroAndares];
+        this.filaDescer = new int[capacidade * numeroAndares];
+        this.andarElevador = new int[capacidade * numeroElevadores];
+        this.passageiros = new int[capacidade * numeroElevadores];
+        this.peso = new int[capacidade * numeroElevadores];
+        this.energia = new float[capacidade * numeroElevadores];
+        this.embarques = new int[capacidade * numeroElevadores];
+        this.desembarques = new int[capacidade * numeroElevadores];
+    }
+
+    /**
+     * Registra o estado do prédio no fim de um minuto.
+     * @param minuto Minuto da simulação
+     * @param filas Filas de espera por andar
+     * @param elevadores Elevadores, depois da consolidação do ciclo
+     */
+    public void registrar(int minuto, FilaPrioridadeDupla[] filas, Elevador[] elevadores) {
+        registrar(minuto, filas, elevadores, null);
+    }
+
+    /**
+     * Registra o estado do prédio no fim de um minuto em que só alguns elevadores deram
+     * um passo, como na simulação por eventos. Os demais estavam parados: a energia,
+     * os embarques e os desembarques deles no minuto são zero.
+     * @param minuto Minuto da simulação
+     * @param filas Filas de espera por andar
+     * @param elevadores Elevadores, depois da consolidação do ciclo
+     * @param comPasso Indica, por elevador, se ele deu um passo no minuto; null para todos
+     */
+    public void registrar(int minuto, FilaPrioridadeDupla[] filas, Elevador[] elevadores, boolean[] comPasso) {
+        int linha = proximaLinha;
+        minutos[linha] = minuto;
+
+        int base = linha * numeroAndares;
+        for (int a = 0; a < numeroAndares; a++) {
+            filaSubir[base + a] = filas[a].getQuantidadeSubir();
+            filaDescer[base + a] = filas[a].getQuantidadeDescer();
+        }
+
+        base = linha * numeroElevadores;
+        for (int e = 0; e < numeroElevadores; e++) {
+            Elevador elevador = elevadores[e];
+            andarElevador[base + e] = elevador.getAndarAtual();
+            passageiros[base + e] = elevador.getNumPassageiros();
+            peso[base + e] = elevador.getPesoAtual();
+            boolean passo = comPasso == null || comPasso[e];
+            energia[base + e] = passo ? (float) elevador.getEnergiaGastaCiclo() : 0;
+            embarques[base + e] = passo ? elevador.getNumReservados() : 0;
+            desembarques[base + e] = passo ? elevador.getNumDesembarcados() : 0;
+        }
+
+        proximaLinha = linha + 1 == capacidade ? 0 : linha + 1;
+        minutosRegistrados++;
+    }
+
+    /**
+     * Retorna o número de minutos guardados, no máximo a capacidade.
+     * @return Número de linhas disponíveis para exportação
+     */
+    public int getLinhas() {
+        return (int) Math.min(minutosRegistrados, capacidade);
+    }
+
+    /**
+     * Retorna o número de minutos registrados desde o início, incluindo os sobrescritos.
+     * @return Total de minutos registrados
+     */
+    public long getMinutosRegistrados() {
+        return minutosRegistrados;
+    }
+
+    /**
+     * Exporta as séries em CSV, uma linha por minuto, do mais antigo ao mais recente.
+     * @param caminho Caminho do arquivo
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    public void exportarCsv(String caminho) throws IOException {
+        try (BufferedWriter saida = Files.newBufferedWriter(Paths.get(caminho), StandardCharsets.UTF_8)) {
+            StringBuilder linhaTexto = new StringBuilder(64 + 16 * (2 * numeroAndares + 6 * numeroElevadores));
+            linhaTexto.append("minuto");
+            for (int a = 0; a < numeroAndares; a++) {
+                linhaTexto.append(",andar_").append(a).append("_subir");
+                linhaTexto.append(",andar_").append(a).append("_descer");
+            }
+            for (int e = 1; e <= numeroElevadores; e++) {
+                linhaTexto.append(",elevador_").append(e).append("_andar");
+                linhaTexto.append(",elevador_").append(e).append("_passageiros");
+                linhaTexto.append(",elevador_").append(e).append("_peso");
+                linhaTexto.append(",elevador_").append(e).append("_energia");
+                linhaTexto.append(",elevador_").append(e).append("_embarques");
+                linhaTexto.append(",elevador_").append(e).append("_desembarques");
+            }
+            saida.append(linhaTexto).append('\n');
+
+            int linhas = getLinhas();
+            for (int i = 0; i < linhas; i++) {
+                int linha = linhaFisica(i);
+                linhaTexto.setLength(0);
+                linhaTexto.append(minutos[linha]);
+                int base = linha * numeroAndares;
+                for (int a = 0; a < numeroAndares; a++) {
+                    linhaTexto.append(',').append(filaSubir[base + a]);
+                    linhaTexto.append(',').append(filaDescer[base + a]);
+                }
+                base = linha * numeroElevadores;
+                for (int e = 0; e < numeroElevadores; e++) {
+                    linhaTexto.append(',').append(andarElevador[base + e]);
+                    linhaTexto.append(',').append(passageiros[base + e]);
+                    linhaTexto.append(',').append(peso[base + e]);
+                    linhaTexto.append(',').append(energia[base + e]);
+                    linhaTexto.append(',').append(embarques[base + e]);
+                    linhaTexto.append(',').append(desembarques[base + e]);
+                }
+                saida.append(linhaTexto).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Exporta as séries em um arquivo binário por colunas (big-endian).
+     * Formato: assinatura "ELVM", versão, andares, elevadores e linhas (int de 4 bytes cada),
+     * seguidos das colunas inteiras, cada uma com um valor por linha, nesta ordem:
+     * minuto; fila de subida e fila de descida de cada andar; andar, passageiros, peso,
+     * energia (float), embarques e desembarques de cada elevador.
+     * @param caminho Caminho do arquivo
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    public void exportarBinario(String caminho) throws IOException {
+        int linhas = getLinhas();
+        try (FileChannel canal = FileChannel.open(Paths.get(caminho), StandardOpenOption.CREATE,
+                                                  StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER_EXPORTACAO);
+            buffer.putInt(ASSINATURA_BINARIO).putInt(VERSAO_BINARIO)
+                  .putInt(numeroAndares).putInt(numeroElevadores).putInt(linhas);
+
+            gravarColuna(canal, buffer, minutos, 0, 1, linhas);
+            for (int a = 0; a < numeroAndares; a++) {
+                gravarColuna(canal, buffer, filaSubir, a, numeroAndares, linhas);
+                gravarColuna(canal, buffer, filaDescer, a, numeroAndares, linhas);
+            }
+            for (int e = 0; e < numeroElevadores; e++) {
+                gravarColuna(canal, buffer, andarElevador, e, numeroElevadores, linhas);
+                gravarColuna(canal, buffer, passageiros, e, numeroElevadores, linhas);
+                gravarColuna(canal, buffer, peso, e, numeroElevadores, linhas);
+                for (int i = 0; i < linhas; i++) {
+                    garantirEspaco(canal, buffer);
+                    buffer.putFloat(energia[linhaFisica(i) * numeroElevadores + e]);
+                }
+                gravarColuna(canal, buffer, embarques, e, numeroElevadores, linhas);
+                gravarColuna(canal, buffer, desembarques, e, numeroElevadores, linhas);
+            }
+
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        }
+    }
+
+    // Grava uma coluna guardada com um deslocamento dentro de cada linha
+    private void gravarColuna(FileChannel canal, ByteBuffer buffer, int[] dados,
+                              int coluna, int largura, int linhas) throws IOException {
+        for (int i = 0; i < linhas; i++) {
+            garantirEspaco(canal, buffer);
+            buffer.putInt(dados[linhaFisica(i) * largura + coluna]);
+        }
+    }
+
+    private void garantirEspaco(FileChannel canal, ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() >= Integer.BYTES) return;
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Converte a posição cronológica (0 = mais antiga) na linha do buffer circular
+    private int linhaFisica(int posicao) {
+        if (minutosRegistrados <= capacidade) return posicao;
+        int linha = proximaLinha + posicao;
+        return linha >= capacidade ? linha - capacidade : linha;
+    }
+}
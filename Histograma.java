@@ -0,0 +1,137 @@
+/**
+ * Histograma de memória fixa com faixas log-lineares para valores inteiros não negativos.
+ * Valores até SUBFAIXAS são contados exatamente; acima disso cada potência de dois é
+ * dividida em SUBFAIXAS faixas iguais, o que limita o erro relativo dos percentis a
+ * 1/SUBFAIXAS (cerca de 6%). Registrar um valor não aloca memória, e dois histogramas
+ * podem ser somados para juntar réplicas ou execuções diferentes.
+ */
+public class Histograma {
+    private static final int BITS_SUBFAIXA = 4;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    // Faixas exatas de 0 a SUBFAIXAS-1 e SUBFAIXAS faixas para cada expoente de 4 a 30
+    private static final int NUMERO_FAIXAS = (Integer.SIZE - BITS_SUBFAIXA) * SUBFAIXAS;
+
+    private final long[] contagens;
+    private long total;
+    private long soma;
+    private int minimo;
+    private int maximo;
+
+    /**
+     * Construtor do histograma vazio.
+     */
+    public Histograma() {
+        this.contagens = new long[NUMERO_FAIXAS];
+        limpar();
+    }
+
+    /**
+     * Registra uma ocorrência de um valor. Valores negativos contam como zero.
+     * @param valor Valor a registrar
+     */
+    public void registrar(int valor) {
+        int v = Math.max(0, valor);
+        contagens[faixa(v)]++;
+        total++;
+        soma += v;
+        if (v < minimo) minimo = v;
+        if (v > maximo) maximo = v;
+    }
+
+    /**
+     * Soma as contagens de outro histograma a este.
+     * @param outro Histograma a ser somado
+     */
+    public void mesclar(Histograma outro) {
+        if (outro.total == 0) return;
+        for (int i = 0; i < NUMERO_FAIXAS; i++) {
+            contagens[i] += outro.contagens[i];
+        }
+        total += outro.total;
+        soma += outro.soma;
+        minimo = Math.min(minimo, outro.minimo);
+        maximo = Math.max(maximo, outro.maximo);
+    }
+
+    /**
+     * Calcula um percentil da distribuição.
+     * Retorna o maior valor da faixa que contém o percentil, limitado ao máximo registrado.
+     * @param percentil Percentil entre 0 e 100
+     * @return Valor do percentil, ou 0 se o histograma estiver vazio
+     */
+    public int getPercentil(double percentil) {
+        if (total == 0) return 0;
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("Percentil deve estar entre 0 e 100: " + percentil);
+        }
+
+        long posicao = Math.max(1, (long) Math.ceil(percentil / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < NUMERO_FAIXAS; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= posicao) {
+                return Math.max(minimo, Math.min(maximo, limiteSuperior(i)));
+            }
+        }
+        return maximo;
+    }
+
+    /**
+     * Retorna a média exata dos valores registrados.
+     * @return Média, ou 0 se o histograma estiver vazio
+     */
+    public double getMedia() {
+        return total == 0 ? 0.0 : (double) soma / total;
+    }
+
+    /**
+     * Retorna o número de valores registrados.
+     * @return Total de registros
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Retorna o maior valor registrado.
+     * @return Valor máximo, ou 0 se o histograma estiver vazio
+     */
+    public int getMaximo() {
+        return total == 0 ? 0 : maximo;
+    }
+
+    /**
+     * Retorna o menor valor registrado.
+     * @return Valor mínimo, ou 0 se o histograma estiver vazio
+     */
+    public int getMinimo() {
+        return total == 0 ? 0 : minimo;
+    }
+
+    /**
+     * Zera todas as contagens.
+     */
+    public void limpar() {
+        for (int i = 0; i < NUMERO_FAIXAS; i++) {
+            contagens[i] = 0;
+        }
+        total = 0;
+        soma = 0;
+        minimo = Integer.MAX_VALUE;
+        maximo = 0;
+    }
+
+    private static int faixa(int valor) {
+        if (valor < SUBFAIXAS) return valor;
+        int expoente = 31 - Integer.numberOfLeadingZeros(valor);
+        int deslocamento = expoente - BITS_SUBFAIXA;
+        return (deslocamento + 1) * SUBFAIXAS + ((valor >>> deslocamento) - SUBFAIXAS);
+    }
+
+    private static int limiteSuperior(int faixa) {
+        if (faixa < SUBFAIXAS) return faixa;
+        int deslocamento = faixa / SUBFAIXAS - 1;
+        long inicio = (long) (SUBFAIXAS + faixa % SUBFAIXAS) << deslocamento;
+        return (int) Math.min(Integer.MAX_VALUE, inicio + (1L << deslocamento) - 1);
+    }
+}
@@ -1,15 +1,16 @@
 public class Horario {
+    // Horários de pico do tráfego uniforme, em horas inteiras (início e fim inclusive)
+    private static final Intervalo[] INTERVALOS_PICO = {
+        new Intervalo(7, 9),
+        new Intervalo(17, 19)
+    };
+
     private int horaAtual;
     private int minutoAtual;
-    private Intervalo[] intervalosPico;
 
     public Horario() {
         this.horaAtual = 0;
         this.minutoAtual = 0;
-        this.intervalosPico = new Intervalo[] {
-            new Intervalo(7, 9),
-            new Intervalo(17, 19)
-        };
     }
 
     public void avancarMinuto() {
@@ -21,8 +22,17 @@ public class Horario {
     }
 
     public boolean isHorarioPico() {
-        for (int i = 0; i < intervalosPico.length; i++) {
-            if (horaAtual >= intervalosPico[i].inicio && horaAtual <= intervalosPico[i].fim) {
+        return isHorarioPico(horaAtual);
+    }
+
+    /**
+     * Verifica se uma hora do dia está em um dos horários de pico.
+     * @param hora Hora do dia, de 0 a 23
+     * @return true se a hora estiver em um horário de pico, false caso contrário
+     */
+    public static boolean isHorarioPico(int hora) {
+        for (Intervalo intervalo : INTERVALOS_PICO) {
+            if (hora >= intervalo.inicio && hora <= intervalo.fim) {
                 return true;
             }
         }
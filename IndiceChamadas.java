@@ -0,0 +1,55 @@
+/**
+ * Índice do prédio com os andares que têm pessoas esperando.
+ * É mantido pelas filas de cada andar a cada inserção e remoção,
+ * permitindo ao elevador encontrar a chamada mais próxima sem copiar filas.
+ */
+public class IndiceChamadas {
+    private final ConjuntoAndares andaresComEspera;
+    private final ConjuntoAndares andaresComPrioridade;
+
+    /**
+     * Construtor do índice de chamadas.
+     * @param numeroAndares Número de andares do prédio
+     */
+    public IndiceChamadas(int numeroAndares) {
+        this.andaresComEspera = new ConjuntoAndares(numeroAndares);
+        this.andaresComPrioridade = new ConjuntoAndares(numeroAndares);
+    }
+
+    /**
+     * Atualiza a situação de um andar no índice.
+     * @param andar Andar a ser atualizado
+     * @param temEspera Indica se há pessoas esperando no andar
+     * @param temPrioridade Indica se há pessoas prioritárias esperando no andar
+     */
+    public void atualizar(int andar, boolean temEspera, boolean temPrioridade) {
+        andaresComEspera.definir(andar, temEspera);
+        andaresComPrioridade.definir(andar, temPrioridade);
+    }
+
+    /**
+     * Retorna o andar com pessoas esperando mais próximo.
+     * @param andarAtual Andar de referência
+     * @return Andar encontrado ou -1 se ninguém estiver esperando
+     */
+    public int andarMaisProximoComEspera(int andarAtual) {
+        return andaresComEspera.maisProximo(andarAtual);
+    }
+
+    /**
+     * Retorna o andar com pessoas prioritárias esperando mais próximo.
+     * @param andarAtual Andar de referência
+     * @return Andar encontrado ou -1 se nenhuma pessoa prioritária estiver esperando
+     */
+    public int andarMaisProximoComPrioridade(int andarAtual) {
+        return andaresComPrioridade.maisProximo(andarAtual);
+    }
+
+    /**
+     * Verifica se há alguém esperando em qualquer andar.
+     * @return true se houver pessoas esperando, false caso contrário
+     */
+    public boolean temChamadas() {
+        return !andaresComEspera.estaVazio();
+    }
+}
@@ -0,0 +1,383 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Lê chamadas gravadas em um prédio real, para reproduzi-las no controlador no lugar
+ * das pessoas geradas. Cada registro traz o minuto da chamada, os andares de origem e
+ * de destino, o peso, a idade e se a pessoa é cadeirante. Os registros devem estar
+ * em ordem de minuto.
+ *
+ * O arquivo pode ser texto (CSV) ou binário, reconhecido pela assinatura no início:
+ *
+ * - CSV: uma chamada por linha, minuto,origem,destino,peso,idade,cadeirante, com
+ *   cadeirante 0/1, true/false ou s/n. Linhas vazias e iniciadas por '#' são ignoradas;
+ *   a primeira das outras, se não começa por número, é tomada como cabeçalho;
+ * - binário (big-endian): assinatura "ELVC" e versão (int de 4 bytes cada) seguidas
+ *   de registros de 12 bytes: minuto (int), origem, destino e peso (short sem sinal),
+ *   idade e cadeirante (byte sem sinal, cadeirante 0 ou 1).
+ *
+ * O arquivo é lido por um canal NIO em um buffer direto de tamanho fixo, que é
+ * reaproveitado a cada leitura, e os números são interpretados direto dos bytes, sem
+ * criar uma String por linha. Assim um arquivo de vários gigabytes é reproduzido com
+ * memória constante. Só o próximo registro fica guardado, já validado, para que o
+ * controlador saiba o minuto da próxima chamada.
+ *
+ * Um erro de leitura ou um registro inválido no primeiro registro impede a abertura;
+ * mais adiante, encerra a reprodução, é entregue na hora ao aviso definido em
+ * setAvisoErro e fica disponível em getErro, como no EscritorLogAssincrono.
+ */
+public class LeitorChamadas implements Closeable {
+    public static final int ASSINATURA_BINARIO = 0x454C5643;
+    private static final int VERSAO_BINARIO = 1;
+    private static final int TAMANHO_REGISTRO_BINARIO = 12;
+    private static final int TAMANHO_BUFFER = 1 << 20;
+
+    private final String caminho;
+    private final int numeroAndares;
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    private final boolean binario;
+    private boolean fimArquivo;
+
+    // Próximo registro, já lido e validado
+    private boolean temProximo;
+    private int minuto;
+    private int origem;
+    private int destino;
+    private int peso;
+    private int idade;
+    private boolean cadeirante;
+
+    // Posição da leitura do CSV: linha atual, campo em leitura e fim da linha
+    private long linha;
+    private int cursor;
+    private int fimLinha;
+    private boolean cabecalhoVerificado;    // a primeira linha com conteúdo já foi vista
+
+    private long registrosLidos;
+    private final long nanosAbertura;
+    private long nanosLeitura;    // tempo gasto lendo e validando registros
+    private IOException erro;
+    private Consumer<IOException> avisoErro;
+
+    /**
+     * Abre um arquivo de chamadas e lê o primeiro registro.
+     * @param caminho Caminho do arquivo, CSV ou binário
+     * @param numeroAndares Número de andares do prédio, para validar origem e destino
+     * @throws IOException se o arquivo não puder ser aberto, tiver versão desconhecida
+     *         ou se o primeiro registro for inválido
+     */
+    public LeitorChamadas(String caminho, int numeroAndares) throws IOException {
+        this.caminho = caminho;
+        this.numeroAndares = numeroAndares;
+        this.canal = FileChannel.open(Paths.get(caminho), StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+        buffer.limit(0);
+
+        boolean assinado = false;
+        try {
+            assinado = garantir(Integer.BYTES) && buffer.getInt(buffer.position()) == ASSINATURA_BINARIO;
+            if (assinado) {
+                buffer.getInt();
+                if (!garantir(Integer.BYTES) || buffer.getInt() != VERSAO_BINARIO) {
+                    throw new IOException("Versão desconhecida do arquivo de chamadas: " + caminho);
+                }
+            }
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        this.binario = assinado;
+        this.nanosAbertura = System.nanoTime();
+        avancar();
+        nanosLeitura = System.nanoTime() - nanosAbertura;
+        if (erro != null) {
+            canal.close();
+            throw erro;
+        }
+    }
+
+    /**
+     * Define quem é avisado, no momento em que acontece, do erro que encerra a reprodução
+     * antes do fim do arquivo. O aviso é chamado na thread que lê as chamadas.
+     * @param avisoErro Recebe o erro de leitura ou de formato, ou null
+     */
+    public void setAvisoErro(Consumer<IOException> avisoErro) {
+        this.avisoErro = avisoErro;
+    }
+
+    /**
+     * Verifica se há uma chamada a reproduzir até um minuto.
+     * @param minutoAtual Minuto atual da simulação
+     * @return true se o próximo registro é do minuto atual ou de um anterior
+     */
+    public boolean temChamadaAte(int minutoAtual) {
+        return temProximo && minuto <= minutoAtual;
+    }
+
+    /**
+     * Retorna o minuto da próxima chamada.
+     * @return Minuto do próximo registro, ou -1 se a reprodução terminou
+     */
+    public int getProximoMinuto() {
+        return temProximo ? minuto : -1;
+    }
+
+    /**
+     * Cria a pessoa do próximo registro e avança para o seguinte.
+     * @param nome Nome da pessoa
+     * @return Pessoa que chega no minuto do registro
+     * @throws IllegalStateException se a reprodução já terminou
+     */
+    public Pessoa lerPessoa(String nome) {
+        if (!temProximo) {
+            throw new IllegalStateException("Não há mais chamadas a reproduzir");
+        }
+        long inicio = System.nanoTime();
+        Pessoa pessoa = new Pessoa(nome, idade, cadeirante, peso, origem, destino, minuto);
+        avancar();
+        nanosLeitura += System.nanoTime() - inicio;
+        return pessoa;
+    }
+
+    /**
+     * Retorna quantos registros foram reproduzidos.
+     * @return Número de pessoas criadas a partir do arquivo
+     */
+    public long getRegistrosLidos() {
+        return registrosLidos;
+    }
+
+    /**
+     * Retorna a taxa de leitura: registros reproduzidos por segundo gasto lendo,
+     * interpretando e validando o arquivo, sem o tempo da simulação entre as leituras.
+     * @return Registros reproduzidos por segundo de leitura
+     */
+    public double getRegistrosPorSegundo() {
+        return nanosLeitura > 0 ? registrosLidos * 1e9 / nanosLeitura : 0;
+    }
+
+    /**
+     * Retorna a taxa de reprodução desde a abertura do arquivo, incluindo a simulação.
+     * @return Registros reproduzidos por segundo decorrido
+     */
+    public double getRegistrosPorSegundoDecorrido() {
+        long nanos = System.nanoTime() - nanosAbertura;
+        return nanos > 0 ? registrosLidos * 1e9 / nanos : 0;
+    }
+
+    /**
+     * Retorna o erro que encerrou a reprodução antes do fim do arquivo, se houve.
+     * @return Erro de leitura ou de formato, ou null
+     */
+    public IOException getErro() {
+        return erro;
+    }
+
+    /**
+     * Retorna o caminho do arquivo reproduzido.
+     * @return Caminho do arquivo
+     */
+    public String getCaminho() {
+        return caminho;
+    }
+
+    @Override
+    public void close() throws IOException {
+        temProximo = false;
+        canal.close();
+    }
+
+    // Lê e valida o próximo registro; no fim do arquivo ou em um erro, encerra a reprodução
+    private void avancar() {
+        if (temProximo) {
+            registrosLidos++;
+        }
+        int minutoAnterior = temProximo ? minuto : 0;
+        try {
+            temProximo = binario ? lerBinario() : lerCsv();
+            if (temProximo) {
+                validar(minutoAnterior);
+            }
+        } catch (IOException e) {
+            erro = e;
+            temProximo = false;
+            if (avisoErro != null) {
+                avisoErro.accept(e);
+            }
+        }
+    }
+
+    private void validar(int minutoAnterior) throws IOException {
+        String problema = null;
+        if (minuto < 0) {
+            problema = "minuto negativo (" + minuto + ")";
+        } else if (minuto < minutoAnterior) {
+            problema = "minuto " + minuto + " fora de ordem (anterior: " + minutoAnterior + ")";
+        } else if (origem < 0 || origem >= numeroAndares || destino < 0 || destino >= numeroAndares) {
+            problema = "andar fora do prédio (" + origem + " para " + destino + ")";
+        } else if (origem == destino) {
+            problema = "origem igual ao destino (" + origem + ")";
+        } else if (peso < 1 || idade < 0) {
+            problema = "peso ou idade inválidos (" + peso + " kg, " + idade + " anos)";
+        }
+        if (problema != null) {
+            throw new IOException("Registro " + (registrosLidos + 1) + " de " + caminho + ": " + problema);
+        }
+    }
+
+    private boolean lerBinario() throws IOException {
+        if (!garantir(TAMANHO_REGISTRO_BINARIO)) {
+            if (buffer.hasRemaining()) {
+                throw new IOException("Registro incompleto no fim de " + caminho);
+            }
+            return false;
+        }
+        minuto = buffer.getInt();
+        origem = buffer.getShort() & 0xFFFF;
+        destino = buffer.getShort() & 0xFFFF;
+        peso = buffer.getShort() & 0xFFFF;
+        idade = buffer.get() & 0xFF;
+        int valorCadeirante = buffer.get() & 0xFF;
+        if (valorCadeirante > 1) {
+            throw new IOException("Registro " + (registrosLidos + 1) + " de " + caminho
+                                  + ": cadeirante deve ser 0 ou 1");
+        }
+        cadeirante = valorCadeirante == 1;
+        return true;
+    }
+
+    private boolean lerCsv() throws IOException {
+        while (true) {
+            int fim = procurarFimLinha();
+            if (fim < 0) return false;
+            linha++;
+            cursor = buffer.position();
+            fimLinha = fim > cursor && buffer.get(fim - 1) == '\r' ? fim - 1 : fim;
+            buffer.position(Math.min(fim + 1, buffer.limit()));
+
+            pularEspacos();
+            if (cursor == fimLinha || buffer.get(cursor) == '#') continue;
+            if (!cabecalhoVerificado) {
+                cabecalhoVerificado = true;
+                byte primeiro = buffer.get(cursor);
+                if (primeiro != '-' && (primeiro < '0' || primeiro > '9')) continue;    // cabeçalho
+            }
+
+            minuto = lerInteiroCsv();
+            origem = lerInteiroCsv();
+            destino = lerInteiroCsv();
+            peso = lerInteiroCsv();
+            idade = lerInteiroCsv();
+            cadeirante = lerBooleanoCsv();
+            if (cursor != fimLinha) {
+                throw erroCsv("campos a mais");
+            }
+            return true;
+        }
+    }
+
+    // Posição absoluta do fim da linha que começa na posição do buffer, lendo mais do
+    // arquivo se preciso; -1 se não há mais linhas
+    private int procurarFimLinha() throws IOException {
+        int inicioBusca = buffer.position();
+        while (true) {
+            for (int i = inicioBusca; i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') return i;
+            }
+            if (fimArquivo) {
+                return buffer.hasRemaining() ? buffer.limit() : -1;
+            }
+            if (buffer.remaining() == buffer.capacity()) {
+                throw new IOException("Linha " + (linha + 1) + " de " + caminho + " maior que "
+                                      + TAMANHO_BUFFER + " bytes");
+            }
+            int jaProcurados = buffer.remaining();
+            preencher();
+            inicioBusca = buffer.position() + jaProcurados;
+        }
+    }
+
+    // Lê um inteiro e o separador seguinte (',' ou o fim da linha)
+    private int lerInteiroCsv() throws IOException {
+        pularEspacos();
+        boolean negativo = cursor < fimLinha && buffer.get(cursor) == '-';
+        if (negativo) cursor++;
+        int inicio = cursor;
+        long valor = 0;
+        while (cursor < fimLinha) {
+            byte b = buffer.get(cursor);
+            if (b < '0' || b > '9') break;
+            valor = valor * 10 + (b - '0');
+            if (valor > Integer.MAX_VALUE) throw erroCsv("número grande demais");
+            cursor++;
+        }
+        if (cursor == inicio) throw erroCsv("esperado um número");
+        pularSeparador();
+        return (int) (negativo ? -valor : valor);
+    }
+
+    private boolean lerBooleanoCsv() throws IOException {
+        pularEspacos();
+        if (cursor == fimLinha) throw erroCsv("falta o campo cadeirante");
+        byte primeiro = buffer.get(cursor);
+        boolean valor;
+        if (primeiro == '1' || primeiro == 't' || primeiro == 'T' || primeiro == 's' || primeiro == 'S') {
+            valor = true;
+        } else if (primeiro == '0' || primeiro == 'f' || primeiro == 'F' || primeiro == 'n' || primeiro == 'N') {
+            valor = false;
+        } else {
+            throw erroCsv("cadeirante deve ser 0/1, true/false ou s/n");
+        }
+        while (cursor < fimLinha && buffer.get(cursor) != ',' && !espaco(buffer.get(cursor))) {
+            cursor++;
+        }
+        pularEspacos();
+        return valor;
+    }
+
+    private void pularSeparador() throws IOException {
+        pularEspacos();
+        if (cursor < fimLinha) {
+            if (buffer.get(cursor) != ',') throw erroCsv("esperada uma vírgula");
+            cursor++;
+        }
+    }
+
+    private void pularEspacos() {
+        while (cursor < fimLinha && espaco(buffer.get(cursor))) {
+            cursor++;
+        }
+    }
+
+    private static boolean espaco(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private IOException erroCsv(String problema) {
+        return new IOException("Linha " + linha + " de " + caminho + ": " + problema);
+    }
+
+    // Garante ao menos a quantidade de bytes no buffer; false se o arquivo acabar antes
+    private boolean garantir(int bytes) throws IOException {
+        while (buffer.remaining() < bytes) {
+            if (fimArquivo) return false;
+            preencher();
+        }
+        return true;
+    }
+
+    // Move o que falta ler para o início do buffer e completa com o arquivo
+    private void preencher() throws IOException {
+        buffer.compact();
+        if (canal.read(buffer) == -1) {
+            fimArquivo = true;
+        }
+        buffer.flip();
+    }
+}
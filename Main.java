@@ -1,13 +1,120 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.concurrent.locks.LockSupport;
+
 public class Main {
     public static void main(String[] args) {
-        Configuracao config = new Configuracao();
+        Configuracao config;
+        int replicacoes;
+        double fatorTempoReal;
+        double minutosPorSegundo;
+        try {
+            config = Configuracao.deArgumentos(args);
+            replicacoes = lerInteiroPositivo(args, "--replicacoes=");
+            fatorTempoReal = lerDecimalPositivo(args, "--tempo-real=");
+            minutosPorSegundo = lerDecimalPositivo(args, "--ao-vivo=");
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Erro na configuração: " + e.getMessage());
+            return;
+        }
         ControladorElevadores controlador = new ControladorElevadores(config);
         PainelAscii painel = new PainelAscii(config, controlador);
 
-        final int totalMinutos = 1440; 
+        final int totalMinutos = config.getDuracaoMinutos();
+
+        // Séries por minuto, exportadas ao fim em <prefixo>.csv e <prefixo>.bin; uma linha
+        // por minuto da simulação, para que nenhum minuto seja sobrescrito
+        String prefixoMetricas = valorOpcao(args, "--metricas=");
+        GravadorMetricas metricas = null;
+        if (prefixoMetricas != null) {
+            if (valorOpcao(args, "--replicacoes=") != null || temOpcao(args, "--comparar-despacho")) {
+                System.out.println("[AVISO] --metricas ignorado: réplicas e comparações não gravam séries por minuto");
+                prefixoMetricas = null;
+            } else {
+                metricas = new GravadorMetricas(config.getNumeroAndares(), config.getNumeroElevadores(),
+                                                Math.max(1, totalMinutos));
+                controlador.setGravadorMetricas(metricas);
+            }
+        }
+
+        // Perfil de chegadas aprendido em execuções anteriores, salvo de novo ao fim desta
+        String arquivoPrevisao = carregarPrevisao(controlador, valorOpcao(args, "--previsao="));
+
+        // Chamadas gravadas, reproduzidas no lugar das pessoas geradas
+        String arquivoChamadas = valorOpcao(args, "--reproduzir=");
+        LeitorChamadas chamadas = null;
+        if (arquivoChamadas != null) {
+            if (valorOpcao(args, "--replicacoes=") != null || temOpcao(args, "--comparar-despacho")) {
+                System.out.println("[AVISO] --reproduzir ignorado: réplicas e comparações geram as próprias pessoas");
+            } else {
+                try {
+                    chamadas = new LeitorChamadas(arquivoChamadas, config.getNumeroAndares());
+                } catch (NoSuchFileException e) {
+                    System.out.println("Arquivo de chamadas não encontrado: " + arquivoChamadas);
+                    return;
+                } catch (IOException e) {
+                    System.out.println("Erro ao abrir as chamadas: " + e.getMessage());
+                    return;
+                }
+                // Um registro inválido no meio do arquivo é avisado na hora, e não só no fim
+                chamadas.setAvisoErro(e -> System.out.println("Erro ao ler as chamadas, reprodução interrompida: "
+                                                              + e.getMessage()));
+                controlador.setLeitorChamadas(chamadas);
+            }
+        }
+
+        if (replicacoes > 0) {
+            executarReplicacoes(config, replicacoes);
+            return;
+        }
+
+        if (temOpcao(args, "--comparar-despacho")) {
+            executarComparacaoDespacho(config);
+            return;
+        }
+
+        if (fatorTempoReal > 0) {
+            executarEmTempoReal(controlador, totalMinutos, fatorTempoReal, config.getThreadsElevadores());
+            exportarMetricas(metricas, prefixoMetricas);
+            salvarPrevisao(controlador, arquivoPrevisao, totalMinutos);
+            encerrarChamadas(chamadas);
+            return;
+        }
+
+        // Painel ao vivo: opcionalmente limitado a um número de minutos simulados por segundo
+        if (minutosPorSegundo > 0 || temOpcao(args, "--ao-vivo")) {
+            executarAoVivo(controlador, painel, totalMinutos, minutosPorSegundo);
+            exportarMetricas(metricas, prefixoMetricas);
+            salvarPrevisao(controlador, arquivoPrevisao, totalMinutos);
+            encerrarChamadas(chamadas);
+            return;
+        }
+
+        boolean porEventos = temOpcao(args, "--eventos");
+        if (temOpcao(args, "--headless")) {
+            executarSemInterface(controlador, totalMinutos, porEventos, valorOpcao(args, "--registro="));
+            exportarMetricas(metricas, prefixoMetricas);
+            salvarPrevisao(controlador, arquivoPrevisao, totalMinutos);
+            encerrarChamadas(chamadas);
+            return;
+        }
+        if (porEventos) {
+            executarPorEventos(controlador, totalMinutos);
+            exportarMetricas(metricas, prefixoMetricas);
+            salvarPrevisao(controlador, arquivoPrevisao, totalMinutos);
+            encerrarChamadas(chamadas);
+            return;
+        }
         
         System.out.println("=== INÍCIO DA SIMULAÇÃO DO ELEVADOR ===");
-        System.out.println("Simulando um dia inteiro (1440 minutos)");
+        System.out.println("Simulando " + totalMinutos + " minutos (" + config.getNumeroAndares() + " andares, " +
+                           config.getNumeroElevadores() + " elevadores, semente " + config.getSemente() + ")");
         System.out.println("Pressione ENTER para iniciar...");
         try {
             System.in.read();
@@ -15,8 +122,8 @@ public class Main {
             // Ignora exceção
         }
 
-        // Cria arquivo de log
-        try (java.io.PrintWriter log = new java.io.PrintWriter("simulacao_elevador.log")) {
+        // Cria arquivo de log, gravado em segundo plano
+        try (EscritorLogAssincrono log = new EscritorLogAssincrono("simulacao_elevador.log")) {
             for (int minuto = 0; minuto < totalMinutos; minuto++) {
                 StringBuilder ciclo = new StringBuilder();
                 
@@ -26,7 +133,7 @@ public class Main {
                 int hora = (minuto / 60) % 24;
                 int minutoHora = minuto % 60;
                 String horarioFormatado = String.format("%02d:%02d", hora, minutoHora);
-                boolean horarioPico = isHorarioPico(hora);
+                boolean horarioPico = Horario.isHorarioPico(hora);
                 
                 ciclo.append("CICLO " + minuto + " | HORÁRIO: " + horarioFormatado + " | " + 
                              (horarioPico ? "HORÁRIO DE PICO" : "HORÁRIO NORMAL") + "\n\n");
@@ -57,30 +164,279 @@ public class Main {
 
                 ciclo.append("═══════════════════════════════════════════════════════════════════════════════\n\n");
 
-                log.write(ciclo.toString());
-                log.flush();
+                String textoCiclo = ciclo.toString();
+                log.escrever(textoCiclo);
 
-                System.out.println(ciclo.toString());
+                System.out.println(textoCiclo);
                 System.out.flush();
 
                 if (minuto % 100 == 0) {
                     System.out.println("Progresso: " + (minuto * 100 / totalMinutos) + "%");
                 }
  }
+            if (log.getOcorrenciasContrapressao() > 0) {
+                System.out.println("[AVISO] A gravação do log atrasou a simulação " +
+                                   log.getOcorrenciasContrapressao() + " vezes");
+            }
         } catch (Exception e) {
             System.out.println("Erro ao salvar log: " + e.getMessage());
+        } finally {
+            controlador.encerrar();
         }
         
         System.out.println("=== RESUMO FINAL DA SIMULAÇÃO ===");
         System.out.println();
         
         controlador.imprimirResumoFinal();
+        exportarMetricas(metricas, prefixoMetricas);
+        salvarPrevisao(controlador, arquivoPrevisao, totalMinutos);
+        encerrarChamadas(chamadas);
         
         System.out.println("\nA simulação completa foi salva no arquivo 'simulacao_elevador.log'");
         System.out.println("Você pode abrir este arquivo para ver todos os ciclos da simulação.");
     }
 
-    private static boolean isHorarioPico(int hora) {
-        return (hora >= 7 && hora <= 9) || (hora >= 17 && hora <= 19);
+    // Modo ao vivo: o painel é redesenhado no terminal só onde mudou, no máximo
+    // PainelAscii.QUADROS_POR_SEGUNDO_PADRAO vezes por segundo; sem log nem mensagens por evento
+    private static void executarAoVivo(ControladorElevadores controlador, PainelAscii painel, int totalMinutos,
+                                       double minutosPorSegundo) {
+        controlador.setOuvinte(OuvinteNulo.INSTANCIA);
+        Writer terminal = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        long nanosPorMinuto = minutosPorSegundo > 0 ? (long) (1e9 / minutosPorSegundo) : 0;
+        int quadros = 0;
+        long inicio = System.nanoTime();
+        try {
+            for (int minuto = 0; minuto < totalMinutos; minuto++) {
+                controlador.gerarPessoas();
+                controlador.simularCiclo();
+                if (painel.desenharDiferencas(terminal, minuto == totalMinutos - 1)) {
+                    quadros++;
+                }
+                if (nanosPorMinuto > 0) {
+                    long espera = inicio + (minuto + 1) * nanosPorMinuto - System.nanoTime();
+                    if (espera > 0) {
+                        LockSupport.parkNanos(espera);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Erro ao desenhar o painel: " + e.getMessage());
+        }
+        long duracao = System.nanoTime() - inicio;
+        controlador.encerrar();
+
+        controlador.imprimirResumoFinal();
+        System.out.printf("%d minutos e %d quadros em %.1f ms\n", totalMinutos, quadros, duracao / 1e6);
+    }
+
+    private static void executarPorEventos(ControladorElevadores controlador, int totalMinutos) {
+        System.out.println("=== SIMULAÇÃO POR EVENTOS DISCRETOS ===");
+        SimuladorEventos simulador = new SimuladorEventos(controlador);
+        long inicio = System.nanoTime();
+        try {
+            simulador.executar(totalMinutos);
+        } finally {
+            controlador.encerrar();
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        controlador.imprimirResumoFinal();
+        System.out.printf("Eventos processados: %d em %.1f ms\n", simulador.getEventosProcessados(), duracao / 1e6);
+    }
+
+    // Modo sem interface: sem painel, sem log por ciclo e sem formatação de mensagens,
+    // a menos que um arquivo de registro seja pedido
+    private static void executarSemInterface(ControladorElevadores controlador, int totalMinutos,
+                                             boolean porEventos, String arquivoRegistro) {
+        OuvinteArquivo registro = null;
+        try {
+            if (arquivoRegistro != null) {
+                registro = new OuvinteArquivo(arquivoRegistro);
+                controlador.setOuvinte(registro);
+            } else {
+                controlador.setOuvinte(OuvinteNulo.INSTANCIA);
+            }
+
+            long inicio = System.nanoTime();
+            if (porEventos) {
+                new SimuladorEventos(controlador).executar(totalMinutos);
+            } else {
+                for (int minuto = 0; minuto < totalMinutos; minuto++) {
+                    controlador.gerarPessoas();
+                    controlador.simularCiclo();
+                }
+            }
+            long duracao = System.nanoTime() - inicio;
+            controlador.encerrar();
+
+            controlador.imprimirResumoFinal();
+            System.out.printf("Simulação de %d minutos concluída em %.1f ms\n", totalMinutos, duracao / 1e6);
+        } catch (IOException e) {
+            System.out.println("Erro ao criar arquivo de registro: " + e.getMessage());
+        } finally {
+            if (registro != null) {
+                registro.close();
+            }
+        }
+    }
+
+    // Modo em tempo real: cada elevador espera os tempos de viagem e parada
+    // em um relógio acelerado pelo fator dado
+    private static void executarEmTempoReal(ControladorElevadores controlador, int totalMinutos,
+                                            double fator, int threads) {
+        System.out.printf("=== SIMULAÇÃO EM TEMPO REAL (fator %.0f, cerca de %.1f s) ===\n",
+                          fator, totalMinutos * 60 / fator);
+        controlador.setOuvinte(OuvinteNulo.INSTANCIA);
+        SimuladorTempoReal simulador = new SimuladorTempoReal(controlador, fator, threads);
+        try {
+            simulador.executar(totalMinutos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Simulação interrompida");
+        }
+        controlador.encerrar();
+
+        controlador.imprimirResumoFinal();
+        simulador.imprimirLatencias();
+    }
+
+    private static void exportarMetricas(GravadorMetricas metricas, String prefixo) {
+        if (metricas == null) return;
+        try {
+            metricas.exportarCsv(prefixo + ".csv");
+            metricas.exportarBinario(prefixo + ".bin");
+            System.out.println("Métricas de " + metricas.getLinhas() + " minutos salvas em " +
+                               prefixo + ".csv e " + prefixo + ".bin");
+            if (metricas.getMinutosRegistrados() > metricas.getLinhas()) {
+                System.out.println("[AVISO] Só os últimos " + metricas.getLinhas() + " de " +
+                                   metricas.getMinutosRegistrados() + " minutos couberam nas séries");
+            }
+        } catch (IOException e) {
+            System.out.println("Erro ao salvar métricas: " + e.getMessage());
+        }
+    }
+
+    // Carrega o perfil de chegadas, se o arquivo existir, e retorna onde salvá-lo ao fim;
+    // null se não há previsor ou se o arquivo não é um perfil deste prédio, que não é sobrescrito
+    private static String carregarPrevisao(ControladorElevadores controlador, String arquivo) {
+        if (arquivo == null) return null;
+        if (controlador.getPrevisor() == null) {
+            System.out.println("[AVISO] --previsao ignorado: nenhuma política usa previsões (use --"
+                               + Configuracao.CHAVE_ESTACIONAMENTO + "=" + Configuracao.ESTACIONAMENTO_DEMANDA + ")");
+            return null;
+        }
+        if (!Files.exists(Paths.get(arquivo))) return arquivo;
+        try {
+            controlador.getPrevisor().carregar(arquivo);
+            System.out.printf("Previsão carregada de %s (%d minutos de histórico)\n",
+                              arquivo, controlador.getPrevisor().getMinutosAnteriores());
+            return arquivo;
+        } catch (IOException e) {
+            System.out.println("Erro ao carregar previsão: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void salvarPrevisao(ControladorElevadores controlador, String arquivo, int totalMinutos) {
+        if (arquivo == null) return;
+        try {
+            controlador.getPrevisor().salvar(arquivo, totalMinutos);
+            System.out.println("Previsão salva em " + arquivo);
+        } catch (IOException e) {
+            System.out.println("Erro ao salvar previsão: " + e.getMessage());
+        }
+    }
+
+    // Relata quantas chamadas foram reproduzidas e a que taxa, e fecha o arquivo
+    private static void encerrarChamadas(LeitorChamadas chamadas) {
+        if (chamadas == null) return;
+        System.out.printf("Chamadas reproduzidas de %s: %d registros (%.0f registros/s de leitura, %.0f no total)\n",
+                          chamadas.getCaminho(), chamadas.getRegistrosLidos(), chamadas.getRegistrosPorSegundo(),
+                          chamadas.getRegistrosPorSegundoDecorrido());
+        if (chamadas.getErro() != null) {
+            System.out.println("[AVISO] A reprodução parou antes do fim do arquivo");
+        }
+        try {
+            chamadas.close();
+        } catch (IOException e) {
+            System.out.println("Erro ao fechar as chamadas: " + e.getMessage());
+        }
+    }
+
+    private static void executarReplicacoes(Configuracao config, int replicacoes) {
+        System.out.println("=== " + replicacoes + " RÉPLICAS (semente base " + config.getSemente() + ") ===");
+        ExecutorReplicacoes executor = new ExecutorReplicacoes();
+        long inicio = System.nanoTime();
+        EstatisticaReplicacoes estatistica;
+        try {
+            estatistica = executor.executar(config, replicacoes);
+        } finally {
+            executor.encerrar();
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        estatistica.imprimir();
+        System.out.printf("%d réplicas em %.1f ms\n", replicacoes, duracao / 1e6);
+    }
+
+    // Simula a mesma configuração e semente com cada estratégia de despacho,
+    // comparando as chamadas de andar (subir/descer) com o despacho por destino
+    private static void executarComparacaoDespacho(Configuracao config) {
+        String[] despachos = {Configuracao.DESPACHO_MAIS_PROXIMO, Configuracao.DESPACHO_COLETIVO,
+                              Configuracao.DESPACHO_GRUPO, Configuracao.DESPACHO_DESTINO};
+        System.out.println("=== COMPARAÇÃO DE DESPACHO (" + config.getNumeroAndares() + " andares, " +
+                           config.getNumeroElevadores() + " elevadores, semente " + config.getSemente() + ") ===");
+        System.out.printf("%-9s %9s %7s %7s %9s %12s %10s\n",
+                          "Despacho", "Embarques", "Espera", "p95", "Paradas", "Capacidade", "Energia");
+        for (String despacho : despachos) {
+            Configuracao variante = new Configuracao.Construtor(config).despacho(despacho).construir();
+            ResumoSimulacao resumo = ExecutorReplicacoes.simular(variante);
+            Histograma paradas = resumo.getHistogramaParadasViagem();
+            System.out.printf("%-9s %9d %7.2f %7d %9.2f %12d %10.0f\n", despacho, resumo.getTotalEmbarques(),
+                              resumo.getTempoEsperaMedio(), resumo.getHistogramaEspera().getPercentil(95),
+                              paradas.getMedia(), resumo.getCapacidadeTransporte(), resumo.getEnergiaGastaTotal());
+        }
+        System.out.println("Espera em minutos; paradas por viagem com passageiros; capacidade em passageiros "
+                           + "entregues nos 5 minutos mais movimentados.");
+    }
+
+    private static boolean temOpcao(String[] args, String opcao) {
+        for (String arg : args) {
+            if (opcao.equals(arg)) return true;
+        }
+        return false;
+    }
+
+    private static String valorOpcao(String[] args, String prefixo) {
+        for (String arg : args) {
+            if (arg.startsWith(prefixo)) return arg.substring(prefixo.length());
+        }
+        return null;
+    }
+
+    // Valor inteiro de uma opção, que deve ser positivo; 0 se a opção não foi dada
+    private static int lerInteiroPositivo(String[] args, String prefixo) {
+        String valor = valorOpcao(args, prefixo);
+        if (valor == null) return 0;
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero > 0) return numero;
+        } catch (NumberFormatException e) {
+            // Tratado abaixo
+        }
+        throw new IllegalArgumentException("Valor inválido: " + prefixo + valor + " (esperado um inteiro positivo)");
+    }
+
+    // Valor decimal de uma opção, que deve ser positivo e finito; 0 se a opção não foi dada
+    private static double lerDecimalPositivo(String[] args, String prefixo) {
+        String valor = valorOpcao(args, prefixo);
+        if (valor == null) return 0;
+        try {
+            double numero = Double.parseDouble(valor.trim());
+            if (numero > 0 && !Double.isInfinite(numero)) return numero;
+        } catch (NumberFormatException e) {
+            // Tratado abaixo
+        }
+        throw new IllegalArgumentException("Valor inválido: " + prefixo + valor + " (esperado um número positivo)");
     }
 }
@@ -0,0 +1,30 @@
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Ouvinte que escreve os eventos da simulação em um arquivo de texto,
+ * com as mesmas mensagens do console e escrita bufferizada.
+ */
+public class OuvinteArquivo extends OuvinteConsole implements AutoCloseable {
+
+    /**
+     * Construtor do ouvinte de arquivo.
+     * @param caminho Caminho do arquivo a ser criado
+     * @throws IOException se o arquivo não puder ser criado
+     */
+    public OuvinteArquivo(String caminho) throws IOException {
+        super(new PrintStream(new BufferedOutputStream(new FileOutputStream(caminho), 1 << 16),
+                              false, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Grava o que estiver no buffer e fecha o arquivo.
+     */
+    @Override
+    public void close() {
+        saida.close();
+    }
+}
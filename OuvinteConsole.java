@@ -0,0 +1,92 @@
+import java.io.PrintStream;
+
+/**
+ * Ouvinte que escreve os eventos da simulação como texto.
+ * Por padrão escreve no console, com as mesmas mensagens de sempre.
+ */
+public class OuvinteConsole implements OuvinteSimulacao {
+    protected final PrintStream saida;
+
+    /**
+     * Construtor que escreve no console.
+     */
+    public OuvinteConsole() {
+        this(System.out);
+    }
+
+    /**
+     * Construtor que escreve em um fluxo de saída qualquer.
+     * @param saida Fluxo onde as mensagens serão escritas
+     */
+    public OuvinteConsole(PrintStream saida) {
+        this.saida = saida;
+    }
+
+    @Override
+    public void statusElevador(int idElevador, int andar, int direcao, int passageiros,
+                               int capacidade, int peso, int pesoMaximo) {
+        saida.println("\n=== Elevador " + idElevador + " ===");
+        saida.println("Andar atual: " + andar + " | Direção: " + Elevador.textoDirecao(direcao));
+        saida.println("Passageiros: " + passageiros + "/" + capacidade + " | Peso: " + peso + "/" + pesoMaximo);
+    }
+
+    @Override
+    public void desembarque(int idElevador, int quantidade, int andar) {
+        saida.println("Desembarcaram " + quantidade + " passageiros no andar " + andar);
+    }
+
+    @Override
+    public void embarque(int idElevador, int quantidade, int andar) {
+        saida.println("Embarcaram " + quantidade + " passageiros no andar " + andar);
+    }
+
+    @Override
+    public void semChamadaPendente(int idElevador) {
+        saida.println("Nenhuma chamada pendente");
+    }
+
+    @Override
+    public void movimento(int idElevador, int andarOrigem, int andarDestino, int tempoViagem) {
+        saida.printf("[ELEVADOR %d] Movendo do andar %d para o andar %d (tempo estimado: %d segundos)\n",
+                     idElevador, andarOrigem, andarDestino, tempoViagem);
+    }
+
+    @Override
+    public void chegadaDestino(int idElevador, int andar, int tempoTotal) {
+        saida.printf("[ELEVADOR %d] Chegou ao destino (andar %d) em %d segundos\n",
+                     idElevador, andar, tempoTotal);
+    }
+
+    @Override
+    public void estacionamento(int idElevador, int andar, int tempoTotal) {
+        saida.printf("[ELEVADOR %d] Estacionou no andar %d em %d segundos\n",
+                     idElevador, andar, tempoTotal);
+    }
+
+    @Override
+    public void novaPessoa(Pessoa p) {
+        saida.printf("[NOVA PESSOA] %s | %d anos | %s | Origem: %d | Destino: %d | Peso: %d kg\n",
+                     p.getNome(), p.getIdade(), p.getPrioridadeTexto(), p.getAndarOrigem(),
+                     p.getAndarDestino(), p.getPeso());
+    }
+
+    @Override
+    public void falhaInsercao(Pessoa p) {
+        saida.println("[AVISO] Não foi possível adicionar " + p.getNome() + " à fila do andar " + p.getAndarOrigem());
+    }
+
+    @Override
+    public void energiaCiclo(double energiaGasta) {
+        saida.printf("\n[ENERGIA] Gasto no ciclo atual: %.2f unidades\n", energiaGasta);
+    }
+
+    @Override
+    public void botaoPressionado(int andar, boolean subir) {
+        saida.println("[LOG] Painel: Botão " + (subir ? "SUBIR" : "DESCER") + " pressionado no andar " + andar);
+    }
+
+    @Override
+    public void botaoResetado(int andar, boolean subir) {
+        saida.println("[LOG] Painel: Botão " + (subir ? "SUBIR" : "DESCER") + " resetado no andar " + andar);
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * Ouvinte que descarta todos os eventos.
+ * Usado no modo sem interface (headless), em que só o resumo final interessa.
+ */
+public final class OuvinteNulo implements OuvinteSimulacao {
+    public static final OuvinteNulo INSTANCIA = new OuvinteNulo();
+
+    private OuvinteNulo() {
+    }
+}
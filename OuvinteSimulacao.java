@@ -0,0 +1,112 @@
+/**
+ * Recebe os eventos da simulação que antes eram impressos diretamente no console.
+ * Os parâmetros são valores primitivos ou objetos já existentes, de modo que
+ * nenhum texto é formatado a menos que a implementação decida consumir o evento.
+ * Todos os métodos têm implementação vazia; cada ouvinte sobrescreve apenas o que usa.
+ */
+public interface OuvinteSimulacao {
+
+    /**
+     * Estado do elevador no início do seu atendimento.
+     * @param idElevador Identificador do elevador
+     * @param andar Andar atual
+     * @param direcao Direção: -1 (descendo), 0 (parado) ou 1 (subindo)
+     * @param passageiros Número de passageiros a bordo
+     * @param capacidade Capacidade máxima de passageiros
+     * @param peso Peso atual em kg
+     * @param pesoMaximo Peso máximo em kg
+     */
+    default void statusElevador(int idElevador, int andar, int direcao, int passageiros,
+                                int capacidade, int peso, int pesoMaximo) {
+    }
+
+    /**
+     * Passageiros desembarcaram em um andar.
+     * @param idElevador Identificador do elevador
+     * @param quantidade Número de passageiros que desembarcaram
+     * @param andar Andar do desembarque
+     */
+    default void desembarque(int idElevador, int quantidade, int andar) {
+    }
+
+    /**
+     * Passageiros embarcaram em um andar.
+     * @param idElevador Identificador do elevador
+     * @param quantidade Número de passageiros que embarcaram
+     * @param andar Andar do embarque
+     */
+    default void embarque(int idElevador, int quantidade, int andar) {
+    }
+
+    /**
+     * O elevador está vazio e não há nenhuma chamada pendente.
+     * @param idElevador Identificador do elevador
+     */
+    default void semChamadaPendente(int idElevador) {
+    }
+
+    /**
+     * O elevador se moveu um andar.
+     * @param idElevador Identificador do elevador
+     * @param andarOrigem Andar de partida
+     * @param andarDestino Andar de chegada
+     * @param tempoViagem Tempo estimado do deslocamento em segundos
+     */
+    default void movimento(int idElevador, int andarOrigem, int andarDestino, int tempoViagem) {
+    }
+
+    /**
+     * O elevador chegou ao andar de uma chamada.
+     * @param idElevador Identificador do elevador
+     * @param andar Andar de chegada
+     * @param tempoTotal Tempo total do deslocamento em segundos
+     */
+    default void chegadaDestino(int idElevador, int andar, int tempoTotal) {
+    }
+
+    /**
+     * O elevador, sem chamada, chegou ao andar onde fica estacionado.
+     * @param idElevador Identificador do elevador
+     * @param andar Andar de estacionamento
+     * @param tempoTotal Tempo total do deslocamento em segundos
+     */
+    default void estacionamento(int idElevador, int andar, int tempoTotal) {
+    }
+
+    /**
+     * Uma nova pessoa chegou ao prédio.
+     * @param pessoa Pessoa gerada
+     */
+    default void novaPessoa(Pessoa pessoa) {
+    }
+
+    /**
+     * Não foi possível colocar uma pessoa na fila do seu andar.
+     * @param pessoa Pessoa que ficou de fora
+     */
+    default void falhaInsercao(Pessoa pessoa) {
+    }
+
+    /**
+     * Fim de um ciclo de movimentação dos elevadores.
+     * @param energiaGasta Energia gasta por todos os elevadores no ciclo
+     */
+    default void energiaCiclo(double energiaGasta) {
+    }
+
+    /**
+     * Um botão do painel de controle foi pressionado.
+     * @param andar Andar do botão
+     * @param subir true para o botão de subir, false para o de descer
+     */
+    default void botaoPressionado(int andar, boolean subir) {
+    }
+
+    /**
+     * Um botão do painel de controle foi resetado.
+     * @param andar Andar do botão
+     * @param subir true para o botão de subir, false para o de descer
+     */
+    default void botaoResetado(int andar, boolean subir) {
+    }
+}
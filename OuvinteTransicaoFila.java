@@ -0,0 +1,22 @@
+/**
+ * Recebe as mudanças de estado das filas de um andar: uma fila de subida ou de
+ * descida que estava vazia recebeu alguém, ou uma fila que tinha pessoas ficou vazia.
+ * Só as transições são avisadas, de modo que quem ouve trabalha em proporção às
+ * mudanças e não ao número de andares.
+ */
+public interface OuvinteTransicaoFila {
+
+    /**
+     * Uma fila vazia recebeu a primeira pessoa.
+     * @param andar Andar da fila
+     * @param subir true para a fila de subida, false para a de descida
+     */
+    void filaOcupada(int andar, boolean subir);
+
+    /**
+     * Uma fila ficou vazia.
+     * @param andar Andar da fila
+     * @param subir true para a fila de subida, false para a de descida
+     */
+    void filaEsvaziada(int andar, boolean subir);
+}
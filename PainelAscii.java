@@ -1,12 +1,79 @@
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Painel ASCII do prédio: uma linha por andar com a posição dos elevadores e o
+ * resumo das filas de subida e descida.
+ *
+ * O quadro é montado em um buffer de caracteres pré-alocado, sem String.format.
+ * Para acompanhar a simulação ao vivo, desenharDiferencas redesenha no terminal
+ * apenas as linhas cujo elevador ou resumo de fila mudou desde o último quadro
+ * desenhado, posicionando o cursor com sequências ANSI, e respeita um limite de
+ * quadros por segundo: quadros mais frequentes são simplesmente pulados.
+ */
 public class PainelAscii {
+    public static final int QUADROS_POR_SEGUNDO_PADRAO = 30;
+
+    private static final int LARGURA_CHAMADAS = 40;
+    private static final int LINHAS_CABECALHO = 3;    // borda, títulos e separador
+    private static final char ESC = 27;
+
     private int numeroAndares;
     private Elevador[] elevadores;
     private FilaPrioridadeDupla[] filas;
+    private int larguraAndar;     // largura da coluna de andar, sem a borda
+    private int larguraTextoElevador;
+
+    // Quadro completo: linhas de tamanho fixo terminadas em '\n'
+    private final int larguraLinha;
+    private final int numeroLinhas;
+    private final char[] quadro;
+    private final char[] resumoFila;
+
+    // Estado da última vez em que cada linha foi desenhada no terminal
+    private final int[] subirDesenhado;
+    private final int[] descerDesenhado;
+    private final int[] prioridadeSubirDesenhada;
+    private final int[] prioridadeDescerDesenhada;
+    private final int[] andarDesenhado;
+    private final int[] direcaoDesenhada;
+    private final int[] passageirosDesenhados;
+    private final boolean[] linhaSuja;
+    private final char[] saida;
+    private boolean primeiroQuadro;
+    private long intervaloMinimoNanos;
+    private long ultimoQuadroNanos;
 
     public PainelAscii(Configuracao config, ControladorElevadores controlador) {
         this.numeroAndares = config.getNumeroAndares();
         this.elevadores = controlador.getElevadores();
         this.filas = controlador.getFilas();
+
+        // A coluna de andar cresce com o número de dígitos do último andar (8 até o andar 99)
+        this.larguraAndar = Math.max(8, digitos(numeroAndares - 1) + 6);
+        // A coluna do elevador cabe "^(10)"; cresce se a capacidade tiver mais dígitos
+        this.larguraTextoElevador = Math.max(5, digitos(config.getCapacidadeMaximaPassageiros()) + 3);
+
+        this.larguraLinha = 1 + larguraAndar + elevadores.length * (larguraTextoElevador + 4)
+                            + LARGURA_CHAMADAS + 4 + 1;
+        this.numeroLinhas = numeroAndares + LINHAS_CABECALHO + 1;
+        this.quadro = new char[larguraLinha * numeroLinhas];
+        this.resumoFila = new char[4 * (digitos(Integer.MAX_VALUE) + 4)];
+
+        this.subirDesenhado = new int[numeroAndares];
+        this.descerDesenhado = new int[numeroAndares];
+        this.prioridadeSubirDesenhada = new int[numeroAndares];
+        this.prioridadeDescerDesenhada = new int[numeroAndares];
+        this.andarDesenhado = new int[elevadores.length];
+        this.direcaoDesenhada = new int[elevadores.length];
+        this.passageirosDesenhados = new int[elevadores.length];
+        this.linhaSuja = new boolean[numeroAndares];
+        // Cada linha redesenhada leva antes "ESC[linha;1H"; o quadro termina com o cursor abaixo do painel
+        this.saida = new char[quadro.length + (numeroLinhas + 1) * (digitos(numeroLinhas + 1) + 5) + 8];
+        this.primeiroQuadro = true;
+        setQuadrosPorSegundo(QUADROS_POR_SEGUNDO_PADRAO);
+
+        montarBordas();
     }
 
     public void imprimirPainel() {
@@ -14,93 +81,270 @@ public class PainelAscii {
     }
 
     public String getPainelAsString() {
-        StringBuilder sb = new StringBuilder();
-        
-        // Cabeçalho com bordas e largura fixas por coluna
-        sb.append("╔════════╦" + repetir("════════╦", elevadores.length - 1) + "════════╦==========================================╗\n");
-        sb.append("║ Andar  "); // 8 caracteres fixos para andar
-        for (int i = 0; i < elevadores.length; i++) {
-            sb.append(String.format("║  E%-4d", (i + 1))); // 8 chars cada coluna elevador
-        }
-        sb.append("║    Chamadas            ║\n");
-        sb.append("╠════════╬" + repetir("════════╬", elevadores.length - 1) + "════════╬==========================================╣\n");
-
-        for (int andar = numeroAndares - 1; andar >= 0; andar--) {
-            StringBuilder linha = new StringBuilder();
-           
-            linha.append(String.format("║  %2d    ", andar));
-
-            for (int i = 0; i < elevadores.length; i++) {
-                Elevador e = elevadores[i];
-                if (e.getAndarAtual() == andar) {
-                    int dirInt = e.getDirecao();  // Corrigido para int
-                    String dir;
-                    if (dirInt == 1) dir = "↑";
-                    else if (dirInt == -1) dir = "↓";
-                    else dir = " ";  // parado ou sem direção definida
-
-                    dir = substituirSeta(dir); // transforma ↑ em ^ e ↓ em v
-
-                    String textoElevador = String.format("%s(%d)", dir, e.getNumPassageiros());
-                    // Cada coluna elevador tem 8 caracteres incluindo borda e espaços
-                    linha.append(String.format("║  %-5s ", textoElevador));
-                } else {
-                    linha.append("║        "); // 8 espaços para coluna vazia
-                }
+        for (int andar = 0; andar < numeroAndares; andar++) {
+            montarLinhaAndar(andar);
+        }
+        return new String(quadro);
+    }
+
+    /**
+     * Define o limite de quadros por segundo de desenharDiferencas.
+     * @param quadrosPorSegundo Número máximo de quadros por segundo, ou 0 para não limitar
+     */
+    public void setQuadrosPorSegundo(int quadrosPorSegundo) {
+        if (quadrosPorSegundo < 0) {
+            throw new IllegalArgumentException("Quadros por segundo não pode ser negativo");
+        }
+        this.intervaloMinimoNanos = quadrosPorSegundo == 0 ? 0 : 1_000_000_000L / quadrosPorSegundo;
+    }
+
+    /**
+     * Desenha no terminal as linhas do painel que mudaram desde o último quadro desenhado.
+     * O primeiro quadro limpa a tela e desenha o painel inteiro. Se o último quadro foi
+     * desenhado há menos tempo que o limite de quadros por segundo, nada é desenhado;
+     * as mudanças continuam pendentes para o próximo quadro.
+     * @param destino Onde as sequências ANSI e as linhas são escritas
+     * @param forcar true para desenhar mesmo antes do intervalo mínimo (por exemplo o último quadro)
+     * @return true se um quadro foi desenhado
+     * @throws IOException se a escrita falhar
+     */
+    public boolean desenharDiferencas(Writer destino, boolean forcar) throws IOException {
+        long agora = System.nanoTime();
+        if (!forcar && !primeiroQuadro && agora - ultimoQuadroNanos < intervaloMinimoNanos) {
+            return false;
+        }
+        ultimoQuadroNanos = agora;
+
+        marcarLinhasSujas();
+
+        int tamanho = 0;
+        if (primeiroQuadro) {
+            tamanho = escreverEscape(saida, tamanho, "2J");
+            tamanho = moverCursor(saida, tamanho, 1);
+            for (int andar = 0; andar < numeroAndares; andar++) {
+                montarLinhaAndar(andar);
             }
+            System.arraycopy(quadro, 0, saida, tamanho, quadro.length);
+            tamanho += quadro.length;
+            primeiroQuadro = false;
+        } else {
+            for (int andar = 0; andar < numeroAndares; andar++) {
+                if (!linhaSuja[andar]) continue;
+                int linha = linhaDoAndar(andar);
+                montarLinhaAndar(andar);
+                tamanho = moverCursor(saida, tamanho, linha + 1);
+                System.arraycopy(quadro, linha * larguraLinha, saida, tamanho, larguraLinha);
+                tamanho += larguraLinha;
+            }
+            tamanho = moverCursor(saida, tamanho, numeroLinhas + 1);
+        }
+
+        for (int andar = 0; andar < numeroAndares; andar++) {
+            linhaSuja[andar] = false;
+        }
+        destino.write(saida, 0, tamanho);
+        destino.flush();
+        return true;
+    }
 
-            String chamadasEspera = gerarResumoFila(filas[andar].getArraySubir(), "^") +
-                                   gerarResumoFila(filas[andar].getArrayDescer(), "v");
-            // Limita tamanho do texto da coluna chamada para 40 caracteres
-            if (chamadasEspera.length() > 40) {
-                chamadasEspera = chamadasEspera.substring(0, 37) + "...";
+    // Compara filas e elevadores com o que foi desenhado e marca as linhas que mudaram
+    private void marcarLinhasSujas() {
+        for (int andar = 0; andar < numeroAndares; andar++) {
+            FilaPrioridadeDupla fila = filas[andar];
+            int subir = fila.getQuantidadeSubir();
+            int descer = fila.getQuantidadeDescer();
+            int prioridadeSubir = fila.getQuantidadePrioritariaSubir();
+            int prioridadeDescer = fila.getQuantidadePrioritariaDescer();
+            if (subir != subirDesenhado[andar] || descer != descerDesenhado[andar]
+                    || prioridadeSubir != prioridadeSubirDesenhada[andar]
+                    || prioridadeDescer != prioridadeDescerDesenhada[andar]) {
+                subirDesenhado[andar] = subir;
+                descerDesenhado[andar] = descer;
+                prioridadeSubirDesenhada[andar] = prioridadeSubir;
+                prioridadeDescerDesenhada[andar] = prioridadeDescer;
+                linhaSuja[andar] = true;
             }
-            linha.append("║ ");
-            linha.append(String.format("%-40s", chamadasEspera.trim())); // 40 chars largura para chamadas
-            linha.append(" ║");
+        }
 
-            sb.append(linha.toString()).append("\n");
+        for (int i = 0; i < elevadores.length; i++) {
+            Elevador e = elevadores[i];
+            int andar = e.getAndarAtual();
+            if (andar != andarDesenhado[i] || e.getDirecao() != direcaoDesenhada[i]
+                    || e.getNumPassageiros() != passageirosDesenhados[i]) {
+                linhaSuja[andarDesenhado[i]] = true;
+                linhaSuja[andar] = true;
+                andarDesenhado[i] = andar;
+                direcaoDesenhada[i] = e.getDirecao();
+                passageirosDesenhados[i] = e.getNumPassageiros();
+            }
         }
+    }
+
+    // Bordas e títulos não mudam: são escritos uma vez no construtor
+    private void montarBordas() {
+        montarBorda(0, '╔', '╦', '╗');
+        montarBorda(2, '╠', '╬', '╣');
+        montarBorda(numeroLinhas - 1, '╚', '╩', '╝');
 
-        sb.append("╚════════╩" + repetir("════════╩", elevadores.length - 1) + "════════╩==========================================╝\n");
-        
-        return sb.toString();
+        int p = larguraLinha;    // linha de títulos
+        quadro[p++] = '║';
+        quadro[p++] = ' ';
+        p = escreverTexto(quadro, p, "Andar", larguraAndar - 1);
+        for (int i = 0; i < elevadores.length; i++) {
+            quadro[p++] = '║';
+            quadro[p++] = ' ';
+            quadro[p++] = ' ';
+            quadro[p++] = 'E';
+            int inicio = p;
+            p = escreverInteiro(quadro, p, i + 1);
+            p = preencher(quadro, p, ' ', larguraTextoElevador - (p - inicio));
+        }
+        quadro[p++] = '║';
+        quadro[p++] = ' ';
+        p = escreverTexto(quadro, p, "   Chamadas", LARGURA_CHAMADAS);
+        quadro[p++] = ' ';
+        quadro[p++] = '║';
+        quadro[p] = '\n';
     }
 
-    // Método para substituir setas Unicode por ASCII simples
-    private String substituirSeta(String direcao) {
-        if (direcao == null) return " ";
-        switch (direcao) {
-            case "↑": return "^";
-            case "↓": return "v";
-            default: return " ";
+    private void montarBorda(int linha, char esquerda, char meio, char direita) {
+        int p = linha * larguraLinha;
+        quadro[p++] = esquerda;
+        p = preencher(quadro, p, '═', larguraAndar);
+        quadro[p++] = meio;
+        for (int i = 0; i < elevadores.length; i++) {
+            p = preencher(quadro, p, '═', larguraTextoElevador + 3);
+            quadro[p++] = meio;
         }
+        p = preencher(quadro, p, '=', LARGURA_CHAMADAS + 2);
+        quadro[p++] = direita;
+        quadro[p] = '\n';
     }
 
-   
-    private String gerarResumoFila(Pessoa[] pessoas, String direcao) {
-        if (pessoas == null || pessoas.length == 0) return "";
+    private void montarLinhaAndar(int andar) {
+        int p = linhaDoAndar(andar) * larguraLinha;
 
-        int prioridade = 0;
-        int comuns = 0;
+        // Número do andar alinhado à direita
+        quadro[p++] = '║';
+        quadro[p++] = ' ';
+        quadro[p++] = ' ';
+        p = preencher(quadro, p, ' ', larguraAndar - 6 - digitos(andar));
+        p = escreverInteiro(quadro, p, andar);
+        p = preencher(quadro, p, ' ', 4);
 
-        for (Pessoa p : pessoas) {
-            if (p != null && (p.isIdoso() || p.isCadeirante())) {
-                prioridade++;
-            } else if (p != null) {
-                comuns++;
+        // Colunas dos elevadores: "^(3)" na coluna de quem está neste andar
+        for (int i = 0; i < elevadores.length; i++) {
+            Elevador e = elevadores[i];
+            quadro[p++] = '║';
+            quadro[p++] = ' ';
+            quadro[p++] = ' ';
+            int inicio = p;
+            if (e.getAndarAtual() == andar) {
+                int direcao = e.getDirecao();
+                quadro[p++] = direcao == 1 ? '^' : (direcao == -1 ? 'v' : ' ');
+                quadro[p++] = '(';
+                p = escreverInteiro(quadro, p, e.getNumPassageiros());
+                quadro[p++] = ')';
             }
+            p = preencher(quadro, p, ' ', larguraTextoElevador + 1 - (p - inicio));
+        }
+
+        // Chamadas: "^*2 ^(3) v(1)", limitado à largura da coluna
+        FilaPrioridadeDupla fila = filas[andar];
+        int tamanho = gerarResumoFila(resumoFila, 0, fila.getQuantidadeSubir(), fila.getQuantidadePrioritariaSubir(), '^');
+        tamanho = gerarResumoFila(resumoFila, tamanho, fila.getQuantidadeDescer(), fila.getQuantidadePrioritariaDescer(), 'v');
+        if (tamanho > LARGURA_CHAMADAS) {
+            tamanho = LARGURA_CHAMADAS;
+            resumoFila[tamanho - 3] = '.';
+            resumoFila[tamanho - 2] = '.';
+            resumoFila[tamanho - 1] = '.';
+        }
+        while (tamanho > 0 && resumoFila[tamanho - 1] == ' ') {
+            tamanho--;
+        }
+        quadro[p++] = '║';
+        quadro[p++] = ' ';
+        System.arraycopy(resumoFila, 0, quadro, p, tamanho);
+        p = preencher(quadro, p + tamanho, ' ', LARGURA_CHAMADAS - tamanho);
+        quadro[p++] = ' ';
+        quadro[p++] = '║';
+        quadro[p] = '\n';
+    }
+
+    private int gerarResumoFila(char[] destino, int p, int total, int prioridade, char direcao) {
+        if (total == 0) return p;
+
+        int comuns = total - prioridade;
+        if (prioridade > 0) {
+            destino[p++] = direcao;
+            destino[p++] = '*';
+            p = escreverInteiro(destino, p, prioridade);
+            destino[p++] = ' ';
+        }
+        if (comuns > 0) {
+            destino[p++] = direcao;
+            destino[p++] = '(';
+            p = escreverInteiro(destino, p, comuns);
+            destino[p++] = ')';
+            destino[p++] = ' ';
+        }
+        return p;
+    }
+
+    // O andar mais alto fica na primeira linha depois do cabeçalho
+    private int linhaDoAndar(int andar) {
+        return LINHAS_CABECALHO + (numeroAndares - 1 - andar);
+    }
+
+    private static int moverCursor(char[] destino, int p, int linha) {
+        destino[p++] = ESC;
+        destino[p++] = '[';
+        p = escreverInteiro(destino, p, linha);
+        destino[p++] = ';';
+        destino[p++] = '1';
+        destino[p++] = 'H';
+        return p;
+    }
+
+    private static int escreverEscape(char[] destino, int p, String comando) {
+        destino[p++] = ESC;
+        destino[p++] = '[';
+        for (int i = 0; i < comando.length(); i++) {
+            destino[p++] = comando.charAt(i);
+        }
+        return p;
+    }
+
+    private static int escreverTexto(char[] destino, int p, String texto, int largura) {
+        for (int i = 0; i < texto.length(); i++) {
+            destino[p++] = texto.charAt(i);
         }
+        return preencher(destino, p, ' ', largura - texto.length());
+    }
 
-        StringBuilder resultado = new StringBuilder();
-        if (prioridade > 0) resultado.append(direcao).append("*").append(prioridade).append(" ");
-        if (comuns > 0) resultado.append(direcao).append("(").append(comuns).append(") ");
-        return resultado.toString();
+    private static int escreverInteiro(char[] destino, int p, int valor) {
+        int fim = p + digitos(valor);
+        int resto = valor;
+        for (int i = fim - 1; i >= p; i--) {
+            destino[i] = (char) ('0' + resto % 10);
+            resto /= 10;
+        }
+        return fim;
     }
 
-    private String repetir(String s, int vezes) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < vezes; i++) sb.append(s);
-        return sb.toString();
+    private static int preencher(char[] destino, int p, char c, int vezes) {
+        for (int i = 0; i < vezes; i++) {
+            destino[p++] = c;
+        }
+        return p;
+    }
+
+    private static int digitos(int valor) {
+        int digitos = 1;
+        while (valor >= 10) {
+            valor /= 10;
+            digitos++;
+        }
+        return digitos;
     }
 }
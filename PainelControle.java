@@ -1,31 +1,44 @@
-public class PainelControle {
-    private int[] botoesSubir;   // 0 = desligado, 1 = ligado
-    private int[] botoesDescer;
+/**
+ * Painel com os botões de chamada de subida e descida de cada andar.
+ * Os botões ficam em bitsets de palavras long (ConjuntoAndares), de modo que
+ * o próximo andar chamado acima ou abaixo é encontrado com numberOfTrailingZeros
+ * e numberOfLeadingZeros em vez de percorrer os andares um a um.
+ * Ligado às filas como ouvinte de transições, o painel acende um botão quando a
+ * fila correspondente recebe a primeira pessoa e apaga quando ela esvazia.
+ */
+public class PainelControle implements OuvinteTransicaoFila {
+    private ConjuntoAndares botoesSubir;
+    private ConjuntoAndares botoesDescer;
     private int numeroAndares;
+    private OuvinteSimulacao ouvinte = new OuvinteConsole();
+    private OuvinteTransicaoFila ouvinteChamadas;    // null quando ninguém acompanha as chamadas
 
     // Construtor que recebe Configuracao (já existia)
     public PainelControle(Configuracao config) {
-        this.numeroAndares = config.getNumeroAndares();
-        this.botoesSubir = new int[numeroAndares];
-        this.botoesDescer = new int[numeroAndares];
-        for (int i = 0; i < numeroAndares; i++) {
-            botoesSubir[i] = 0;
-            botoesDescer[i] = 0;
-        }
+        this(config.getNumeroAndares());
     }
 
     // Recebe número de andares diretamente
     public PainelControle(int numeroAndares) {
         this.numeroAndares = numeroAndares;
-        this.botoesSubir = new int[numeroAndares];
-        this.botoesDescer = new int[numeroAndares];
-        for (int i = 0; i < numeroAndares; i++) {
-            botoesSubir[i] = 0;
-            botoesDescer[i] = 0;
-        }
+        this.botoesSubir = new ConjuntoAndares(numeroAndares);
+        this.botoesDescer = new ConjuntoAndares(numeroAndares);
+    }
+
+    // Define quem recebe os avisos de botões pressionados e resetados
+    public void setOuvinte(OuvinteSimulacao ouvinte) {
+        this.ouvinte = ouvinte;
+    }
+
+    /**
+     * Define quem é avisado das chamadas depois que o painel acende ou apaga o botão,
+     * por exemplo o despacho em grupo, que atribui cada chamada a um elevador.
+     * @param ouvinteChamadas Ouvinte das transições das filas, ou null
+     */
+    public void setOuvinteChamadas(OuvinteTransicaoFila ouvinteChamadas) {
+        this.ouvinteChamadas = ouvinteChamadas;
     }
 
-    
     public void ativarBotaoSubir(int andar) {
         pressionarBotaoSubir(andar);
     }
@@ -35,39 +48,63 @@ public class PainelControle {
     }
 
     public void pressionarBotaoSubir(int andar) {
-        if (andar >= 0 && andar < numeroAndares - 1 && botoesSubir[andar] == 0) {
-            botoesSubir[andar] = 1;
-            System.out.println("[LOG] Painel: Botão SUBIR pressionado no andar " + andar);
+        if (andar >= 0 && andar < numeroAndares - 1 && !botoesSubir.contem(andar)) {
+            botoesSubir.definir(andar, true);
+            ouvinte.botaoPressionado(andar, true);
         }
     }
 
     public void pressionarBotaoDescer(int andar) {
-        if (andar > 0 && andar < numeroAndares && botoesDescer[andar] == 0) {
-            botoesDescer[andar] = 1;
-            System.out.println("[LOG] Painel: Botão DESCER pressionado no andar " + andar);
+        if (andar > 0 && andar < numeroAndares && !botoesDescer.contem(andar)) {
+            botoesDescer.definir(andar, true);
+            ouvinte.botaoPressionado(andar, false);
         }
     }
 
     public void resetarBotaoSubir(int andar) {
-        if (andar >= 0 && andar < numeroAndares && botoesSubir[andar] == 1) {
-            botoesSubir[andar] = 0;
-            System.out.println("[LOG] Painel: Botão SUBIR resetado no andar " + andar);
+        if (botoesSubir.contem(andar)) {
+            botoesSubir.definir(andar, false);
+            ouvinte.botaoResetado(andar, true);
         }
     }
 
     public void resetarBotaoDescer(int andar) {
-        if (andar >= 0 && andar < numeroAndares && botoesDescer[andar] == 1) {
-            botoesDescer[andar] = 0;
-            System.out.println("[LOG] Painel: Botão DESCER resetado no andar " + andar);
+        if (botoesDescer.contem(andar)) {
+            botoesDescer.definir(andar, false);
+            ouvinte.botaoResetado(andar, false);
+        }
+    }
+
+    @Override
+    public void filaOcupada(int andar, boolean subir) {
+        if (subir) {
+            pressionarBotaoSubir(andar);
+        } else {
+            pressionarBotaoDescer(andar);
+        }
+        if (ouvinteChamadas != null) {
+            ouvinteChamadas.filaOcupada(andar, subir);
+        }
+    }
+
+    @Override
+    public void filaEsvaziada(int andar, boolean subir) {
+        if (subir) {
+            resetarBotaoSubir(andar);
+        } else {
+            resetarBotaoDescer(andar);
+        }
+        if (ouvinteChamadas != null) {
+            ouvinteChamadas.filaEsvaziada(andar, subir);
         }
     }
 
     public boolean isBotaoSubirPressionado(int andar) {
-        return andar >= 0 && andar < numeroAndares && botoesSubir[andar] == 1;
+        return botoesSubir.contem(andar);
     }
 
     public boolean isBotaoDescerPressionado(int andar) {
-        return andar >= 0 && andar < numeroAndares && botoesDescer[andar] == 1;
+        return botoesDescer.contem(andar);
     }
 
     public boolean isAndarSelecionado(int andar) {
@@ -113,28 +150,66 @@ public class PainelControle {
         return isBotaoSubirPressionado(andar) || isBotaoDescerPressionado(andar);
     }
 
+    /**
+     * Retorna o próximo andar com qualquer botão pressionado na direção dada,
+     * sem contar o andar atual.
+     * @param andarAtual Andar de referência
+     * @param subindo true para procurar acima, false para procurar abaixo
+     * @return Andar encontrado ou -1 se não houver chamada na direção
+     */
     public int getProximoAndarChamado(int andarAtual, boolean subindo) {
         if (subindo) {
-            for (int i = andarAtual + 1; i < numeroAndares; i++) {
-                if (isAndarChamado(i)) {
-                    return i;
-                }
-            }
-        } else {
-            for (int i = andarAtual - 1; i >= 0; i--) {
-                if (isAndarChamado(i)) {
-                    return i;
-                }
-            }
+            return menorAndar(botoesSubir.proximoAcima(andarAtual + 1), botoesDescer.proximoAcima(andarAtual + 1));
         }
-        return -1; // nenhum chamado na direção
+        return Math.max(botoesSubir.proximoAbaixo(andarAtual - 1), botoesDescer.proximoAbaixo(andarAtual - 1));
+    }
+
+    /**
+     * Retorna o próximo andar, na direção dada, cujo botão é do mesmo sentido
+     * (botão de subir acima de quem sobe, botão de descer abaixo de quem desce),
+     * sem contar o andar atual.
+     * @param andarAtual Andar de referência
+     * @param subindo true para quem está subindo, false para quem está descendo
+     * @return Andar encontrado ou -1 se não houver chamada no mesmo sentido
+     */
+    public int getProximoAndarMesmoSentido(int andarAtual, boolean subindo) {
+        return subindo ? botoesSubir.proximoAcima(andarAtual + 1) : botoesDescer.proximoAbaixo(andarAtual - 1);
+    }
+
+    /**
+     * Verifica se algum botão está pressionado em um intervalo de andares.
+     * @param inicio Primeiro andar do intervalo, inclusive
+     * @param fim Último andar do intervalo, inclusive
+     * @return true se houver chamada no intervalo, false caso contrário
+     */
+    public boolean temChamadaEntre(int inicio, int fim) {
+        return botoesSubir.contemAlgumEntre(inicio, fim) || botoesDescer.contemAlgumEntre(inicio, fim);
+    }
+
+    /**
+     * Retorna os botões pressionados de uma direção. O conjunto é o do próprio
+     * painel e não deve ser alterado por quem o consulta.
+     * @param subir true para os botões de subir, false para os de descer
+     * @return Conjunto de andares com o botão pressionado
+     */
+    public ConjuntoAndares getChamadas(boolean subir) {
+        return subir ? botoesSubir : botoesDescer;
+    }
+
+    /**
+     * Retorna quantos botões de uma direção estão pressionados.
+     * @param subir true para os botões de subir, false para os de descer
+     * @return Número de botões pressionados
+     */
+    public int contarChamadas(boolean subir) {
+        return getChamadas(subir).getQuantidade();
     }
 
     public void imprimirStatus() {
         System.out.println("Botões ativos no painel:");
         for (int i = numeroAndares - 1; i >= 0; i--) {
-            String subir = (botoesSubir[i] == 1) ? "[▲]" : "   ";
-            String descer = (botoesDescer[i] == 1) ? "[▼]" : "   ";
+            String subir = botoesSubir.contem(i) ? "[▲]" : "   ";
+            String descer = botoesDescer.contem(i) ? "[▼]" : "   ";
             System.out.println("Andar " + i + ": " + subir + " " + descer);
         }
     }
@@ -142,4 +217,10 @@ public class PainelControle {
     public void imprimirEstado() {
         imprimirStatus();
     }
+
+    private static int menorAndar(int a, int b) {
+        if (a == -1) return b;
+        if (b == -1) return a;
+        return Math.min(a, b);
+    }
 }
@@ -1,17 +1,30 @@
 /**
  * Representa uma pessoa no sistema de elevadores.
- * Mantém informações sobre características físicas, localização e tempo de espera.
+ * Mantém informações sobre características físicas, localização e ciclo de chegada.
+ * Em um prédio com zonas, a viagem pode ter mais de um trecho: origem e destino são
+ * os do trecho atual, e o destino final só é alcançado depois das baldeações.
  */
 public class Pessoa {
     private static final int IDADE_IDOSO = 60;
-    
+
+    // Classes de prioridade, da maior para a menor
+    public static final int CLASSE_CADEIRANTE = 0;
+    public static final int CLASSE_IDOSO = 1;
+    public static final int CLASSE_NORMAL = 2;
+    public static final int NUMERO_CLASSES = 3;
+
     private final String nome;
     private final int idade;
     private final boolean cadeirante;
     private final int peso;
-    private final int andarOrigem;
-    private final int andarDestino;
-    private int tempoEspera;
+    private int andarOrigem;
+    private int andarDestino;
+    private final int destinoFinal;
+    private final int cicloChegada;
+    private int cicloChegadaTrecho;
+    private int cicloEmbarque;
+    private int elevadorDesignado;
+    private int zona;
 
     /**
      * Construtor da classe Pessoa.
@@ -23,13 +36,33 @@ public class Pessoa {
      * @param andarDestino Andar de destino
      */
     public Pessoa(String nome, int idade, boolean cadeirante, int peso, int andarOrigem, int andarDestino) {
+        this(nome, idade, cadeirante, peso, andarOrigem, andarDestino, 0);
+    }
+
+    /**
+     * Construtor da classe Pessoa com o ciclo em que ela chegou à fila.
+     * @param nome Nome da pessoa
+     * @param idade Idade da pessoa
+     * @param cadeirante Indica se a pessoa é cadeirante
+     * @param peso Peso da pessoa em kg
+     * @param andarOrigem Andar de origem
+     * @param andarDestino Andar de destino
+     * @param cicloChegada Ciclo (minuto) em que a pessoa chegou ao andar de origem
+     */
+    public Pessoa(String nome, int idade, boolean cadeirante, int peso, int andarOrigem, int andarDestino,
+                  int cicloChegada) {
         this.nome = nome;
         this.idade = idade;
         this.cadeirante = cadeirante;
         this.peso = peso;
         this.andarOrigem = andarOrigem;
         this.andarDestino = andarDestino;
-        this.tempoEspera = 0;
+        this.destinoFinal = andarDestino;
+        this.cicloChegada = cicloChegada;
+        this.cicloChegadaTrecho = cicloChegada;
+        this.cicloEmbarque = -1;
+        this.elevadorDesignado = -1;
+        this.zona = -1;
     }
 
     /**
@@ -65,7 +98,7 @@ public class Pessoa {
     }
 
     /**
-     * Retorna o andar de origem da pessoa.
+     * Retorna o andar de origem do trecho atual da pessoa.
      * @return Andar de origem
      */
     public int getAndarOrigem() {
@@ -73,13 +106,60 @@ public class Pessoa {
     }
 
     /**
-     * Retorna o andar de destino da pessoa.
+     * Retorna o andar de destino do trecho atual da pessoa.
      * @return Andar de destino
      */
     public int getAndarDestino() {
         return andarDestino;
     }
 
+    /**
+     * Retorna o andar aonde a pessoa quer chegar, ao fim de todos os trechos.
+     * @return Andar de destino final
+     */
+    public int getDestinoFinal() {
+        return destinoFinal;
+    }
+
+    /**
+     * Verifica se o trecho atual termina em um andar de baldeação, antes do destino final.
+     * @return true se a pessoa ainda vai trocar de elevador, false caso contrário
+     */
+    public boolean isBaldeacao() {
+        return andarDestino != destinoFinal;
+    }
+
+    /**
+     * Define o destino do trecho atual e a zona de elevadores que o atende.
+     * @param destino Andar de destino do trecho
+     * @param zona Zona que atende o trecho, ou -1 sem zoneamento
+     */
+    public void definirTrecho(int destino, int zona) {
+        this.andarDestino = destino;
+        this.zona = zona;
+    }
+
+    /**
+     * Começa um novo trecho no andar de baldeação onde a pessoa desceu: ela volta
+     * a esperar, sem elevador designado, e a espera passa a contar deste ciclo.
+     * O destino do novo trecho é definido em seguida com definirTrecho.
+     * @param ciclo Ciclo (minuto) da chegada ao andar de baldeação
+     */
+    public void iniciarBaldeacao(int ciclo) {
+        this.andarOrigem = andarDestino;
+        this.cicloChegadaTrecho = ciclo;
+        this.cicloEmbarque = -1;
+        this.elevadorDesignado = -1;
+    }
+
+    /**
+     * Retorna a zona de elevadores que atende o trecho atual.
+     * @return Zona do trecho, ou -1 sem zoneamento
+     */
+    public int getZona() {
+        return zona;
+    }
+
     /**
      * Verifica se a pessoa tem prioridade no sistema.
      * @return true se a pessoa é idosa ou cadeirante, false caso contrário
@@ -107,25 +187,89 @@ public class Pessoa {
     }
 
     /**
-     * Retorna o tempo de espera da pessoa.
+     * Retorna a classe de prioridade da pessoa.
+     * @return CLASSE_CADEIRANTE, CLASSE_IDOSO ou CLASSE_NORMAL
+     */
+    public int getClassePrioridade() {
+        if (isCadeirante()) return CLASSE_CADEIRANTE;
+        if (isIdoso()) return CLASSE_IDOSO;
+        return CLASSE_NORMAL;
+    }
+
+    /**
+     * Retorna o ciclo em que a pessoa chegou ao andar de origem.
+     * @return Ciclo de chegada
+     */
+    public int getCicloChegada() {
+        return cicloChegada;
+    }
+
+    /**
+     * Calcula o tempo de espera da pessoa no trecho atual até um ciclo.
+     * O próprio ciclo é contado, de modo que quem embarca no ciclo em que chegou esperou 1 minuto.
+     * @param cicloAtual Ciclo de referência
      * @return Tempo de espera em minutos
      */
-    public int getTempoEspera() {
-        return tempoEspera;
+    public int getTempoEspera(int cicloAtual) {
+        return cicloAtual - cicloChegadaTrecho + 1;
+    }
+
+    /**
+     * Registra o ciclo em que a pessoa embarcou em um elevador.
+     * @param ciclo Ciclo (minuto) do embarque
+     */
+    public void registrarEmbarque(int ciclo) {
+        this.cicloEmbarque = ciclo;
+    }
+
+    /**
+     * Retorna o ciclo em que a pessoa embarcou.
+     * @return Ciclo do embarque, ou -1 se ainda não embarcou
+     */
+    public int getCicloEmbarque() {
+        return cicloEmbarque;
+    }
+
+    /**
+     * Designa o elevador que a pessoa deve tomar, no despacho por destino.
+     * @param elevador Identificador do elevador, ou -1 para qualquer um
+     */
+    public void setElevadorDesignado(int elevador) {
+        this.elevadorDesignado = elevador;
+    }
+
+    /**
+     * Retorna o elevador designado para a pessoa.
+     * @return Identificador do elevador, ou -1 se qualquer elevador pode levá-la
+     */
+    public int getElevadorDesignado() {
+        return elevadorDesignado;
+    }
+
+    /**
+     * Calcula o tempo dentro do elevador, do embarque até um ciclo.
+     * @param cicloAtual Ciclo do desembarque
+     * @return Tempo de viagem em minutos, ou 0 se a pessoa não embarcou
+     */
+    public int getTempoViagem(int cicloAtual) {
+        return cicloEmbarque < 0 ? 0 : cicloAtual - cicloEmbarque;
     }
 
     /**
-     * Incrementa o tempo de espera da pessoa em 1 minuto.
+     * Calcula o tempo total do percurso, da chegada ao andar de origem até um ciclo.
+     * É a soma da espera no embarque com o tempo de viagem, e das baldeações, se houver.
+     * @param cicloAtual Ciclo do desembarque
+     * @return Tempo total em minutos
      */
-    public void incrementarTempoEspera() {
-        tempoEspera++;
+    public int getTempoPercurso(int cicloAtual) {
+        return cicloAtual - cicloChegada + 1;
     }
 
     @Override
     public String toString() {
-        return String.format("%s (idade: %d, peso: %d, origem: %d, destino: %d%s, espera: %dmin)",
+        return String.format("%s (idade: %d, peso: %d, origem: %d, destino: %d%s, chegada: ciclo %d)",
             nome, idade, peso, andarOrigem, andarDestino,
             isPrioridade() ? ", PRIORITÁRIA" : "",
-            tempoEspera);
+            cicloChegada);
     }
 }
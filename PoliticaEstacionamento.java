@@ -0,0 +1,191 @@
+/**
+ * Estacionamento dos elevadores vazios e sem chamada perto dos andares onde as
+ * próximas chamadas devem surgir, em vez de deixá-los onde pararam. A cada período
+ * a política consulta o previsor de chegadas para os próximos HORIZONTE_MINUTOS e divide os
+ * elevadores ociosos pelos quantis dessa demanda: cada um fica com uma fatia de
+ * chamadas do mesmo tamanho e estaciona na mediana da sua fatia. Com a demanda
+ * concentrada no térreo antes do pico da manhã, por exemplo, vários elevadores
+ * estacionam no térreo; antes do pico da tarde, nos andares de cima.
+ *
+ * A previsão combina a taxa recente de chamadas com o perfil diário (veja
+ * PrevisorChegadas), de modo que a política se antecipa a um pico que já aconteceu
+ * antes. Um elevador só se desloca se a espera que ele evita pagar a energia gasta
+ * para chegar lá.
+ *
+ * O planejamento, a cada período, faz uma passada pelos andares e uma busca binária
+ * por elevador ocioso.
+ */
+public class PoliticaEstacionamento {
+    // Intervalo entre dois planejamentos, em minutos
+    public static final int PERIODO_MINUTOS = 5;
+    // Antecedência da previsão: cobre o tempo de levar um elevador até o andar
+    private static final int HORIZONTE_MINUTOS = 15;
+
+    private final int numeroAndares;
+    private final int tempoAndar;
+    private final int consumoAndar;
+    private final int segundosPorEnergia;
+    private final PrevisorChegadas previsor;
+
+    // Chamadas previstas por andar no horizonte e somas prefixadas usadas nos quantis
+    private final double[] previsao;
+    private final double[] acumulada;
+    private final double[] momento;
+    private final Elevador[] ociosos;
+
+    private long planejamentos;
+
+    /**
+     * Construtor da política de estacionamento.
+     * @param config Configuração, usada para o número de andares, o tempo de viagem,
+     *               o consumo por andar e o custo da energia em segundos de espera
+     * @param previsor Previsor alimentado com as chamadas do prédio
+     */
+    public PoliticaEstacionamento(Configuracao config, PrevisorChegadas previsor) {
+        this.numeroAndares = config.getNumeroAndares();
+        this.tempoAndar = (config.getTempoMinimoViagem() + config.getTempoMaximoViagem()) / 2;
+        this.consumoAndar = config.getConsumoPorAndar();
+        this.segundosPorEnergia = config.getSegundosPorEnergia();
+        this.previsor = previsor;
+        this.previsao = new double[numeroAndares];
+        this.acumulada = new double[numeroAndares + 1];
+        this.momento = new double[numeroAndares + 1];
+        this.ociosos = new Elevador[config.getNumeroElevadores()];
+    }
+
+    /**
+     * Indica se o minuto começa um período, quando os elevadores ociosos são replanejados.
+     * @param minuto Minuto da simulação
+     * @return true se o minuto é múltiplo de PERIODO_MINUTOS
+     */
+    public static boolean isInicioPeriodo(int minuto) {
+        return minuto % PERIODO_MINUTOS == 0;
+    }
+
+    /**
+     * Retorna o primeiro minuto de planejamento depois de um minuto dado.
+     * @param minuto Minuto da simulação
+     * @return Início do próximo período
+     */
+    public static int proximoInicioPeriodo(int minuto) {
+        return (minuto / PERIODO_MINUTOS + 1) * PERIODO_MINUTOS;
+    }
+
+    /**
+     * Prevê as chamadas de cada andar nos próximos HORIZONTE_MINUTOS.
+     * Deve ser chamado uma vez por período, antes de planejar os grupos de elevadores.
+     * @param minuto Minuto de início do período
+     */
+    public void atualizarPrevisao(int minuto) {
+        for (int a = 0; a < numeroAndares; a++) {
+            previsao[a] = previsor.prever(a, minuto, HORIZONTE_MINUTOS);
+        }
+        planejamentos++;
+    }
+
+    /**
+     * Define o andar de estacionamento dos elevadores ociosos de um grupo: os que estão
+     * vazios e sem chamada, inclusive os que já iam estacionar. Os demais seguem
+     * atendendo e não são alterados.
+     * @param grupo Elevadores do grupo (todos, ou os de uma zona)
+     * @param atendidos Andares atendidos pelo grupo, ou null para todos
+     * @return Número de elevadores enviados a um andar diferente do atual
+     */
+    public int planejar(Elevador[] grupo, ConjuntoAndares atendidos) {
+        int m = 0;
+        for (Elevador elevador : grupo) {
+            if (elevador.isOcioso()) {
+                // Ordena os ociosos pelo andar atual, por inserção; o grupo é pequeno
+                int i = m++;
+                while (i > 0 && ociosos[i - 1].getAndarAtual() > elevador.getAndarAtual()) {
+                    ociosos[i] = ociosos[i - 1];
+                    i--;
+                }
+                ociosos[i] = elevador;
+            }
+        }
+        if (m == 0) return 0;
+
+        for (int a = 0; a < numeroAndares; a++) {
+            double w = atendidos == null || atendidos.contem(a) ? previsao[a] : 0;
+            acumulada[a + 1] = acumulada[a] + w;
+            momento[a + 1] = momento[a] + w * a;
+        }
+        double total = acumulada[numeroAndares];
+
+        // A fatia j da demanda vai de j/m a (j+1)/m do total; os ociosos, em ordem de
+        // andar, ficam com as fatias em ordem, o que minimiza o deslocamento somado
+        int enviados = 0;
+        for (int j = 0; j < m; j++) {
+            Elevador elevador = ociosos[j];
+            ociosos[j] = null;
+            if (total <= 0) {
+                elevador.estacionar(-1);
+                continue;
+            }
+            int inicio = andarDoQuantil(total * j / m);
+            int alvo = andarDoQuantil(total * (j + 0.5) / m);
+            int fim = andarDoQuantil(total * (j + 1) / m);
+            int atual = elevador.getAndarAtual();
+            if (alvo != atual && compensa(atual, alvo, inicio, fim, total / m)) {
+                elevador.estacionar(alvo);
+                enviados++;
+            } else {
+                elevador.estacionar(-1);
+            }
+        }
+        return enviados;
+    }
+
+    /**
+     * Retorna quantos períodos foram planejados.
+     * @return Número de planejamentos
+     */
+    public long getPlanejamentos() {
+        return planejamentos;
+    }
+
+    /**
+     * Retorna as chamadas previstas de um andar no horizonte do último planejamento.
+     * @param andar Andar consultado
+     * @return Número esperado de chamadas
+     */
+    public double getPrevisao(int andar) {
+        return previsao[andar];
+    }
+
+    // Compara a espera evitada na primeira chamada da fatia, ponderada pela chance de
+    // haver alguma no horizonte, com a energia do deslocamento em segundos de espera
+    private boolean compensa(int atual, int alvo, int inicio, int fim, double chamadasFatia) {
+        double chance = 1 - Math.exp(-chamadasFatia);
+        double andaresEvitados = distanciaMedia(inicio, fim, atual) - distanciaMedia(inicio, fim, alvo);
+        double ganho = chance * andaresEvitados * tempoAndar;
+        double custo = (double) Math.abs(alvo - atual) * consumoAndar * segundosPorEnergia;
+        return ganho > custo;
+    }
+
+    // Distância média, ponderada pela previsão, dos andares inicio..fim até um andar
+    private double distanciaMedia(int inicio, int fim, int andar) {
+        int corte = Math.max(inicio, Math.min(fim + 1, andar + 1));
+        double pesoAbaixo = acumulada[corte] - acumulada[inicio];
+        double pesoAcima = acumulada[fim + 1] - acumulada[corte];
+        double somaAbaixo = andar * pesoAbaixo - (momento[corte] - momento[inicio]);
+        double somaAcima = (momento[fim + 1] - momento[corte]) - andar * pesoAcima;
+        return (somaAbaixo + somaAcima) / (pesoAbaixo + pesoAcima);
+    }
+
+    // Primeiro andar em que a demanda acumulada chega ao limite, por busca binária
+    private int andarDoQuantil(double limite) {
+        int baixo = 0;
+        int alto = numeroAndares - 1;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (acumulada[meio + 1] >= limite) {
+                alto = meio;
+            } else {
+                baixo = meio + 1;
+            }
+        }
+        return baixo;
+    }
+}
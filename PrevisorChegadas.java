@@ -0,0 +1,243 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Prevê quantas chamadas cada andar fará em cada sentido, aprendendo com as chamadas
+ * que o controlador observa. Combina duas estimativas, ambas com decaimento exponencial:
+ *
+ * - o perfil diário: para cada faixa de 15 minutos do dia, andar e sentido, a média
+ *   móvel exponencial das chamadas da faixa em cada dia, em que cada dia pesa
+ *   PESO_DIA_NOVO e os anteriores perdem peso na mesma proporção;
+ * - a taxa recente: para cada andar e sentido, as chamadas com peso que decai
+ *   pela metade a cada MEIA_VIDA_RECENTE_MINUTOS.
+ *
+ * Tudo fica em arrays primitivos de tamanho fixo. Registrar uma chamada custa O(1):
+ * o dia anterior de uma faixa só é incorporado à média quando a faixa recebe a
+ * primeira chamada de um novo dia, e o decaimento da taxa recente é calculado a partir
+ * do minuto da última chamada. O perfil pode ser salvo ao fim de uma execução e
+ * carregado na seguinte, de modo que um novo dia simulado já começa com o histórico.
+ */
+public class PrevisorChegadas {
+    public static final int MINUTOS_FAIXA = 15;
+    private static final int MINUTOS_DIA = 1440;
+    private static final int FAIXAS_DIA = MINUTOS_DIA / MINUTOS_FAIXA;
+    private static final double PESO_DIA_NOVO = 0.3;
+    private static final int MEIA_VIDA_RECENTE_MINUTOS = 10;
+    // Peso do perfil na previsão, quando já há pelo menos um dia observado
+    private static final double PESO_PERFIL = 0.5;
+
+    // Cabeçalho do arquivo binário: "ELVP", versão, andares, faixas e minutos observados
+    private static final int ASSINATURA_BINARIO = 0x454C5650;
+    private static final int VERSAO_BINARIO = 2;
+
+    private final int numeroAndares;
+
+    // Perfil por faixa, andar e sentido: média dos dias já incorporados, chamadas do
+    // dia em andamento e dia dessas chamadas (-1 se não há chamadas pendentes)
+    private final double[] mediaFaixa;
+    private final int[] chamadasDia;
+    private final int[] diaChamadas;
+
+    // Taxa recente por andar e sentido: peso acumulado e minuto da última chamada
+    private final double[] recente;
+    private final int[] minutoRecente;
+    // Fator de decaimento da taxa recente por minutos decorridos
+    private final double[] decaimento;
+
+    // Minutos observados em execuções anteriores e dias incorporados à média de cada
+    // faixa nelas, carregados com o perfil
+    private long minutosAnteriores;
+    private final int[] diasAnteriores;
+
+    /**
+     * Construtor do previsor, sem histórico.
+     * @param numeroAndares Número de andares do prédio
+     */
+    public PrevisorChegadas(int numeroAndares) {
+        this.numeroAndares = numeroAndares;
+        int tamanho = FAIXAS_DIA * numeroAndares * 2;
+        this.mediaFaixa = new double[tamanho];
+        this.chamadasDia = new int[tamanho];
+        this.diaChamadas = new int[tamanho];
+        Arrays.fill(diaChamadas, -1);
+        this.diasAnteriores = new int[FAIXAS_DIA];
+        this.recente = new double[numeroAndares * 2];
+        this.minutoRecente = new int[numeroAndares * 2];
+        // Depois de 8 meias-vidas o peso restante é desprezado
+        this.decaimento = new double[8 * MEIA_VIDA_RECENTE_MINUTOS + 1];
+        for (int k = 0; k < decaimento.length; k++) {
+            decaimento[k] = Math.pow(0.5, (double) k / MEIA_VIDA_RECENTE_MINUTOS);
+        }
+    }
+
+    /**
+     * Registra uma chamada: uma pessoa que entrou na fila de um andar.
+     * @param andar Andar da chamada
+     * @param subir true para a chamada de subida, false para a de descida
+     * @param minuto Minuto da simulação
+     */
+    public void registrarChamada(int andar, boolean subir, int minuto) {
+        int i = posicao(andar, subir);
+        recente[i] = recente[i] * fatorDecaimento(minuto - minutoRecente[i]) + 1;
+        minutoRecente[i] = minuto;
+
+        int dia = minuto / MINUTOS_DIA;
+        int f = posicaoFaixa(faixa(minuto), i);
+        if (diaChamadas[f] != dia) {
+            mediaFaixa[f] = mediaAte(f, dia);
+            chamadasDia[f] = 0;
+            diaChamadas[f] = dia;
+        }
+        chamadasDia[f]++;
+    }
+
+    /**
+     * Prevê as chamadas de um andar em um sentido em um intervalo que começa no minuto
+     * atual. Enquanto alguma faixa do intervalo não tem um dia completo de histórico vale
+     * só a taxa recente; depois, a média dela com o perfil das faixas do intervalo.
+     * @param andar Andar consultado
+     * @param subir true para as chamadas de subida, false para as de descida
+     * @param minuto Minuto atual da simulação
+     * @param horizonte Duração do intervalo em minutos
+     * @return Número esperado de chamadas no intervalo
+     */
+    public double prever(int andar, boolean subir, int minuto, int horizonte) {
+        int i = posicao(andar, subir);
+        double taxaRecente = recente[i] * fatorDecaimento(minuto - minutoRecente[i])
+                             * (1 - decaimento[1]);
+        double previsao = taxaRecente * horizonte;
+
+        double perfil = 0;
+        for (int t = minuto; t < minuto + horizonte; ) {
+            int fimFaixa = Math.min(minuto + horizonte, (t / MINUTOS_FAIXA + 1) * MINUTOS_FAIXA);
+            int dias = diasAnteriores[faixa(t)] + t / MINUTOS_DIA;
+            if (dias == 0) return previsao;
+            // A média começa em zero; dividir por 1 - (1 - PESO_DIA_NOVO)^dias corrige o viés
+            // dos primeiros dias
+            double correcao = 1 - Math.pow(1 - PESO_DIA_NOVO, dias);
+            perfil += mediaAte(posicaoFaixa(faixa(t), i), t / MINUTOS_DIA) / correcao * (fimFaixa - t) / MINUTOS_FAIXA;
+            t = fimFaixa;
+        }
+        return PESO_PERFIL * perfil + (1 - PESO_PERFIL) * previsao;
+    }
+
+    /**
+     * Prevê as chamadas de um andar nos dois sentidos.
+     * @param andar Andar consultado
+     * @param minuto Minuto atual da simulação
+     * @param horizonte Duração do intervalo em minutos
+     * @return Número esperado de chamadas no intervalo
+     */
+    public double prever(int andar, int minuto, int horizonte) {
+        return prever(andar, true, minuto, horizonte) + prever(andar, false, minuto, horizonte);
+    }
+
+    /**
+     * Salva o perfil diário em um arquivo binário (big-endian). Cada faixa incorpora os
+     * dias em que o intervalo dela terminou antes do fim da simulação; uma faixa que a
+     * execução não chegou a simular, ou simulou só em parte, fica como estava, de modo
+     * que execuções curtas não apagam o perfil do resto do dia. Formato: assinatura "ELVP", versão, andares e
+     * faixas (int de 4 bytes cada), minutos observados (long), os dias incorporados a cada
+     * faixa (int) e a média de cada faixa, andar e sentido (double), por faixa, andar e
+     * sentido de subida antes do de descida.
+     * @param caminho Caminho do arquivo
+     * @param minuto Minuto da simulação em que ela termina
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    public void salvar(String caminho, int minuto) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(tamanhoArquivo());
+        buffer.putInt(ASSINATURA_BINARIO).putInt(VERSAO_BINARIO).putInt(numeroAndares).putInt(FAIXAS_DIA)
+              .putLong(minutosAnteriores + minuto);
+        for (int b = 0; b < FAIXAS_DIA; b++) {
+            buffer.putInt(diasAnteriores[b] + diasCompletos(b, minuto));
+        }
+        for (int f = 0; f < mediaFaixa.length; f++) {
+            // Os dias completos da faixa sem chamadas também contam como zero
+            int dias = diasCompletos(f / (numeroAndares * 2), minuto);
+            buffer.putDouble(diaChamadas[f] == -1 ? mediaFaixa[f] * Math.pow(1 - PESO_DIA_NOVO, dias)
+                                                  : mediaAte(f, dias));
+        }
+        buffer.flip();
+        try (FileChannel canal = FileChannel.open(Paths.get(caminho), StandardOpenOption.CREATE,
+                                                  StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Carrega um perfil salvo por salvar, substituindo o histórico atual.
+     * A simulação que carrega o perfil deve começar no minuto 0.
+     * @param caminho Caminho do arquivo
+     * @throws IOException se o arquivo não puder ser lido ou não for um perfil
+     *         de um prédio com o mesmo número de andares
+     */
+    public void carregar(String caminho) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(Paths.get(caminho)));
+        if (buffer.remaining() != tamanhoArquivo()
+            || buffer.getInt() != ASSINATURA_BINARIO || buffer.getInt() != VERSAO_BINARIO
+            || buffer.getInt() != numeroAndares || buffer.getInt() != FAIXAS_DIA) {
+            throw new IOException("Arquivo de previsão incompatível com este prédio: " + caminho);
+        }
+        minutosAnteriores = buffer.getLong();
+        for (int b = 0; b < FAIXAS_DIA; b++) {
+            diasAnteriores[b] = buffer.getInt();
+        }
+        for (int f = 0; f < mediaFaixa.length; f++) {
+            mediaFaixa[f] = buffer.getDouble();
+        }
+        Arrays.fill(chamadasDia, 0);
+        Arrays.fill(diaChamadas, -1);
+        Arrays.fill(recente, 0);
+        Arrays.fill(minutoRecente, 0);
+    }
+
+    /**
+     * Retorna os minutos observados em execuções anteriores, carregados com o perfil.
+     * @return Minutos observados antes desta execução
+     */
+    public long getMinutosAnteriores() {
+        return minutosAnteriores;
+    }
+
+    // Média da faixa até o início de um dia, incorporando as chamadas pendentes e os
+    // dias sem chamadas entre elas e esse dia
+    private double mediaAte(int f, int dia) {
+        if (diaChamadas[f] == -1 || diaChamadas[f] >= dia) return mediaFaixa[f];
+        double media = (1 - PESO_DIA_NOVO) * mediaFaixa[f] + PESO_DIA_NOVO * chamadasDia[f];
+        int diasSemChamadas = dia - diaChamadas[f] - 1;
+        return diasSemChamadas == 0 ? media : media * Math.pow(1 - PESO_DIA_NOVO, diasSemChamadas);
+    }
+
+    private int tamanhoArquivo() {
+        return 4 * Integer.BYTES + Long.BYTES + FAIXAS_DIA * Integer.BYTES + mediaFaixa.length * Double.BYTES;
+    }
+
+    // Quantos dias tiveram o intervalo da faixa inteiro simulado antes do minuto
+    private static int diasCompletos(int faixa, int minuto) {
+        int fimFaixa = (faixa + 1) * MINUTOS_FAIXA;
+        return minuto < fimFaixa ? 0 : (minuto - fimFaixa) / MINUTOS_DIA + 1;
+    }
+
+    private double fatorDecaimento(int minutos) {
+        return minutos < decaimento.length ? decaimento[minutos] : 0;
+    }
+
+    private int posicao(int andar, boolean subir) {
+        return (andar << 1) + (subir ? 0 : 1);
+    }
+
+    private int posicaoFaixa(int faixa, int posicao) {
+        return faixa * numeroAndares * 2 + posicao;
+    }
+
+    private static int faixa(int minuto) {
+        return (minuto % MINUTOS_DIA) / MINUTOS_FAIXA;
+    }
+}
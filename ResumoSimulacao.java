@@ -1,23 +1,78 @@
+import java.util.Arrays;
+
 /**
  * Mantém estatísticas e métricas da simulação do sistema de elevadores.
  * Registra informações sobre passageiros, viagens, energia e tempos de espera.
+ * Os tempos de espera, de viagem e de percurso também são guardados em histogramas,
+ * por classe de prioridade e por andar de origem, para o cálculo de percentis.
+ * Para comparar estratégias de despacho, registra também as paradas por viagem
+ * de cada elevador e a capacidade de transporte (desembarques em 5 minutos).
  */
 public class ResumoSimulacao {
+    // Nomes das classes na ordem de Pessoa.getClassePrioridade
+    private static final String[] NOMES_CLASSES = {"Cadeirante", "Idoso", "Normal"};
+    private static final double[] PERCENTIS = {50, 90, 95, 99};
+    private static final int ANDARES_IMPRESSOS = 5;
+    // Janela, em minutos, da capacidade de transporte
+    private static final int JANELA_CAPACIDADE = 5;
+
     // Contadores de eventos
     private int totalPassageirosGerados;
     private int totalEmbarques;
     private int totalDesembarques;
     private int totalViagens;
+    private int totalBaldeacoes;
     
     // Métricas de consumo e tempo
     private double energiaGastaTotal;
-    private int tempoEsperaTotal;
+    // Parte da energia gasta levando elevadores vazios ao estacionamento
+    private double energiaEstacionamento;
+    private int andaresEstacionamento;
+    private long tempoEsperaTotal;
+
+    // Ciclo em andamento, usado para calcular a espera no embarque
+    private int cicloAtual;
+
+    // Distribuições dos tempos em minutos: geral, por classe de prioridade e por andar de origem
+    private final Histograma espera;
+    private final Histograma viagem;
+    private final Histograma percurso;
+    private final Histograma[] esperaPorClasse;
+    private final Histograma[] viagemPorClasse;
+    private final Histograma[] percursoPorClasse;
+    private final Histograma[] esperaPorAndar;
+
+    // Paradas de cada viagem, do primeiro embarque no elevador vazio até ele esvaziar
+    private final Histograma paradasPorViagem;
+
+    // Desembarques dos últimos minutos, em anel, e o maior total já visto na janela
+    private final int[] desembarquesPorMinuto;
+    private int desembarquesJanela;
+    private int capacidadeTransporte;
 
     /**
-     * Construtor do resumo da simulação.
+     * Construtor do resumo da simulação, sem histogramas por andar.
      * Inicializa todos os contadores e métricas com zero.
      */
     public ResumoSimulacao() {
+        this(0);
+    }
+
+    /**
+     * Construtor do resumo da simulação.
+     * Inicializa todos os contadores e métricas com zero.
+     * @param numeroAndares Número de andares, para a espera por andar de origem
+     */
+    public ResumoSimulacao(int numeroAndares) {
+        this.espera = new Histograma();
+        this.viagem = new Histograma();
+        this.percurso = new Histograma();
+        this.esperaPorClasse = criarHistogramas(Pessoa.NUMERO_CLASSES);
+        this.viagemPorClasse = criarHistogramas(Pessoa.NUMERO_CLASSES);
+        this.percursoPorClasse = criarHistogramas(Pessoa.NUMERO_CLASSES);
+        this.esperaPorAndar = criarHistogramas(Math.max(0, numeroAndares));
+        this.paradasPorViagem = new Histograma();
+        this.desembarquesPorMinuto = new int[JANELA_CAPACIDADE];
         resetarEstatisticas();
     }
 
@@ -28,6 +83,37 @@ public class ResumoSimulacao {
         totalPassageirosGerados++;
     }
 
+    /**
+     * Informa o ciclo em andamento na simulação.
+     * @param ciclo Ciclo (minuto) atual
+     */
+    public void iniciarCiclo(int ciclo) {
+        // Descarta da janela os minutos que ficaram mais de 5 minutos para trás
+        int avanco = Math.min(ciclo - cicloAtual, JANELA_CAPACIDADE);
+        for (int i = 1; i <= avanco; i++) {
+            int posicao = (cicloAtual + i) % JANELA_CAPACIDADE;
+            desembarquesJanela -= desembarquesPorMinuto[posicao];
+            desembarquesPorMinuto[posicao] = 0;
+        }
+        cicloAtual = ciclo;
+    }
+
+    /**
+     * Registra o embarque de um passageiro no ciclo atual.
+     * O tempo de espera é calculado a partir do ciclo de chegada do passageiro.
+     * @param passageiro Passageiro que embarcou
+     */
+    public void registrarEmbarque(Pessoa passageiro) {
+        int tempoEspera = passageiro.getTempoEspera(cicloAtual);
+        registrarEmbarque(tempoEspera);
+        esperaPorClasse[passageiro.getClassePrioridade()].registrar(tempoEspera);
+        int andar = passageiro.getAndarOrigem();
+        if (andar >= 0 && andar < esperaPorAndar.length) {
+            esperaPorAndar[andar].registrar(tempoEspera);
+        }
+        passageiro.registrarEmbarque(cicloAtual);
+    }
+
     /**
      * Registra o embarque de um passageiro.
      * @param tempoEspera Tempo de espera do passageiro em minutos
@@ -35,6 +121,7 @@ public class ResumoSimulacao {
     public void registrarEmbarque(int tempoEspera) {
         totalEmbarques++;
         tempoEsperaTotal += tempoEspera;
+        espera.registrar(tempoEspera);
     }
 
     /**
@@ -42,6 +129,45 @@ public class ResumoSimulacao {
      */
     public void registrarDesembarque() {
         totalDesembarques++;
+        desembarquesPorMinuto[cicloAtual % JANELA_CAPACIDADE]++;
+        desembarquesJanela++;
+        if (desembarquesJanela > capacidadeTransporte) {
+            capacidadeTransporte = desembarquesJanela;
+        }
+    }
+
+    /**
+     * Registra o desembarque de um passageiro no ciclo atual,
+     * com o tempo de viagem e o tempo total do percurso.
+     * @param passageiro Passageiro que desembarcou
+     */
+    public void registrarDesembarque(Pessoa passageiro) {
+        registrarDesembarque();
+        int tempoViagem = passageiro.getTempoViagem(cicloAtual);
+        int tempoPercurso = passageiro.getTempoPercurso(cicloAtual);
+        int classe = passageiro.getClassePrioridade();
+        viagem.registrar(tempoViagem);
+        percurso.registrar(tempoPercurso);
+        viagemPorClasse[classe].registrar(tempoViagem);
+        percursoPorClasse[classe].registrar(tempoPercurso);
+    }
+
+    /**
+     * Registra uma pessoa que desceu em um andar de baldeação para trocar de zona.
+     */
+    public void registrarBaldeacao() {
+        totalBaldeacoes++;
+    }
+
+    /**
+     * Registra o deslocamento de um elevador vazio até o andar de estacionamento.
+     * A energia também deve ser registrada em registrarEnergiaGasta.
+     * @param andares Andares percorridos no ciclo
+     * @param energia Energia gasta nesses andares
+     */
+    public void registrarEstacionamento(int andares, double energia) {
+        andaresEstacionamento += andares;
+        energiaEstacionamento += energia;
     }
 
     /**
@@ -51,6 +177,15 @@ public class ResumoSimulacao {
         totalViagens++;
     }
 
+    /**
+     * Registra o fim de uma viagem com passageiros: o elevador, que partiu vazio,
+     * ficou vazio de novo.
+     * @param paradas Andares em que o elevador embarcou ou desembarcou alguém na viagem
+     */
+    public void registrarViagemCompleta(int paradas) {
+        paradasPorViagem.registrar(paradas);
+    }
+
     /**
      * Registra o consumo de energia.
      * @param energia Quantidade de energia gasta
@@ -67,6 +202,79 @@ public class ResumoSimulacao {
         return energiaGastaTotal;
     }
 
+    /**
+     * Retorna a energia gasta levando elevadores vazios ao estacionamento.
+     * @return Energia em unidades, já incluída em getEnergiaGastaTotal
+     */
+    public double getEnergiaEstacionamento() {
+        return energiaEstacionamento;
+    }
+
+    /**
+     * Retorna os andares percorridos por elevadores vazios a caminho do estacionamento.
+     * @return Número de andares
+     */
+    public int getAndaresEstacionamento() {
+        return andaresEstacionamento;
+    }
+
+    /**
+     * Retorna o total de passageiros gerados.
+     * @return Número de passageiros gerados
+     */
+    public int getTotalPassageirosGerados() {
+        return totalPassageirosGerados;
+    }
+
+    /**
+     * Retorna o total de embarques realizados.
+     * @return Número de embarques
+     */
+    public int getTotalEmbarques() {
+        return totalEmbarques;
+    }
+
+    /**
+     * Retorna o total de desembarques realizados.
+     * @return Número de desembarques
+     */
+    public int getTotalDesembarques() {
+        return totalDesembarques;
+    }
+
+    /**
+     * Retorna o total de baldeações entre zonas de elevadores.
+     * @return Número de baldeações
+     */
+    public int getTotalBaldeacoes() {
+        return totalBaldeacoes;
+    }
+
+    /**
+     * Retorna o total de viagens (deslocamentos de um andar) dos elevadores.
+     * @return Número de viagens
+     */
+    public int getTotalViagens() {
+        return totalViagens;
+    }
+
+    /**
+     * Retorna o histograma das paradas por viagem com passageiros.
+     * @return Histograma em número de paradas
+     */
+    public Histograma getHistogramaParadasViagem() {
+        return paradasPorViagem;
+    }
+
+    /**
+     * Retorna a capacidade de transporte: o maior número de passageiros entregues
+     * em 5 minutos seguidos.
+     * @return Desembarques na janela de 5 minutos mais movimentada
+     */
+    public int getCapacidadeTransporte() {
+        return capacidadeTransporte;
+    }
+
     /**
      * Calcula e retorna o tempo médio de espera dos passageiros.
      * @return Tempo médio de espera em minutos
@@ -76,6 +284,101 @@ public class ResumoSimulacao {
         return (double) tempoEsperaTotal / totalEmbarques;
     }
 
+    /**
+     * Retorna o histograma dos tempos de espera até o embarque.
+     * @return Histograma em minutos
+     */
+    public Histograma getHistogramaEspera() {
+        return espera;
+    }
+
+    /**
+     * Retorna o histograma dos tempos dentro do elevador.
+     * @return Histograma em minutos
+     */
+    public Histograma getHistogramaViagem() {
+        return viagem;
+    }
+
+    /**
+     * Retorna o histograma dos tempos totais de percurso (espera mais viagem).
+     * @return Histograma em minutos
+     */
+    public Histograma getHistogramaPercurso() {
+        return percurso;
+    }
+
+    /**
+     * Retorna o histograma dos tempos de espera de uma classe de prioridade.
+     * @param classe Pessoa.CLASSE_CADEIRANTE, CLASSE_IDOSO ou CLASSE_NORMAL
+     * @return Histograma em minutos
+     */
+    public Histograma getHistogramaEspera(int classe) {
+        return esperaPorClasse[classe];
+    }
+
+    /**
+     * Retorna o histograma dos tempos de percurso de uma classe de prioridade.
+     * @param classe Pessoa.CLASSE_CADEIRANTE, CLASSE_IDOSO ou CLASSE_NORMAL
+     * @return Histograma em minutos
+     */
+    public Histograma getHistogramaPercurso(int classe) {
+        return percursoPorClasse[classe];
+    }
+
+    /**
+     * Retorna o histograma dos tempos de espera de quem partiu de um andar.
+     * @param andar Andar de origem
+     * @return Histograma em minutos
+     */
+    public Histograma getHistogramaEsperaAndar(int andar) {
+        return esperaPorAndar[andar];
+    }
+
+    /**
+     * Retorna o número de andares com histograma de espera próprio.
+     * @return Número de andares
+     */
+    public int getNumeroAndares() {
+        return esperaPorAndar.length;
+    }
+
+    /**
+     * Soma ao resumo os contadores e histogramas de outro resumo,
+     * por exemplo de outra réplica ou de outra execução.
+     * @param outro Resumo a ser somado
+     * @throws IllegalArgumentException se os resumos tiverem números de andares diferentes
+     */
+    public void mesclar(ResumoSimulacao outro) {
+        if (outro.esperaPorAndar.length != esperaPorAndar.length) {
+            throw new IllegalArgumentException("Resumos com números de andares diferentes: " +
+                                               esperaPorAndar.length + " e " + outro.esperaPorAndar.length);
+        }
+        totalPassageirosGerados += outro.totalPassageirosGerados;
+        totalEmbarques += outro.totalEmbarques;
+        totalDesembarques += outro.totalDesembarques;
+        totalViagens += outro.totalViagens;
+        totalBaldeacoes += outro.totalBaldeacoes;
+        energiaGastaTotal += outro.energiaGastaTotal;
+        energiaEstacionamento += outro.energiaEstacionamento;
+        andaresEstacionamento += outro.andaresEstacionamento;
+        tempoEsperaTotal += outro.tempoEsperaTotal;
+        capacidadeTransporte = Math.max(capacidadeTransporte, outro.capacidadeTransporte);
+
+        espera.mesclar(outro.espera);
+        viagem.mesclar(outro.viagem);
+        percurso.mesclar(outro.percurso);
+        paradasPorViagem.mesclar(outro.paradasPorViagem);
+        for (int c = 0; c < Pessoa.NUMERO_CLASSES; c++) {
+            esperaPorClasse[c].mesclar(outro.esperaPorClasse[c]);
+            viagemPorClasse[c].mesclar(outro.viagemPorClasse[c]);
+            percursoPorClasse[c].mesclar(outro.percursoPorClasse[c]);
+        }
+        for (int a = 0; a < esperaPorAndar.length; a++) {
+            esperaPorAndar[a].mesclar(outro.esperaPorAndar[a]);
+        }
+    }
+
     /**
      * Imprime um resumo completo das estatísticas da simulação.
      */
@@ -85,11 +388,86 @@ public class ResumoSimulacao {
         System.out.println("Total de embarques realizados: " + totalEmbarques);
         System.out.println("Total de desembarques realizados: " + totalDesembarques);
         System.out.println("Total de viagens realizadas pelos elevadores: " + totalViagens);
+        if (totalBaldeacoes > 0) {
+            System.out.println("Total de baldeações entre zonas: " + totalBaldeacoes);
+        }
         System.out.printf("Energia total consumida: %.2f unidades\n", energiaGastaTotal);
+        if (andaresEstacionamento > 0) {
+            System.out.printf("Energia gasta estacionando: %.2f unidades (%d andares percorridos)\n",
+                              energiaEstacionamento, andaresEstacionamento);
+        }
         System.out.printf("Tempo médio de espera dos passageiros: %.2f minutos\n", getTempoEsperaMedio());
+        System.out.printf("Paradas por viagem: média %.2f | p95 %d | %d viagens\n",
+                          paradasPorViagem.getMedia(), paradasPorViagem.getPercentil(95), paradasPorViagem.getTotal());
+        System.out.println("Capacidade de transporte (pico em 5 minutos): " + capacidadeTransporte + " passageiros");
+        imprimirDistribuicoes();
         System.out.println("===========================\n");
     }
 
+    /**
+     * Imprime os percentis dos tempos de espera, viagem e percurso, por classe de prioridade,
+     * e os andares com a maior espera no percentil 95.
+     */
+    public void imprimirDistribuicoes() {
+        System.out.println("\n--- Distribuição dos tempos (minutos) ---");
+        System.out.printf("%-9s %-11s %9s %7s %5s %5s %5s %5s %6s\n",
+                          "Tempo", "Classe", "Total", "Média", "p50", "p90", "p95", "p99", "Máx");
+        imprimirLinhas("Espera", espera, esperaPorClasse);
+        imprimirLinhas("Viagem", viagem, viagemPorClasse);
+        imprimirLinhas("Percurso", percurso, percursoPorClasse);
+
+        if (esperaPorAndar.length == 0 || espera.getTotal() == 0) return;
+
+        // Seleciona os andares com maior p95 sem ordenar todos os andares
+        int quantidade = Math.min(ANDARES_IMPRESSOS, esperaPorAndar.length);
+        int[] piores = new int[quantidade];
+        int[] valores = new int[quantidade];
+        int encontrados = 0;
+        for (int a = 0; a < esperaPorAndar.length; a++) {
+            if (esperaPorAndar[a].getTotal() == 0) continue;
+            int p95 = esperaPorAndar[a].getPercentil(95);
+            if (encontrados == quantidade && p95 <= valores[quantidade - 1]) continue;
+
+            int posicao = encontrados < quantidade ? encontrados++ : quantidade - 1;
+            while (posicao > 0 && valores[posicao - 1] < p95) {
+                piores[posicao] = piores[posicao - 1];
+                valores[posicao] = valores[posicao - 1];
+                posicao--;
+            }
+            piores[posicao] = a;
+            valores[posicao] = p95;
+        }
+        System.out.println("Andares com maior espera (p95):");
+        for (int i = 0; i < encontrados; i++) {
+            Histograma h = esperaPorAndar[piores[i]];
+            System.out.printf("  Andar %-5d %9d embarques | média %.2f | p95 %d | máx %d\n",
+                              piores[i], h.getTotal(), h.getMedia(), h.getPercentil(95), h.getMaximo());
+        }
+    }
+
+    private void imprimirLinhas(String nome, Histograma geral, Histograma[] porClasse) {
+        imprimirLinha(nome, "Todos", geral);
+        for (int c = 0; c < porClasse.length; c++) {
+            imprimirLinha("", NOMES_CLASSES[c], porClasse[c]);
+        }
+    }
+
+    private void imprimirLinha(String nome, String classe, Histograma h) {
+        System.out.printf("%-9s %-11s %9d %7.2f", nome, classe, h.getTotal(), h.getMedia());
+        for (double p : PERCENTIS) {
+            System.out.printf(" %5d", h.getPercentil(p));
+        }
+        System.out.printf(" %6d\n", h.getMaximo());
+    }
+
+    private static Histograma[] criarHistogramas(int quantidade) {
+        Histograma[] histogramas = new Histograma[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            histogramas[i] = new Histograma();
+        }
+        return histogramas;
+    }
+
     /**
      * Reseta todas as estatísticas para zero.
      */
@@ -98,7 +476,26 @@ public class ResumoSimulacao {
         totalEmbarques = 0;
         totalDesembarques = 0;
         totalViagens = 0;
+        totalBaldeacoes = 0;
         energiaGastaTotal = 0;
+        energiaEstacionamento = 0;
+        andaresEstacionamento = 0;
         tempoEsperaTotal = 0;
+        cicloAtual = 0;
+        desembarquesJanela = 0;
+        capacidadeTransporte = 0;
+        Arrays.fill(desembarquesPorMinuto, 0);
+        paradasPorViagem.limpar();
+        espera.limpar();
+        viagem.limpar();
+        percurso.limpar();
+        for (int c = 0; c < Pessoa.NUMERO_CLASSES; c++) {
+            esperaPorClasse[c].limpar();
+            viagemPorClasse[c].limpar();
+            percursoPorClasse[c].limpar();
+        }
+        for (Histograma h : esperaPorAndar) {
+            h.limpar();
+        }
     }
 }
@@ -0,0 +1,179 @@
+import java.util.Arrays;
+
+/**
+ * Simulação por eventos discretos, alternativa ao laço fixo de minuto a minuto.
+ * Os eventos ficam em uma fila ordenada por tempo e o relógio salta direto
+ * para o próximo evento, de modo que elevadores ociosos não custam nada
+ * enquanto ninguém chama.
+ */
+public class SimuladorEventos {
+    // Tipos de evento
+    public static final int EVENTO_CHEGADA_PASSAGEIROS = 0;
+    public static final int EVENTO_CHEGADA_ELEVADOR = 1;
+    public static final int EVENTO_FECHAMENTO_PORTA = 2;
+    public static final int EVENTO_FIM_CICLO = 3;
+    public static final int EVENTO_ESTACIONAMENTO = 4;
+
+    private final ControladorElevadores controlador;
+    private final Elevador[] elevadores;
+    private final FilaPrioridadeDupla[] filas;
+    private final FilaEventos eventos;
+    private final boolean[] elevadorAgendado;
+    private final FilaChamadasConcorrente entradaConcorrente;
+    // Minuto do evento de chegada de passageiros válido; os anteriores a ele já foram
+    // processados e um agendado para depois dele foi antecipado e é ignorado
+    private int proximaChegada;
+    private boolean fimCicloAgendado;
+    private int eventosProcessados;
+    // Próximo minuto a registrar nas métricas e os elevadores que deram passo nele
+    private int minutoMetricas;
+    private final boolean[] passoNoMinuto;
+
+    /**
+     * Construtor do simulador de eventos.
+     * @param controlador Controlador cujos elevadores, filas e resumo serão usados
+     */
+    public SimuladorEventos(ControladorElevadores controlador) {
+        this.controlador = controlador;
+        this.elevadores = controlador.getElevadores();
+        this.filas = controlador.getFilas();
+        this.eventos = new FilaEventos(2 * elevadores.length + 3);
+        this.elevadorAgendado = new boolean[elevadores.length];
+        this.passoNoMinuto = new boolean[elevadores.length];
+        this.entradaConcorrente = controlador.getEntradaConcorrente();
+        this.eventosProcessados = 0;
+    }
+
+    /**
+     * Executa a simulação até um instante final.
+     * @param totalMinutos Duração da simulação em minutos
+     */
+    public void executar(int totalMinutos) {
+        agendarChegadaPassageiros(0);
+        if (controlador.getPoliticaEstacionamento() != null) {
+            eventos.agendar(0, 1, EVENTO_ESTACIONAMENTO, -1);
+        }
+        for (int i = 0; i < elevadores.length; i++) {
+            agendarChegadaElevador(0, i);
+        }
+
+        while (!eventos.estaVazia() && eventos.getProximoTempo() < totalMinutos) {
+            int tempo = eventos.getProximoTempo();
+            registrarMetricasAte(tempo);
+            if (tempo < proximaChegada && entradaConcorrente.temPendentes()) {
+                // Chamadas de outras threads antecipam a chegada de passageiros para este minuto
+                agendarChegadaPassageiros(tempo);
+                continue;
+            }
+            int tipo = eventos.getProximoTipo();
+            int alvo = eventos.getProximoAlvo();
+            eventos.removerProximo();
+
+            controlador.iniciarCiclo(tempo);
+            processar(tempo, tipo, alvo);
+            eventosProcessados++;
+        }
+        registrarMetricasAte(totalMinutos);
+    }
+
+    /**
+     * Retorna a quantidade de eventos processados.
+     * @return Número de eventos processados
+     */
+    public int getEventosProcessados() {
+        return eventosProcessados;
+    }
+
+    private void processar(int tempo, int tipo, int alvo) {
+        switch (tipo) {
+            case EVENTO_CHEGADA_PASSAGEIROS:
+                if (tempo != proximaChegada) break;    // antecipado por chamadas concorrentes
+                controlador.gerarPessoas();
+                controlador.drenarEntradaConcorrente();
+                // Enquanto outras threads registram chamadas, a chegada se repete a cada minuto
+                agendarChegadaPassageiros(entradaConcorrente.temPendentes()
+                                          ? tempo + 1 : controlador.proximoMinutoComChegadas(tempo));
+                acordarElevadoresOciosos(tempo);
+                break;
+            case EVENTO_CHEGADA_ELEVADOR:
+                elevadores[alvo].reservar(filas, controlador.getIndiceChamadas());
+                eventos.agendar(tempo, ordemElevador(alvo, EVENTO_FECHAMENTO_PORTA), EVENTO_FECHAMENTO_PORTA, alvo);
+                break;
+            case EVENTO_FECHAMENTO_PORTA:
+                elevadores[alvo].executarParada();
+                elevadores[alvo].executarMovimento();
+                elevadores[alvo].consolidar();
+                passoNoMinuto[alvo] = true;
+                // Um elevador parado volta no minuto seguinte se ainda há chamadas, como no laço
+                // de minuto a minuto, mesmo que nenhuma pessoa chegue nesse minuto
+                if (elevadores[alvo].isAtivo() || controlador.getIndiceChamadas().temChamadas()) {
+                    agendarChegadaElevador(tempo + 1, alvo);
+                } else {
+                    elevadorAgendado[alvo] = false;
+                }
+                if (controlador.temBaldeacoesPendentes() && !fimCicloAgendado) {
+                    fimCicloAgendado = true;
+                    eventos.agendar(tempo, 2 + 2 * elevadores.length, EVENTO_FIM_CICLO, -1);
+                }
+                break;
+            case EVENTO_FIM_CICLO:
+                // Quem fez baldeação volta à fila depois do fechamento de todos os elevadores
+                fimCicloAgendado = false;
+                registrarMetricasAte(tempo + 1);
+                controlador.concluirBaldeacoes(tempo + 1);
+                acordarElevadoresOciosos(tempo + 1);
+                break;
+            case EVENTO_ESTACIONAMENTO:
+                // Os elevadores ociosos são replanejados a cada período, haja chamada ou não
+                if (controlador.planejarEstacionamento(tempo) > 0) {
+                    acordarElevadores(tempo);
+                }
+                eventos.agendar(PoliticaEstacionamento.proximoInicioPeriodo(tempo), 1, EVENTO_ESTACIONAMENTO, -1);
+                break;
+            default:
+                throw new IllegalStateException("Tipo de evento desconhecido: " + tipo);
+        }
+    }
+
+    // Registra as métricas de cada minuto já encerrado, como o laço de minuto a minuto
+    // faz ao fim de cada ciclo; nos minutos saltados nenhum elevador deu passo
+    private void registrarMetricasAte(int tempo) {
+        while (minutoMetricas < tempo) {
+            controlador.registrarMetricas(minutoMetricas, passoNoMinuto);
+            Arrays.fill(passoNoMinuto, false);
+            minutoMetricas++;
+        }
+    }
+
+    private void acordarElevadoresOciosos(int tempo) {
+        if (controlador.getIndiceChamadas().temChamadas()) {
+            acordarElevadores(tempo);
+        }
+    }
+
+    private void acordarElevadores(int tempo) {
+        for (int i = 0; i < elevadores.length; i++) {
+            if (!elevadorAgendado[i]) {
+                agendarChegadaElevador(tempo, i);
+            }
+        }
+    }
+
+    private void agendarChegadaPassageiros(int tempo) {
+        proximaChegada = tempo;
+        eventos.agendar(tempo, 0, EVENTO_CHEGADA_PASSAGEIROS, -1);
+    }
+
+    private void agendarChegadaElevador(int tempo, int elevador) {
+        elevadorAgendado[elevador] = true;
+        eventos.agendar(tempo, ordemElevador(elevador, EVENTO_CHEGADA_ELEVADOR), EVENTO_CHEGADA_ELEVADOR, elevador);
+    }
+
+    // Dentro do mesmo minuto: chegadas de passageiros primeiro, o planejamento do
+    // estacionamento, a chegada de cada elevador (reserva), o fechamento de cada um
+    // (movimento) e, se houver, a volta às filas de quem fez baldeação, na mesma ordem
+    // do laço de minuto a minuto, em que todos reservam antes de qualquer um se mover.
+    private int ordemElevador(int elevador, int tipo) {
+        return 2 + elevador + (tipo == EVENTO_FECHAMENTO_PORTA ? elevadores.length : 0);
+    }
+}
@@ -0,0 +1,250 @@
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Simulação em tempo real com relógio acelerado.
+ * Cada elevador é uma tarefa que se reagenda sozinha: decide o que fazer, "dorme"
+ * o tempo real de viagem e de parada (dividido pelo fator de aceleração) e volta
+ * a decidir. As chegadas de pessoas acontecem a cada minuto simulado em outra tarefa,
+ * de forma independente dos elevadores, e acordam os elevadores ociosos.
+ *
+ * As decisões (reserva nas filas, índice de chamadas, resumo) são feitas sob uma
+ * trava do prédio; a espera entre as decisões não segura a trava nem ocupa uma thread,
+ * de modo que centenas de elevadores cabem em poucas threads.
+ *
+ * Mede a latência entre a chamada em um andar e o primeiro elevador despachado
+ * para ele, e o atraso do relógio (quanto as tarefas começaram depois do previsto).
+ */
+public class SimuladorTempoReal {
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+
+    private final ControladorElevadores controlador;
+    private final Elevador[] elevadores;
+    private final FilaPrioridadeDupla[] filas;
+    private final IndiceChamadas indice;
+    private final double fator;
+
+    private final ReentrantLock predio = new ReentrantLock();
+    private final ScheduledThreadPoolExecutor executor;
+    private final Runnable[] passos;
+    private final boolean[] ocioso;
+    private final boolean[] passoNoMinuto;    // elevadores que deram passo no minuto corrente
+    private final long[] inicioPrevisto;
+    private final AtomicLongArray chamadaNanos;
+    // Liberado ao fim da simulação; a espera por ele não segura a trava do prédio
+    private final CountDownLatch fim = new CountDownLatch(1);
+
+    private long inicioNanos;
+    private int minutoAtual;
+    private boolean encerrado;
+    private ScheduledFuture<?> geracao;
+
+    // Estatísticas, protegidas pela trava do prédio
+    private long despachos;
+    private long latenciaTotalNanos;
+    private long latenciaMaximaNanos;
+    private long passosExecutados;
+    private long atrasoTotalNanos;
+    private long atrasoMaximoNanos;
+
+    /**
+     * Construtor do simulador em tempo real.
+     * @param controlador Controlador cujos elevadores, filas e resumo serão usados
+     * @param fator Fator de aceleração do relógio (60 = um minuto simulado por segundo)
+     * @param threads Número de threads que executam as tarefas dos elevadores
+     */
+    public SimuladorTempoReal(ControladorElevadores controlador, double fator, int threads) {
+        if (fator <= 0) {
+            throw new IllegalArgumentException("O fator de aceleração deve ser positivo");
+        }
+        this.controlador = controlador;
+        this.elevadores = controlador.getElevadores();
+        this.filas = controlador.getFilas();
+        this.indice = controlador.getIndiceChamadas();
+        this.fator = fator;
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, threads));
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.passos = new Runnable[elevadores.length];
+        this.ocioso = new boolean[elevadores.length];
+        this.passoNoMinuto = new boolean[elevadores.length];
+        this.inicioPrevisto = new long[elevadores.length];
+        this.chamadaNanos = new AtomicLongArray(filas.length);
+        for (int i = 0; i < elevadores.length; i++) {
+            final int elevador = i;
+            passos[i] = () -> executarPasso(elevador);
+        }
+    }
+
+    /**
+     * Executa a simulação por um número de minutos simulados e espera o fim.
+     * @param totalMinutos Duração em minutos simulados
+     * @throws InterruptedException Se a thread for interrompida durante a espera
+     */
+    public void executar(int totalMinutos) throws InterruptedException {
+        if (totalMinutos <= 0) return;
+        inicioNanos = System.nanoTime();
+        long nanosPorMinuto = Math.max(1, (long) (60 * NANOS_POR_SEGUNDO / fator));
+
+        predio.lock();
+        try {
+            for (int i = 0; i < elevadores.length; i++) {
+                ocioso[i] = true;
+            }
+        } finally {
+            predio.unlock();
+        }
+
+        geracao = executor.scheduleAtFixedRate(() -> gerarMinuto(totalMinutos), 0, nanosPorMinuto,
+                                               TimeUnit.NANOSECONDS);
+        fim.await();
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Registra uma chamada vinda de qualquer thread, marcando o instante da chamada
+     * no andar para medir a latência até o despacho. Nunca bloqueia.
+     * @param pessoa Pessoa que chegou ao seu andar de origem
+     */
+    public void registrarChamada(Pessoa pessoa) {
+        int andar = pessoa.getAndarOrigem();
+        if (andar >= 0 && andar < filas.length) {
+            chamadaNanos.compareAndSet(andar, 0, System.nanoTime());
+        }
+        controlador.getEntradaConcorrente().registrar(pessoa);
+    }
+
+    // Tarefa de chegadas: um minuto simulado por execução
+    private void gerarMinuto(int totalMinutos) {
+        predio.lock();
+        try {
+            if (encerrado) return;
+            if (minutoAtual > 0) {
+                // Fecha o minuto anterior nas métricas; cada elevador aparece com o seu último passo
+                controlador.registrarMetricas(minutoAtual - 1, passoNoMinuto);
+                Arrays.fill(passoNoMinuto, false);
+            }
+            if (minutoAtual == totalMinutos) {
+                encerrar();
+                return;
+            }
+            controlador.iniciarCiclo(minutoAtual);
+            controlador.concluirBaldeacoes(minutoAtual);
+            controlador.gerarPessoas(this::registrarChamada);
+            controlador.drenarEntradaConcorrente();
+            int estacionados = controlador.planejarEstacionamento(minutoAtual);
+            minutoAtual++;
+
+            if (indice.temChamadas() || estacionados > 0) {
+                acordarElevadoresOciosos();
+            }
+        } finally {
+            predio.unlock();
+        }
+    }
+
+    // Tarefa de um elevador: decide sob a trava e agenda a próxima decisão
+    // para depois do tempo de viagem e de parada
+    private void executarPasso(int i) {
+        long agora = System.nanoTime();
+        Elevador elevador = elevadores[i];
+        predio.lock();
+        try {
+            if (encerrado) return;
+
+            long atraso = Math.max(0, agora - inicioPrevisto[i]);
+            passosExecutados++;
+            atrasoTotalNanos += atraso;
+            atrasoMaximoNanos = Math.max(atrasoMaximoNanos, atraso);
+
+            controlador.drenarEntradaConcorrente();
+            int andarParada = elevador.getAndarAtual();
+            elevador.reservar(filas, indice);
+            if (elevador.getNumReservados() > 0) {
+                registrarDespacho(andarParada, agora);
+            }
+            if (elevador.getDestinoCiclo() != -1 && !elevador.isEstacionando()) {
+                registrarDespacho(elevador.getDestinoCiclo(), agora);
+            }
+            elevador.executarParada();
+            elevador.executarMovimento();
+            elevador.consolidar();
+            passoNoMinuto[i] = true;
+
+            if (!elevador.isAtivo()) {
+                ocioso[i] = true;
+                return;
+            }
+
+            int segundos = elevador.getTempoViagemCiclo() + elevador.getParadasCiclo() * Elevador.TEMPO_PARADA_SEGUNDOS;
+            // Um passo sem movimento nem parada ainda custa um segundo, para não girar em falso
+            long espera = (long) (Math.max(1, segundos) * NANOS_POR_SEGUNDO / fator);
+            inicioPrevisto[i] = agora + espera;
+            executor.schedule(passos[i], espera, TimeUnit.NANOSECONDS);
+        } finally {
+            predio.unlock();
+        }
+    }
+
+    private void acordarElevadoresOciosos() {
+        long agora = System.nanoTime();
+        for (int i = 0; i < elevadores.length; i++) {
+            if (ocioso[i]) {
+                ocioso[i] = false;
+                inicioPrevisto[i] = agora;
+                executor.execute(passos[i]);
+            }
+        }
+    }
+
+    private void registrarDespacho(int andar, long agora) {
+        long chamada = chamadaNanos.getAndSet(andar, 0);
+        if (chamada == 0) return;
+
+        long latencia = Math.max(0, agora - chamada);
+        despachos++;
+        latenciaTotalNanos += latencia;
+        latenciaMaximaNanos = Math.max(latenciaMaximaNanos, latencia);
+    }
+
+    private void encerrar() {
+        encerrado = true;
+        if (geracao != null) {
+            geracao.cancel(false);
+        }
+        fim.countDown();
+    }
+
+    /**
+     * Imprime as latências de despacho e o atraso do relógio.
+     * Os tempos são mostrados em milissegundos reais e em segundos simulados.
+     */
+    public void imprimirLatencias() {
+        predio.lock();
+        try {
+            double duracaoSegundos = (System.nanoTime() - inicioNanos) / 1e9;
+            System.out.println("\n=== TEMPO REAL (fator " + fator + ", " + elevadores.length + " elevadores, "
+                               + executor.getCorePoolSize() + " threads) ===");
+            System.out.printf("Duração real: %.1f s (%d minutos simulados)\n", duracaoSegundos, minutoAtual);
+            System.out.printf("Despachos medidos: %d\n", despachos);
+            if (despachos > 0) {
+                double media = (double) latenciaTotalNanos / despachos;
+                System.out.printf("Latência chamada→despacho: média %.2f ms (%.1f s simulados), máxima %.2f ms (%.1f s simulados)\n",
+                                  media / 1e6, media * fator / 1e9,
+                                  latenciaMaximaNanos / 1e6, latenciaMaximaNanos * fator / 1e9);
+            }
+            if (passosExecutados > 0) {
+                System.out.printf("Passos dos elevadores: %d | atraso do relógio: média %.3f ms, máximo %.3f ms\n",
+                                  passosExecutados, atrasoTotalNanos / 1e6 / passosExecutados,
+                                  atrasoMaximoNanos / 1e6);
+            }
+        } finally {
+            predio.unlock();
+        }
+    }
+}
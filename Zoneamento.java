@@ -0,0 +1,316 @@
+/**
+ * Zoneamento do prédio: os elevadores são divididos em zonas (bancos) e cada zona
+ * atende só um conjunto de andares, por exemplo os andares baixos, os altos, ou um
+ * expresso que liga o térreo a um andar de transferência (sky lobby) sem parar nos
+ * andares intermediários.
+ *
+ * Cada zona tem seu próprio painel de botões, aceso só pelas pessoas que esperam
+ * aquela zona, de modo que a estratégia de despacho de cada zona enxerga apenas os
+ * seus elevadores e as suas chamadas. Quem vai a um andar que nenhuma zona da origem
+ * atende faz baldeação em um andar comum a duas zonas. As máscaras de zonas por
+ * andar e as rotas entre zonas são calculadas uma vez, na criação; rotear uma
+ * pessoa custa algumas operações sobre essas máscaras.
+ *
+ * A especificação tem uma entrada por zona, separadas por ';', no formato
+ * elevadores:andares, com andares e faixas separados por ','. Por exemplo, em um
+ * prédio de 60 andares com 8 elevadores, "3:0-20;2:0,40;3:40-59" cria uma zona
+ * baixa com 3 elevadores, um expresso com 2 entre o térreo e o andar 40 e uma zona
+ * alta com 3. Os elevadores são distribuídos pelas zonas na ordem dos identificadores.
+ */
+public class Zoneamento {
+    // As zonas de cada andar ficam em uma palavra long
+    public static final int MAXIMO_ZONAS = 64;
+
+    private final int numeroAndares;
+    private final int numeroZonas;
+    private final ConjuntoAndares[] andaresAtendidos;
+    private final int[] primeiroElevador;    // por zona, mais uma posição com o total
+    private final int[] zonaElevador;
+    private final long[] zonasAndar;
+
+    // Rotas entre zonas: baldeações no menor caminho, próxima zona dele e andares comuns
+    private final int[] baldeacoes;
+    private final int[] proximaZona;
+    private final ConjuntoAndares[] andaresComuns;
+
+    // Pessoas esperando por zona, andar e sentido, e o painel de botões de cada zona
+    private final int[] esperando;
+    private final PainelControle[] paineis;
+
+    /**
+     * Cria o zoneamento a partir da especificação das zonas.
+     * @param especificacao Zonas no formato elevadores:andares, separadas por ';'
+     * @param numeroAndares Número de andares do prédio
+     * @param numeroElevadores Número de elevadores do prédio
+     * @throws IllegalArgumentException se a especificação for inválida, deixar andares
+     *         sem atendimento ou zonas sem andar comum que as ligue
+     */
+    public Zoneamento(String especificacao, int numeroAndares, int numeroElevadores) {
+        String[] entradas = especificacao.split(";");
+        exigir(entradas.length <= MAXIMO_ZONAS, "O zoneamento aceita no máximo " + MAXIMO_ZONAS + " zonas");
+
+        this.numeroAndares = numeroAndares;
+        this.numeroZonas = entradas.length;
+        this.andaresAtendidos = new ConjuntoAndares[numeroZonas];
+        this.primeiroElevador = new int[numeroZonas + 1];
+        this.zonaElevador = new int[numeroElevadores];
+        this.zonasAndar = new long[numeroAndares];
+
+        for (int z = 0; z < numeroZonas; z++) {
+            String entrada = entradas[z].trim();
+            int doisPontos = entrada.indexOf(':');
+            exigir(doisPontos > 0, "Zona inválida: '" + entrada + "' (use elevadores:andares, por exemplo 3:0-20)");
+            int quantidade = lerInteiro(entrada.substring(0, doisPontos), entrada);
+            exigir(quantidade >= 1, "Zona sem elevadores: '" + entrada + "'");
+            primeiroElevador[z + 1] = primeiroElevador[z] + quantidade;
+            exigir(primeiroElevador[z + 1] <= numeroElevadores,
+                   "As zonas usam mais elevadores que os " + numeroElevadores + " do prédio");
+            for (int k = primeiroElevador[z]; k < primeiroElevador[z + 1]; k++) {
+                zonaElevador[k] = z;
+            }
+
+            andaresAtendidos[z] = lerAndares(entrada.substring(doisPontos + 1), entrada);
+            exigir(andaresAtendidos[z].getQuantidade() >= 2, "Uma zona deve atender pelo menos 2 andares: '"
+                                                             + entrada + "'");
+            for (int a = andaresAtendidos[z].proximoAcima(0); a != -1; a = andaresAtendidos[z].proximoAcima(a + 1)) {
+                zonasAndar[a] |= 1L << z;
+            }
+        }
+        exigir(primeiroElevador[numeroZonas] == numeroElevadores,
+               "As zonas usam " + primeiroElevador[numeroZonas] + " dos " + numeroElevadores + " elevadores");
+        for (int a = 0; a < numeroAndares; a++) {
+            exigir(zonasAndar[a] != 0, "O andar " + a + " não é atendido por nenhuma zona");
+        }
+
+        this.andaresComuns = new ConjuntoAndares[numeroZonas * numeroZonas];
+        for (int a = 0; a < numeroAndares; a++) {
+            for (long z1 = zonasAndar[a]; z1 != 0; z1 &= z1 - 1) {
+                for (long z2 = z1 & (z1 - 1); z2 != 0; z2 &= z2 - 1) {
+                    marcarComum(Long.numberOfTrailingZeros(z1), Long.numberOfTrailingZeros(z2), a);
+                }
+            }
+        }
+        this.baldeacoes = new int[numeroZonas * numeroZonas];
+        this.proximaZona = new int[numeroZonas * numeroZonas];
+        calcularRotas();
+
+        this.esperando = new int[numeroZonas * numeroAndares * 2];
+        this.paineis = new PainelControle[numeroZonas];
+        for (int z = 0; z < numeroZonas; z++) {
+            paineis[z] = new PainelControle(numeroAndares);
+            paineis[z].setOuvinte(OuvinteNulo.INSTANCIA);
+        }
+    }
+
+    /**
+     * Retorna o número de zonas.
+     * @return Número de zonas
+     */
+    public int getNumeroZonas() {
+        return numeroZonas;
+    }
+
+    /**
+     * Retorna a zona de um elevador.
+     * @param indice Índice do elevador (identificador - 1)
+     * @return Zona do elevador
+     */
+    public int getZonaElevador(int indice) {
+        return zonaElevador[indice];
+    }
+
+    /**
+     * Retorna o índice do primeiro elevador de uma zona; os elevadores de uma zona
+     * têm índices consecutivos, até o primeiro da zona seguinte.
+     * @param zona Zona, ou getNumeroZonas() para o total de elevadores
+     * @return Índice do primeiro elevador (identificador - 1)
+     */
+    public int getPrimeiroElevador(int zona) {
+        return primeiroElevador[zona];
+    }
+
+    /**
+     * Retorna os andares atendidos por uma zona. O conjunto não deve ser alterado.
+     * @param zona Zona
+     * @return Conjunto de andares atendidos
+     */
+    public ConjuntoAndares getAndaresAtendidos(int zona) {
+        return andaresAtendidos[zona];
+    }
+
+    /**
+     * Retorna as zonas que atendem um andar, uma por bit.
+     * @param andar Andar
+     * @return Máscara de zonas, com o bit z aceso se a zona z atende o andar
+     */
+    public long getZonasAndar(int andar) {
+        return zonasAndar[andar];
+    }
+
+    /**
+     * Retorna o painel de botões de uma zona, aceso pelas pessoas que esperam a zona.
+     * @param zona Zona
+     * @return Painel da zona
+     */
+    public PainelControle getPainel(int zona) {
+        return paineis[zona];
+    }
+
+    /**
+     * Define o trecho de uma pessoa que está no andar de origem: direto ao destino
+     * final, se alguma zona atende os dois andares (a que atende menos andares, como
+     * um expresso), ou até o andar de baldeação mais próximo na zona que leva ao
+     * destino com menos baldeações.
+     * @param pessoa Pessoa a rotear, com origem e destino final definidos
+     */
+    public void rotear(Pessoa pessoa) {
+        int origem = pessoa.getAndarOrigem();
+        int destino = pessoa.getDestinoFinal();
+        long diretas = zonasAndar[origem] & zonasAndar[destino];
+        if (diretas != 0) {
+            pessoa.definirTrecho(destino, zonaComMenosAndares(diretas));
+            return;
+        }
+
+        int melhorZona = -1;
+        int seguinte = -1;
+        int menor = Integer.MAX_VALUE;
+        for (long z1 = zonasAndar[origem]; z1 != 0; z1 &= z1 - 1) {
+            int partida = Long.numberOfTrailingZeros(z1);
+            for (long z2 = zonasAndar[destino]; z2 != 0; z2 &= z2 - 1) {
+                int chegada = Long.numberOfTrailingZeros(z2);
+                int rota = partida * numeroZonas + chegada;
+                if (baldeacoes[rota] < menor) {
+                    menor = baldeacoes[rota];
+                    melhorZona = partida;
+                    seguinte = proximaZona[rota];
+                }
+            }
+        }
+        int transferencia = andaresComuns[melhorZona * numeroZonas + seguinte].maisProximo(origem);
+        pessoa.definirTrecho(transferencia, melhorZona);
+    }
+
+    /**
+     * Registra uma pessoa que entrou na fila do andar de origem para esperar a zona
+     * do seu trecho; a primeira pessoa acende o botão no painel da zona.
+     * @param pessoa Pessoa já roteada
+     */
+    public void entrouNaFila(Pessoa pessoa) {
+        boolean subir = pessoa.getAndarDestino() > pessoa.getAndarOrigem();
+        if (esperando[posicao(pessoa.getZona(), pessoa.getAndarOrigem(), subir)]++ == 0) {
+            paineis[pessoa.getZona()].filaOcupada(pessoa.getAndarOrigem(), subir);
+        }
+    }
+
+    /**
+     * Registra uma pessoa que saiu da fila para embarcar; a última pessoa a esperar
+     * a zona naquele andar e sentido apaga o botão no painel da zona.
+     * @param pessoa Pessoa que embarcou
+     */
+    public void saiuDaFila(Pessoa pessoa) {
+        boolean subir = pessoa.getAndarDestino() > pessoa.getAndarOrigem();
+        if (--esperando[posicao(pessoa.getZona(), pessoa.getAndarOrigem(), subir)] == 0) {
+            paineis[pessoa.getZona()].filaEsvaziada(pessoa.getAndarOrigem(), subir);
+        }
+    }
+
+    /**
+     * Retorna quantas pessoas esperam uma zona em um andar e sentido.
+     * @param zona Zona
+     * @param andar Andar
+     * @param subir true para quem sobe, false para quem desce
+     * @return Número de pessoas esperando
+     */
+    public int getEsperando(int zona, int andar, boolean subir) {
+        return esperando[posicao(zona, andar, subir)];
+    }
+
+    private int posicao(int zona, int andar, boolean subir) {
+        return ((zona * numeroAndares + andar) << 1) + (subir ? 0 : 1);
+    }
+
+    private int zonaComMenosAndares(long zonas) {
+        int melhor = -1;
+        int menor = Integer.MAX_VALUE;
+        for (long z = zonas; z != 0; z &= z - 1) {
+            int zona = Long.numberOfTrailingZeros(z);
+            int quantidade = andaresAtendidos[zona].getQuantidade();
+            if (quantidade < menor) {
+                menor = quantidade;
+                melhor = zona;
+            }
+        }
+        return melhor;
+    }
+
+    private void marcarComum(int z1, int z2, int andar) {
+        for (int i = 0; i < 2; i++) {
+            int par = i == 0 ? z1 * numeroZonas + z2 : z2 * numeroZonas + z1;
+            if (andaresComuns[par] == null) {
+                andaresComuns[par] = new ConjuntoAndares(numeroAndares);
+            }
+            andaresComuns[par].definir(andar, true);
+        }
+    }
+
+    // Busca em largura a partir de cada zona; duas zonas são vizinhas se têm um andar comum
+    private void calcularRotas() {
+        int[] fila = new int[numeroZonas];
+        for (int origem = 0; origem < numeroZonas; origem++) {
+            int base = origem * numeroZonas;
+            for (int z = 0; z < numeroZonas; z++) {
+                baldeacoes[base + z] = -1;
+            }
+            baldeacoes[base + origem] = 0;
+            proximaZona[base + origem] = origem;
+            int inicio = 0;
+            int fim = 0;
+            fila[fim++] = origem;
+            while (inicio < fim) {
+                int atual = fila[inicio++];
+                for (int vizinha = 0; vizinha < numeroZonas; vizinha++) {
+                    if (baldeacoes[base + vizinha] != -1 || andaresComuns[atual * numeroZonas + vizinha] == null) continue;
+                    baldeacoes[base + vizinha] = baldeacoes[base + atual] + 1;
+                    proximaZona[base + vizinha] = atual == origem ? vizinha : proximaZona[base + atual];
+                    fila[fim++] = vizinha;
+                }
+            }
+            for (int z = 0; z < numeroZonas; z++) {
+                exigir(baldeacoes[base + z] != -1, "As zonas " + origem + " e " + z
+                                                   + " não se ligam por nenhum andar comum");
+            }
+        }
+    }
+
+    private ConjuntoAndares lerAndares(String faixas, String entrada) {
+        ConjuntoAndares andares = new ConjuntoAndares(numeroAndares);
+        for (String faixa : faixas.split(",")) {
+            faixa = faixa.trim();
+            int hifen = faixa.indexOf('-');
+            int inicio = lerInteiro(hifen < 0 ? faixa : faixa.substring(0, hifen), entrada);
+            int fim = hifen < 0 ? inicio : lerInteiro(faixa.substring(hifen + 1), entrada);
+            exigir(inicio >= 0 && inicio <= fim && fim < numeroAndares,
+                   "Faixa de andares inválida '" + faixa + "' na zona '" + entrada + "' (andares de 0 a "
+                   + (numeroAndares - 1) + ")");
+            for (int a = inicio; a <= fim; a++) {
+                andares.definir(a, true);
+            }
+        }
+        return andares;
+    }
+
+    private static int lerInteiro(String valor, String entrada) {
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número inválido '" + valor.trim() + "' na zona '" + entrada + "'");
+        }
+    }
+
+    private static void exigir(boolean condicao, String mensagem) {
+        if (!condicao) {
+            throw new IllegalArgumentException(mensagem);
+        }
+    }
+}
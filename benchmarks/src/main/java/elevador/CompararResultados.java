@@ -0,0 +1,137 @@
+package elevador;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara um resultado do JMH em CSV (-rf csv) com uma linha de base guardada.
+ * Para cada benchmark e combinação de parâmetros mostra a variação do placar e
+ * marca como regressão a piora acima da tolerância: placar menor no modo de vazão
+ * (thrpt) ou maior nos modos de tempo. Termina com código 1 se houver regressão.
+ *
+ * Uso: java -cp target/benchmarks.jar elevador.CompararResultados baseline.csv atual.csv [tolerancia%]
+ */
+public class CompararResultados {
+    private static final double TOLERANCIA_PADRAO = 5.0;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            sairComUso();
+        }
+        double tolerancia = TOLERANCIA_PADRAO;
+        if (args.length > 2) {
+            // A tolerância é um percentual não negativo, com ou sem o '%' no fim
+            String valor = args[2].endsWith("%") ? args[2].substring(0, args[2].length() - 1) : args[2];
+            try {
+                tolerancia = Double.parseDouble(valor);
+            } catch (NumberFormatException e) {
+                tolerancia = Double.NaN;
+            }
+            if (!(tolerancia >= 0) || Double.isInfinite(tolerancia)) {
+                System.out.println("Tolerância inválida: " + args[2]);
+                sairComUso();
+            }
+        }
+        Map<String, Resultado> base = ler(args[0]);
+        Map<String, Resultado> atual = ler(args[1]);
+
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Base", "Atual", "Variação");
+        int regressoes = 0;
+        for (Map.Entry<String, Resultado> entrada : atual.entrySet()) {
+            Resultado a = entrada.getValue();
+            Resultado b = base.get(entrada.getKey());
+            if (b == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  (novo)%n", entrada.getKey(), "-", a.placar, "-");
+                continue;
+            }
+
+            double variacao = (a.placar - b.placar) / b.placar * 100;
+            double piora = a.modo.equals("thrpt") ? -variacao : variacao;
+            boolean regressao = piora > tolerancia;
+            if (regressao) regressoes++;
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n", entrada.getKey(), b.placar, a.placar,
+                              variacao, regressao ? "  REGRESSÃO" : "");
+        }
+        for (String chave : base.keySet()) {
+            if (!atual.containsKey(chave)) {
+                System.out.printf("%-70s  (ausente no resultado atual)%n", chave);
+            }
+        }
+
+        System.out.printf("%d regressões acima de %.1f%%%n", regressoes, tolerancia);
+        System.exit(regressoes > 0 ? 1 : 0);
+    }
+
+    private static void sairComUso() {
+        System.out.println("Uso: CompararResultados <baseline.csv> <atual.csv> [tolerancia%]");
+        System.exit(2);
+    }
+
+    // Lê o CSV do JMH; a chave é o nome do benchmark com os valores dos parâmetros
+    private static Map<String, Resultado> ler(String caminho) throws IOException {
+        List<String> linhas = Files.readAllLines(Paths.get(caminho), StandardCharsets.UTF_8);
+        Map<String, Resultado> resultados = new LinkedHashMap<>();
+        if (linhas.isEmpty()) return resultados;
+
+        List<String> cabecalho = campos(linhas.get(0));
+        int colunaBenchmark = cabecalho.indexOf("Benchmark");
+        int colunaModo = cabecalho.indexOf("Mode");
+        int colunaPlacar = cabecalho.indexOf("Score");
+        int colunaUnidade = cabecalho.indexOf("Unit");
+        if (colunaBenchmark < 0 || colunaModo < 0 || colunaPlacar < 0) {
+            throw new IllegalArgumentException("Arquivo não é um CSV do JMH: " + caminho);
+        }
+
+        for (int i = 1; i < linhas.size(); i++) {
+            if (linhas.get(i).isEmpty()) continue;
+            List<String> valores = campos(linhas.get(i));
+            StringBuilder chave = new StringBuilder(valores.get(colunaBenchmark));
+            for (int c = 0; c < cabecalho.size() && c < valores.size(); c++) {
+                if (cabecalho.get(c).startsWith("Param: ") && !valores.get(c).isEmpty()) {
+                    chave.append(' ').append(cabecalho.get(c).substring(7)).append('=').append(valores.get(c));
+                }
+            }
+            if (colunaUnidade >= 0) {
+                chave.append(" (").append(valores.get(colunaUnidade)).append(')');
+            }
+            resultados.put(chave.toString(),
+                           new Resultado(valores.get(colunaModo), Double.parseDouble(valores.get(colunaPlacar))));
+        }
+        return resultados;
+    }
+
+    private static List<String> campos(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                entreAspas = !entreAspas;
+            } else if (c == ',' && !entreAspas) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private static class Resultado {
+        final String modo;
+        final double placar;
+
+        Resultado(String modo, double placar) {
+            this.modo = modo;
+            this.placar = placar;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package elevador;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Um dia completo (1440 minutos) sem interface, pelo laço de minuto a minuto
+ * e pelo simulador de eventos, com um controlador novo a cada execução.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiaCompletoBenchmark {
+    private static final int MINUTOS_DIA = 1440;
+
+    @Param({"10", "80"})
+    public int andares;
+
+    @Param({"laco", "eventos"})
+    public String modo;
+
+    private Configuracao config;
+    private ControladorElevadores controlador;
+
+    @Setup(Level.Trial)
+    public void configurar() {
+        config = Configuracao.construtor()
+                .numeroAndares(andares)
+                .numeroElevadores(Math.max(2, andares / 10))
+                .semente(42)
+                .construir();
+    }
+
+    @Setup(Level.Invocation)
+    public void preparar() {
+        controlador = new ControladorElevadores(config);
+        controlador.setOuvinte(OuvinteNulo.INSTANCIA);
+    }
+
+    @Benchmark
+    public ResumoSimulacao diaCompleto() {
+        if ("eventos".equals(modo)) {
+            new SimuladorEventos(controlador).executar(MINUTOS_DIA);
+        } else {
+            for (int minuto = 0; minuto < MINUTOS_DIA; minuto++) {
+                controlador.gerarPessoas();
+                controlador.simularCiclo();
+            }
+        }
+        return controlador.getResumo();
+    }
+}
@@ -0,0 +1,72 @@
+package elevador;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Atendimento de todos os elevadores em um minuto (Elevador.atenderProximo),
+ * com as chegadas do minuto, em prédios de tamanhos diferentes.
+ * O prédio é recriado e aquecido por uma hora simulada a cada iteração,
+ * para que as filas não cresçam sem limite durante a medição.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElevadorBenchmark {
+    private static final int MINUTOS_AQUECIMENTO = 60;
+
+    @Param({"10", "100", "1000"})
+    public int andares;
+
+    @Param({"2", "16"})
+    public int elevadores;
+
+    private ControladorElevadores controlador;
+    private Elevador[] frota;
+    private FilaPrioridadeDupla[] filas;
+    private IndiceChamadas indice;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        Configuracao config = Configuracao.construtor()
+                .numeroAndares(andares)
+                .numeroElevadores(elevadores)
+                .semente(42)
+                .construir();
+        controlador = new ControladorElevadores(config);
+        controlador.setOuvinte(OuvinteNulo.INSTANCIA);
+        for (int minuto = 0; minuto < MINUTOS_AQUECIMENTO; minuto++) {
+            controlador.gerarPessoas();
+            controlador.simularCiclo();
+        }
+        frota = controlador.getElevadores();
+        filas = controlador.getFilas();
+        indice = controlador.getIndiceChamadas();
+    }
+
+    @Benchmark
+    public int atenderProximo() {
+        controlador.gerarPessoas();
+        int passageiros = 0;
+        for (Elevador elevador : frota) {
+            elevador.atenderProximo(filas, indice);
+            passageiros += elevador.getNumPassageiros();
+        }
+        return passageiros;
+    }
+}
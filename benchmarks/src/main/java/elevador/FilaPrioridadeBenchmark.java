@@ -0,0 +1,58 @@
+package elevador;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserção e remoção na fila de prioridade com a fila mantida em uma profundidade fixa:
+ * cada operação insere uma pessoa e remove a de maior prioridade.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilaPrioridadeBenchmark {
+    private static final int PESSOAS = 1024;
+
+    @Param({"16", "256", "4096"})
+    public int profundidade;
+
+    private FilaPrioridade fila;
+    private Pessoa[] pessoas;
+    private int proxima;
+
+    @Setup
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        pessoas = new Pessoa[PESSOAS];
+        for (int i = 0; i < PESSOAS; i++) {
+            pessoas[i] = new Pessoa("B" + i, 10 + aleatorio.nextInt(70), aleatorio.nextDouble() < 0.1,
+                                    40 + aleatorio.nextInt(60), 0, 1);
+        }
+        fila = new FilaPrioridade(profundidade);
+        for (int i = 0; i < profundidade; i++) {
+            fila.inserir(pessoas[i & (PESSOAS - 1)]);
+        }
+    }
+
+    @Benchmark
+    public Pessoa inserirERemover() {
+        fila.inserir(pessoas[proxima]);
+        proxima = (proxima + 1) & (PESSOAS - 1);
+        return fila.removerPessoa();
+    }
+}
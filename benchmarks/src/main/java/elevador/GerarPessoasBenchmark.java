@@ -0,0 +1,49 @@
+package elevador;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Geração das chegadas de um minuto (ControladorElevadores.gerarPessoas).
+ * As pessoas geradas vão para o Blackhole em vez das filas, para que a medição
+ * não inclua o crescimento das filas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GerarPessoasBenchmark {
+    @Param({"10", "1000"})
+    public int andares;
+
+    private ControladorElevadores controlador;
+
+    @Setup
+    public void preparar() {
+        Configuracao config = Configuracao.construtor()
+                .numeroAndares(andares)
+                .semente(42)
+                .construir();
+        controlador = new ControladorElevadores(config);
+        controlador.setOuvinte(OuvinteNulo.INSTANCIA);
+    }
+
+    @Benchmark
+    public void gerarPessoas(Blackhole buraco) {
+        controlador.gerarPessoas(buraco::consume);
+    }
+}
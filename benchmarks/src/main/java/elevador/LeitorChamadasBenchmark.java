@@ -0,0 +1,95 @@
+package elevador;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Leitura completa de um arquivo de chamadas gravadas (LeitorChamadas), em CSV e em
+ * binário, sem simular: mede só a taxa com que os registros são lidos e viram pessoas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeitorChamadasBenchmark {
+    private static final int REGISTROS = 1_000_000;
+    private static final int ANDARES = 100;
+
+    @Param({"csv", "binario"})
+    public String formato;
+
+    private Path arquivo;
+
+    @Setup(Level.Trial)
+    public void gravar() throws IOException {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        if ("csv".equals(formato)) {
+            arquivo = Files.createTempFile("chamadas", ".csv");
+            try (Writer escritor = Files.newBufferedWriter(arquivo)) {
+                escritor.write("minuto,origem,destino,peso,idade,cadeirante\n");
+                for (int i = 0; i < REGISTROS; i++) {
+                    int origem = aleatorio.nextInt(ANDARES);
+                    int destino = (origem + 1 + aleatorio.nextInt(ANDARES - 1)) % ANDARES;
+                    escritor.write(i / 1000 + "," + origem + "," + destino + "," + (40 + aleatorio.nextInt(60))
+                                   + "," + (10 + aleatorio.nextInt(70)) + "," + (aleatorio.nextInt(10) == 0 ? 1 : 0)
+                                   + "\n");
+                }
+            }
+        } else {
+            arquivo = Files.createTempFile("chamadas", ".bin");
+            ByteBuffer buffer = ByteBuffer.allocate(8 + REGISTROS * 12);
+            buffer.putInt(LeitorChamadas.ASSINATURA_BINARIO).putInt(1);
+            for (int i = 0; i < REGISTROS; i++) {
+                int origem = aleatorio.nextInt(ANDARES);
+                int destino = (origem + 1 + aleatorio.nextInt(ANDARES - 1)) % ANDARES;
+                buffer.putInt(i / 1000).putShort((short) origem).putShort((short) destino)
+                      .putShort((short) (40 + aleatorio.nextInt(60))).put((byte) (10 + aleatorio.nextInt(70)))
+                      .put((byte) (aleatorio.nextInt(10) == 0 ? 1 : 0));
+            }
+            buffer.flip();
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void apagar() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Benchmark
+    public long lerTudo() throws IOException {
+        try (LeitorChamadas leitor = new LeitorChamadas(arquivo.toString(), ANDARES)) {
+            while (leitor.getProximoMinuto() != -1) {
+                leitor.lerPessoa("R");
+            }
+            return leitor.getRegistrosLidos();
+        }
+    }
+}
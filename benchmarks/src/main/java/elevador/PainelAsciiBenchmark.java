@@ -0,0 +1,54 @@
+package elevador;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Montagem do painel ASCII de um prédio com filas e elevadores em movimento.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PainelAsciiBenchmark {
+    private static final int MINUTOS_AQUECIMENTO = 120;
+
+    @Param({"10", "100"})
+    public int andares;
+
+    private PainelAscii painel;
+
+    @Setup
+    public void preparar() {
+        Configuracao config = Configuracao.construtor()
+                .numeroAndares(andares)
+                .numeroElevadores(4)
+                .semente(42)
+                .construir();
+        ControladorElevadores controlador = new ControladorElevadores(config);
+        controlador.setOuvinte(OuvinteNulo.INSTANCIA);
+        for (int minuto = 0; minuto < MINUTOS_AQUECIMENTO; minuto++) {
+            controlador.gerarPessoas();
+            controlador.simularCiclo();
+        }
+        painel = new PainelAscii(config, controlador);
+    }
+
+    @Benchmark
+    public String getPainelAsString() {
+        return painel.getPainelAsString();
+    }
+}
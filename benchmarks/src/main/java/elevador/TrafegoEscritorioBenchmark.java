@@ -0,0 +1,63 @@
+package elevador;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Chegadas do minuto de pico (8h30) no tráfego de escritório: sorteio das pessoas e
+ * inserção em lote nas filas dos andares, com um controlador novo a cada execução
+ * para que as filas comecem vazias.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrafegoEscritorioBenchmark {
+    private static final int MINUTO_PICO = 510;
+
+    @Param({"100", "5000"})
+    public int taxaPico;
+
+    @Param({"10", "100"})
+    public int andares;
+
+    private Configuracao config;
+    private ControladorElevadores controlador;
+
+    @Setup(Level.Trial)
+    public void configurar() {
+        config = Configuracao.construtor()
+                .numeroAndares(andares)
+                .trafego(Configuracao.TRAFEGO_ESCRITORIO)
+                .taxaPico(taxaPico)
+                .semente(42)
+                .construir();
+    }
+
+    @Setup(Level.Invocation)
+    public void preparar() {
+        controlador = new ControladorElevadores(config);
+        controlador.setOuvinte(OuvinteNulo.INSTANCIA);
+        controlador.iniciarCiclo(MINUTO_PICO);
+    }
+
+    @Benchmark
+    public ResumoSimulacao minutoDePico() {
+        controlador.gerarPessoas();
+        return controlador.getResumo();
+    }
+}